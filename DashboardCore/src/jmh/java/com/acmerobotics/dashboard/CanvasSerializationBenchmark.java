@@ -0,0 +1,66 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming canvas adapters registered on {@link DashboardCore#GSON} against Gson's
+ * reflective serialization of the same packet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CanvasSerializationBenchmark {
+    private final Gson reflectiveGson = new GsonBuilder().serializeNulls().create();
+
+    private TelemetryPacket packet;
+
+    @Setup
+    public void setup() {
+        packet = new TelemetryPacket();
+        Canvas overlay = packet.fieldOverlay();
+
+        double[] xs = new double[500];
+        double[] ys = new double[500];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 48 * Math.cos(i * 0.01);
+            ys[i] = 48 * Math.sin(i * 0.01);
+        }
+
+        overlay.setStrokeWidth(1)
+                .setStroke("#3F51B5")
+                .strokePolyline(xs, ys);
+
+        // robot, heading and targets as drawn by a typical op mode
+        for (int i = 0; i < 20; i++) {
+            overlay.setStroke("green")
+                    .strokeCircle(i, -i, 9)
+                    .strokeLine(i, -i, i + 9, -i)
+                    .setFill("red")
+                    .fillRect(i, i, 2, 2)
+                    .fillText("target " + i, i, i, "8px Arial", 0, false);
+        }
+    }
+
+    @Benchmark
+    public String reflective() {
+        return reflectiveGson.toJson(packet);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return DashboardCore.GSON.toJson(packet);
+    }
+}
@@ -0,0 +1,143 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.config.ConfigTreeCache;
+import com.acmerobotics.dashboard.config.reflection.FieldAccessors;
+import com.acmerobotics.dashboard.config.reflection.FieldProvider;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.acmerobotics.dashboard.config.variable.VariableType;
+import com.google.gson.JsonElement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares full config tree serialization with the accessors generated by ConfigAccessorProcessor
+ * against plain reflection, and both against serializing the tree with nested variables collapsed
+ * and checking an unchanged tree with {@link ConfigTreeCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigSerializationBenchmark {
+    public enum Alliance {
+        RED,
+        BLUE
+    }
+
+    public static class Pid {
+        public double kP = 0.1;
+        public double kI = 0.01;
+        public double kD = 0.001;
+        public double kF;
+        public int period = 20;
+    }
+
+    // roughly the size of a drive train and a couple of mechanisms
+    @Config
+    public static class RobotConstants {
+        public static double TRACK_WIDTH = 14.5;
+        public static double WHEEL_RADIUS = 1.89;
+        public static double GEAR_RATIO = 1;
+        public static double MAX_VEL = 50;
+        public static double MAX_ACCEL = 40;
+        public static double MAX_ANG_VEL = 3.14;
+        public static double MAX_ANG_ACCEL = 3.14;
+        public static int TICKS_PER_REV = 537;
+        public static boolean RUN_USING_ENCODER = true;
+        public static String CAMERA_NAME = "Webcam 1";
+        public static Alliance ALLIANCE = Alliance.RED;
+        public static Pid TRANSLATIONAL_PID = new Pid();
+        public static Pid HEADING_PID = new Pid();
+        public static Pid LIFT_PID = new Pid();
+        public static Pid ARM_PID = new Pid();
+        public static Pid INTAKE_PID = new Pid();
+    }
+
+    private CustomVariable generated;
+    private CustomVariable reflective;
+    private CustomVariable collapsed;
+    private ConfigTreeCache cache;
+
+    // same shape as ReflectionConfig but with reflective accessors
+    private static ConfigVariable<?> reflectiveVariable(Field field, Object parent)
+            throws IllegalAccessException {
+        VariableType type = VariableType.fromClass(field.getType());
+        if (type != VariableType.CUSTOM) {
+            return new BasicVariable<>(type,
+                    new FieldProvider<>(FieldAccessors.reflective(field), parent));
+        }
+
+        Object value = field.get(parent);
+        CustomVariable customVariable = new CustomVariable();
+        for (Field nestedField : field.getType().getFields()) {
+            customVariable.putVariable(nestedField.getName(),
+                    reflectiveVariable(nestedField, value));
+        }
+        return customVariable;
+    }
+
+    @Setup
+    public void setup() throws IllegalAccessException {
+        // nested variables are expanded to match the reflective tree
+        CustomVariable generatedConstants =
+                ReflectionConfig.createVariableFromClass(RobotConstants.class);
+        for (Map.Entry<String, ConfigVariable> entry : generatedConstants.entrySet()) {
+            if (entry.getValue() instanceof LazyCustomVariable) {
+                ((LazyCustomVariable) entry.getValue()).materialize();
+            }
+        }
+        generated = new CustomVariable();
+        generated.putVariable("RobotConstants", generatedConstants);
+
+        collapsed = new CustomVariable();
+        collapsed.putVariable("RobotConstants",
+                ReflectionConfig.createVariableFromClass(RobotConstants.class));
+
+        CustomVariable constants = new CustomVariable();
+        for (Field field : RobotConstants.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                constants.putVariable(field.getName(), reflectiveVariable(field, null));
+            }
+        }
+        reflective = new CustomVariable();
+        reflective.putVariable("RobotConstants", constants);
+
+        cache = new ConfigTreeCache(DashboardCore.GSON);
+        cache.serialize(generated);
+    }
+
+    @Benchmark
+    public String reflective() {
+        return DashboardCore.GSON.toJson(reflective);
+    }
+
+    @Benchmark
+    public String generated() {
+        return DashboardCore.GSON.toJson(generated);
+    }
+
+    @Benchmark
+    public String collapsed() {
+        return DashboardCore.GSON.toJson(collapsed);
+    }
+
+    @Benchmark
+    public JsonElement unchangedCached() {
+        return cache.serialize(generated);
+    }
+}
@@ -0,0 +1,15 @@
+package com.acmerobotics.dashboard.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stand-in for the FtcDashboard annotation so ConfigAccessorProcessor runs on benchmark classes.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Config {
+    String value() default "";
+}
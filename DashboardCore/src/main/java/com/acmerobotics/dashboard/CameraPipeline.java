@@ -0,0 +1,298 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.message.ImageFrame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Encodes camera images into {@link ImageFrame}s and sends them, each on a thread of its own, so
+ * capturing never waits for encoding and encoding never waits for clients. Every stage hands off
+ * through a single slot in which a newer frame replaces one that hasn't been picked up yet; a slow
+ * stage drops frames instead of queueing them, and the frame sent is always the latest available.
+ * Thread-safe.
+ *
+ * @param <T> image type, e.g., {@code Bitmap}
+ */
+public final class CameraPipeline<T> {
+    private static final int WINDOW_SIZE = 256;
+
+    private static final byte[] HEADER_PLACEHOLDER = new byte[ImageFrame.HEADER_SIZE];
+
+    /**
+     * Writes images as JPEG.
+     */
+    public interface Encoder<T> {
+        void encode(T image, OutputStream out) throws IOException;
+    }
+
+    /**
+     * Receives encoded frames. The frame must not be changed afterwards.
+     */
+    public interface FrameSink {
+        void send(byte[] frame);
+    }
+
+    private static final class Captured<T> {
+        final T image;
+        final int width;
+        final int height;
+        final int streamId;
+        final long timestamp;
+
+        Captured(T image, int width, int height, int streamId, long timestamp) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+            this.streamId = streamId;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final class Encoded {
+        final byte[] frame;
+        final long timestamp;
+
+        Encoded(byte[] frame, long timestamp) {
+            this.frame = frame;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private final class Slot<E> {
+        private E item;
+
+        synchronized void offer(E newItem) {
+            if (item != null) {
+                recordDrop();
+            }
+            item = newItem;
+            notifyAll();
+        }
+
+        synchronized E take() throws InterruptedException {
+            while (item == null) {
+                wait();
+            }
+
+            E taken = item;
+            item = null;
+            return taken;
+        }
+
+        synchronized void clear() {
+            item = null;
+        }
+    }
+
+    // encoder output reused across frames; only the exact-size copy handed on is allocated
+    private static final class FrameBuffer extends ByteArrayOutputStream {
+        FrameBuffer() {
+            super(64 * 1024);
+        }
+
+        byte[] copyFrame() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+
+    private final Encoder<T> encoder;
+    private final FrameSink sink;
+
+    private final Slot<Captured<T>> captured = new Slot<>();
+    private final Slot<Encoded> encoded = new Slot<>();
+
+    private ExecutorService encodeExecutorService;
+    private ExecutorService sendExecutorService;
+
+    private final double[] frameAgeMs = new double[WINDOW_SIZE];
+    private int frameAgeCount;
+    private int frameAgeIndex;
+
+    private long capturedFrames;
+    private long sentFrames;
+    private long droppedFrames;
+    private long failedFrames;
+
+    private class EncodeRunnable implements Runnable {
+        private final FrameBuffer buffer = new FrameBuffer();
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                Captured<T> next;
+                try {
+                    next = captured.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                try {
+                    // the JPEG data goes after the header, which is filled in at the end
+                    buffer.reset();
+                    buffer.write(HEADER_PLACEHOLDER, 0, HEADER_PLACEHOLDER.length);
+                    encoder.encode(next.image, buffer);
+
+                    byte[] frame = buffer.copyFrame();
+                    ImageFrame.writeHeader(frame, next.streamId, next.timestamp, next.width,
+                            next.height);
+                    encoded.offer(new Encoded(frame, next.timestamp));
+                } catch (IOException | RuntimeException e) {
+                    // e.g., a bitmap recycled by its owner
+                    recordFailure();
+                }
+            }
+        }
+    }
+
+    private class SendRunnable implements Runnable {
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                Encoded next;
+                try {
+                    next = encoded.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                // recorded first so the stats include a frame once a client may have it
+                recordSend(System.currentTimeMillis() - next.timestamp);
+                try {
+                    sink.send(next.frame);
+                } catch (RuntimeException e) {
+                    recordSendFailure();
+                }
+            }
+        }
+    }
+
+    public CameraPipeline(Encoder<T> encoder, FrameSink sink) {
+        this.encoder = encoder;
+        this.sink = sink;
+    }
+
+    /**
+     * Starts the encoding and sending threads if they aren't running.
+     */
+    public synchronized void start() {
+        if (encodeExecutorService != null) {
+            return;
+        }
+
+        encodeExecutorService = Executors.newSingleThreadExecutor(
+                r -> daemonThread(r, "dash camera encode"));
+        encodeExecutorService.submit(new EncodeRunnable());
+
+        sendExecutorService = Executors.newSingleThreadExecutor(
+                r -> daemonThread(r, "dash camera send"));
+        sendExecutorService.submit(new SendRunnable());
+    }
+
+    // a pipeline dropped without stop() must not keep the process alive
+    private static Thread daemonThread(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Stops the threads and discards frames that haven't been sent.
+     */
+    public synchronized void stop() {
+        if (encodeExecutorService == null) {
+            return;
+        }
+
+        encodeExecutorService.shutdownNow();
+        encodeExecutorService = null;
+        sendExecutorService.shutdownNow();
+        sendExecutorService = null;
+
+        captured.clear();
+        encoded.clear();
+    }
+
+    /**
+     * Hands an image to the pipeline and returns without waiting for it to be encoded. The image
+     * replaces one that hasn't been encoded yet. It's read later on the encoding thread, so it
+     * must not be changed afterwards.
+     * @param streamId stream id written into the frame; see {@link ImageFrame}
+     */
+    public void offer(T image, int width, int height, int streamId) {
+        long timestamp = System.currentTimeMillis();
+        synchronized (frameAgeMs) {
+            capturedFrames++;
+        }
+        captured.offer(new Captured<>(image, width, height, streamId, timestamp));
+    }
+
+    private void recordDrop() {
+        synchronized (frameAgeMs) {
+            droppedFrames++;
+        }
+    }
+
+    private void recordFailure() {
+        synchronized (frameAgeMs) {
+            failedFrames++;
+        }
+    }
+
+    private void recordSendFailure() {
+        synchronized (frameAgeMs) {
+            sentFrames--;
+            failedFrames++;
+        }
+    }
+
+    private void recordSend(long ageMs) {
+        synchronized (frameAgeMs) {
+            sentFrames++;
+            frameAgeMs[frameAgeIndex] = Math.max(0, ageMs);
+            frameAgeIndex = (frameAgeIndex + 1) % WINDOW_SIZE;
+            frameAgeCount = Math.min(frameAgeCount + 1, WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public void resetStats() {
+        synchronized (frameAgeMs) {
+            frameAgeCount = 0;
+            frameAgeIndex = 0;
+            capturedFrames = 0;
+            sentFrames = 0;
+            droppedFrames = 0;
+            failedFrames = 0;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the current statistics.
+     */
+    public CameraStreamStats getStats() {
+        synchronized (frameAgeMs) {
+            double[] ages = Arrays.copyOf(frameAgeMs, frameAgeCount);
+            Arrays.sort(ages);
+
+            double mean = 0;
+            for (double age : ages) {
+                mean += age / ages.length;
+            }
+            double p95 = ages.length == 0 ? 0
+                    : ages[Math.max(0, (int) Math.ceil(0.95 * ages.length) - 1)];
+            double max = ages.length == 0 ? 0 : ages[ages.length - 1];
+
+            return new CameraStreamStats(capturedFrames, sentFrames, droppedFrames, failedFrames,
+                    mean, p95, max);
+        }
+    }
+}
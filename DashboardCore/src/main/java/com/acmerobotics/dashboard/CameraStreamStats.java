@@ -0,0 +1,70 @@
+package com.acmerobotics.dashboard;
+
+/**
+ * Snapshot of camera stream throughput and frame age. Ages are in milliseconds and cover the most
+ * recent frames sent by {@link CameraPipeline}.
+ */
+public class CameraStreamStats {
+    private final long capturedFrames;
+    private final long sentFrames;
+    private final long droppedFrames;
+    private final long failedFrames;
+
+    private final double frameAgeMeanMs;
+    private final double frameAgeP95Ms;
+    private final double frameAgeMaxMs;
+
+    CameraStreamStats(long capturedFrames, long sentFrames, long droppedFrames, long failedFrames,
+                      double frameAgeMeanMs, double frameAgeP95Ms, double frameAgeMaxMs) {
+        this.capturedFrames = capturedFrames;
+        this.sentFrames = sentFrames;
+        this.droppedFrames = droppedFrames;
+        this.failedFrames = failedFrames;
+        this.frameAgeMeanMs = frameAgeMeanMs;
+        this.frameAgeP95Ms = frameAgeP95Ms;
+        this.frameAgeMaxMs = frameAgeMaxMs;
+    }
+
+    /**
+     * Returns the number of images handed to the pipeline.
+     */
+    public long getCapturedFrames() {
+        return capturedFrames;
+    }
+
+    /**
+     * Returns the number of frames sent to clients.
+     */
+    public long getSentFrames() {
+        return sentFrames;
+    }
+
+    /**
+     * Returns the number of frames replaced by a newer one before they were encoded or sent.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Returns the number of images that couldn't be encoded or whose frames couldn't be sent.
+     */
+    public long getFailedFrames() {
+        return failedFrames;
+    }
+
+    /**
+     * Returns the mean time between an image being captured and its frame being sent.
+     */
+    public double getFrameAgeMeanMs() {
+        return frameAgeMeanMs;
+    }
+
+    public double getFrameAgeP95Ms() {
+        return frameAgeP95Ms;
+    }
+
+    public double getFrameAgeMaxMs() {
+        return frameAgeMaxMs;
+    }
+}
@@ -1,26 +1,59 @@
 package com.acmerobotics.dashboard;
 
+import com.acmerobotics.dashboard.canvas.BufferedCanvas;
+import com.acmerobotics.dashboard.canvas.BufferedCanvasAdapter;
 import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.canvas.CanvasTypeAdapterFactory;
+import com.acmerobotics.dashboard.config.ConfigDiff;
+import com.acmerobotics.dashboard.config.ConfigHistory;
+import com.acmerobotics.dashboard.config.ConfigSnapshotStore;
+import com.acmerobotics.dashboard.config.ConfigTreeCache;
+import com.acmerobotics.dashboard.config.EnumSchemas;
+import com.acmerobotics.dashboard.config.SerializedConfig;
+import com.acmerobotics.dashboard.config.SerializedConfigAdapter;
 import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.config.variable.ArrayVariable;
 import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
 import com.acmerobotics.dashboard.config.variable.ConfigVariableDeserializer;
 import com.acmerobotics.dashboard.config.variable.ConfigVariableSerializer;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.acmerobotics.dashboard.config.variable.VariableType;
+import com.acmerobotics.dashboard.message.ImageFrame;
 import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageCodecs;
 import com.acmerobotics.dashboard.message.MessageDeserializer;
 import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.GetConfig;
+import com.acmerobotics.dashboard.message.redux.GetConfigSubtree;
+import com.acmerobotics.dashboard.message.redux.LoadConfigSnapshot;
 import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigConflict;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDiff;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigSnapshots;
 import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
 import com.acmerobotics.dashboard.message.redux.SaveConfig;
+import com.acmerobotics.dashboard.message.redux.SaveConfigSnapshot;
+import com.acmerobotics.dashboard.message.redux.SetImageFrames;
 import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main class for interacting with the instance.
@@ -31,24 +64,89 @@ public class DashboardCore {
      */
     private static final int DEFAULT_TELEMETRY_TRANSMISSION_INTERVAL = 100; // ms
 
+    private static final int MAX_POOLED_OVERLAYS = 16;
+
+    /*
+     * Number of past config revisions kept to answer conditional fetches with a diff.
+     */
+    private static final int CONFIG_HISTORY_SIZE = 16;
+
+    /*
+     * Config values assigned by code are checked for changes at this interval.
+     */
+    private static final int DEFAULT_CONFIG_WATCH_INTERVAL = 500; // ms
+
+    /*
+     * The watcher checks this often while it is disabled or there are no clients.
+     */
+    private static final int CONFIG_WATCH_IDLE_INTERVAL = 250; // ms
+
     public boolean enabled;
 
-    private final Mutex<List<SendFun>> sockets = new Mutex<>(new ArrayList<>());
+    // copy-on-write so broadcasts iterate a snapshot without blocking clients that connect
+    private final List<SendFun> sockets = new CopyOnWriteArrayList<>();
+    // sockets that receive camera images; clients showing the MJPEG stream opt out
+    private final CopyOnWriteArrayList<SendFun> imageSockets = new CopyOnWriteArrayList<>();
 
     private ExecutorService telemetryExecutorService;
     // NOTE: We're doing fancy stuff that precludes the use of Mutex.
     private final List<TelemetryPacket> pendingTelemetry = new ArrayList<>(); // guarded by itself
     private volatile int telemetryTransmissionInterval = DEFAULT_TELEMETRY_TRANSMISSION_INTERVAL;
+    // copies of buffered overlays taken when packets are queued
+    private final ArrayDeque<BufferedCanvas> overlayPool = new ArrayDeque<>(); // guarded by pendingTelemetry
 
     private final Mutex<CustomVariable> configRoot = new Mutex<>(new CustomVariable());
+    // Clients cache the config tree by epoch and revision. The epoch distinguishes server runs, and
+    // the revision increases every time clients are sent a change.
+    private final long configEpoch = System.currentTimeMillis();
+    // Serialized trees of the latest revisions. Replaced while holding configRoot; clients are
+    // answered from the published history without the lock.
+    private volatile ConfigHistory configHistory = ConfigHistory.empty(CONFIG_HISTORY_SIZE);
+    // Config messages in revision order. They're queued while holding configRoot and sent after
+    // it's released by whichever thread claims configSending, so slow clients don't hold up
+    // config changes and broadcasts still arrive in order.
+    private final Queue<Message> configBroadcasts = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean configSending = new AtomicBoolean();
+    private final ConfigTreeCache configCache = new ConfigTreeCache(GSON); // guarded by configRoot
+
+    // null until a directory is set
+    private volatile ConfigSnapshotStore configSnapshots;
+
+    // Saved updates wait here while staging is enabled until the op mode applies them. The queue
+    // is lock-free so the op mode thread only locks configRoot when there are updates to apply.
+    private volatile boolean configStaging;
+    private final Queue<PendingSave> pendingConfig = new ConcurrentLinkedQueue<>();
+    // publishes applied updates so the op mode thread never serializes config or sends to clients
+    private ExecutorService configPublishExecutorService;
+
+    private static class PendingSave {
+        final CustomVariable update;
+        final JsonElement serialized;
+        final SendFun source;
+
+        PendingSave(CustomVariable update, JsonElement serialized, SendFun source) {
+            this.update = update;
+            this.serialized = serialized;
+            this.source = source;
+        }
+    }
+
+    private ExecutorService configWatchExecutorService;
+    private volatile int configWatchInterval = DEFAULT_CONFIG_WATCH_INTERVAL;
 
     // NOTE: Helps to have this here for testing
     public static final Gson GSON = new GsonBuilder()
-            .registerTypeAdapter(Message.class, new MessageDeserializer())
+            .registerTypeAdapterFactory(new MessageDeserializer())
+            .registerTypeAdapterFactory(new MessageCodecs())
             .registerTypeAdapter(BasicVariable.class, new ConfigVariableSerializer())
             .registerTypeAdapter(BasicVariable.class, new ConfigVariableDeserializer())
-            .registerTypeAdapter(CustomVariable.class, new ConfigVariableSerializer())
+            .registerTypeHierarchyAdapter(CustomVariable.class, new ConfigVariableSerializer())
             .registerTypeAdapter(CustomVariable.class, new ConfigVariableDeserializer())
+            .registerTypeAdapter(ArrayVariable.class, new ConfigVariableSerializer())
+            .registerTypeAdapter(ArrayVariable.class, new ConfigVariableDeserializer())
+            .registerTypeAdapterFactory(new CanvasTypeAdapterFactory())
+            .registerTypeAdapter(BufferedCanvas.class, new BufferedCanvasAdapter())
+            .registerTypeAdapter(SerializedConfig.class, new SerializedConfigAdapter())
             .serializeNulls()
             .create();
 
@@ -74,8 +172,13 @@ public class DashboardCore {
                         packet.fieldOverlay().clear();
                     }
 
+                    telemetryToSend.get(telemetryToSend.size() - 1)
+                            .fieldOverlay().simplifyPolylines();
+
                     sendAll(new ReceiveTelemetry(telemetryToSend));
 
+                    recycleOverlays(telemetryToSend);
+
                     Thread.sleep(telemetryTransmissionInterval);
                 } catch (InterruptedException e) {
                     return;
@@ -84,53 +187,168 @@ public class DashboardCore {
         }
     }
 
+    // Pushes config values assigned by code, e.g., gains written back by a tuner. Only changed
+    // values are serialized again and clients receive a diff.
+    private class ConfigWatchRunnable implements Runnable {
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    int interval = configWatchInterval;
+                    if (!enabled || interval <= 0 || clientCount() == 0) {
+                        Thread.sleep(CONFIG_WATCH_IDLE_INTERVAL);
+                        continue;
+                    }
+
+                    updateConfig();
+
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
     public DashboardCore() {
         telemetryExecutorService = Executors.newSingleThreadExecutor(r -> new Thread(r, "dash telemetry"));
         telemetryExecutorService.submit(new TelemetryUpdateRunnable());
+
+        configWatchExecutorService = Executors.newSingleThreadExecutor(r -> new Thread(r, "dash config watch"));
+        configWatchExecutorService.submit(new ConfigWatchRunnable());
+
+        configPublishExecutorService = Executors.newSingleThreadExecutor(
+                r -> new Thread(r, "dash config publish"));
     }
 
     public SocketHandler newSocket(final SendFun sendFun) {
         return new SocketHandler() {
             @Override
             public void onOpen() {
-                configRoot.with(v -> {
-                    sendFun.send(new ReceiveConfig(v));
-                });
-
-                sockets.with(l -> {
-                    l.add(sendFun);
-                });
+                // the client asks for the config with the revision it has cached
+                sockets.add(sendFun);
+                imageSockets.add(sendFun);
             }
 
             @Override
             public void onClose() {
-                sockets.with(l -> {
-                    l.remove(sendFun);
-                });
+                sockets.remove(sendFun);
+                imageSockets.remove(sendFun);
             }
 
             @Override
             public boolean onMessage(Message message) {
                 // Swallow any messages when the server is disabled.
-                if (!enabled && message.getType() != MessageType.GET_ROBOT_STATUS) {
+                if (!enabled && message.getType() != MessageType.GET_ROBOT_STATUS
+                        && message.getType() != MessageType.GET_CONFIG
+                        && message.getType() != MessageType.GET_CONFIG_SUBTREE
+                        && message.getType() != MessageType.SET_IMAGE_FRAMES) {
                     return true;
                 }
 
                 switch (message.getType()) {
                     case GET_CONFIG: {
-                        configRoot.with(v -> {
-                            sendFun.send(new ReceiveConfig(v));
+                        GetConfig getConfig = (GetConfig) message;
+                        updateConfig();
+                        sendFun.send(configSince(getConfig.getEpoch(),
+                                getConfig.getRevision()));
+                        return true;
+                    }
+                    case GET_CONFIG_SUBTREE: {
+                        GetConfigSubtree getConfigSubtree = (GetConfigSubtree) message;
+                        boolean expanded = withConfigLock(v -> {
+                            ConfigVariable<?> var = v;
+                            for (String name : getConfigSubtree.getPath()) {
+                                if (!(var instanceof CustomVariable)
+                                        || ((CustomVariable) var).getValue() == null) {
+                                    return false;
+                                }
+                                var = ((CustomVariable) var).getVariable(name);
+                            }
+
+                            if (!(var instanceof LazyCustomVariable)
+                                    || ((LazyCustomVariable) var).isMaterialized()) {
+                                return false;
+                            }
+
+                            // every client receives the children with the diff
+                            ((LazyCustomVariable) var).materialize();
+                            publishConfig(v);
+                            return true;
                         });
+                        if (!expanded) {
+                            // the path is gone or was already expanded; the client still waits
+                            // for an answer, and whatever it missed is in the diff
+                            sendFun.send(configSince(getConfigSubtree.getEpoch(),
+                                    getConfigSubtree.getRevision()));
+                        }
                         return true;
                     }
                     case SAVE_CONFIG: {
-                        withConfigRoot(new CustomVariableConsumer() {
-                            @Override
-                            public void accept(CustomVariable configRoot) {
-                                configRoot.update(((SaveConfig) message).getConfigDiff());
+                        SaveConfig saveConfig = (SaveConfig) message;
+                        JsonElement serialized = GSON.toJsonTree(saveConfig.getConfigDiff());
+                        boolean saved = withConfigLock(v -> {
+                            publishConfig(v);
+                            if (saveConfig.getBaseRevision() != 0
+                                    && isStale(saveConfig, serialized, sendFun)) {
+                                return false;
+                            }
+
+                            if (configStaging) {
+                                pendingConfig.add(new PendingSave(saveConfig.getConfigDiff(),
+                                        serialized, sendFun));
+                                return true;
                             }
+
+                            v.update(saveConfig.getConfigDiff());
+                            recordSave(serialized);
+                            publishConfig(v);
+                            return true;
                         });
 
+                        if (!saved) {
+                            // the client receives the newer values with the broadcasts
+                            sendFun.send(new ReceiveConfigConflict());
+                        }
+
+                        return true;
+                    }
+                    case GET_CONFIG_SNAPSHOTS: {
+                        // includes a failure to read or write the saved values
+                        ConfigSnapshotStore snapshots = configSnapshots;
+                        IOException error = snapshots == null ? null : snapshots.getLastError();
+                        sendFun.send(new ReceiveConfigSnapshots(getConfigSnapshotNames(),
+                                error == null ? null : error.getMessage()));
+                        return true;
+                    }
+                    case SAVE_CONFIG_SNAPSHOT: {
+                        // on success, every client receives the new names
+                        try {
+                            saveConfigSnapshot(((SaveConfigSnapshot) message).getName());
+                        } catch (IOException | IllegalArgumentException
+                                | IllegalStateException e) {
+                            sendFun.send(new ReceiveConfigSnapshots(getConfigSnapshotNames(),
+                                    "Unable to save snapshot: " + e.getMessage()));
+                        }
+                        return true;
+                    }
+                    case LOAD_CONFIG_SNAPSHOT: {
+                        String error = null;
+                        try {
+                            loadConfigSnapshot(((LoadConfigSnapshot) message).getName());
+                        } catch (IOException | IllegalArgumentException
+                                | IllegalStateException e) {
+                            error = "Unable to load snapshot: " + e.getMessage();
+                        }
+                        sendFun.send(new ReceiveConfigSnapshots(getConfigSnapshotNames(), error));
+                        return true;
+                    }
+                    case SET_IMAGE_FRAMES: {
+                        if (((SetImageFrames) message).isEnabled()) {
+                            imageSockets.addIfAbsent(sendFun);
+                        } else {
+                            imageSockets.remove(sendFun);
+                        }
                         return true;
                     }
                     default:
@@ -161,6 +379,17 @@ public class DashboardCore {
                 return;
             }
 
+            // buffered overlays are meant to be reused by the caller, so send a copy instead
+            Canvas overlay = telemetryPacket.fieldOverlay();
+            if (overlay instanceof BufferedCanvas) {
+                BufferedCanvas copy = overlayPool.poll();
+                if (copy == null) {
+                    copy = new BufferedCanvas();
+                }
+                copy.copyFrom((BufferedCanvas) overlay);
+                telemetryPacket.setFieldOverlay(copy);
+            }
+
             pendingTelemetry.add(telemetryPacket);
 
             // There should only be one thread, so we should avoid a thundering herd. (But then
@@ -169,6 +398,18 @@ public class DashboardCore {
         }
     }
 
+    private void recycleOverlays(List<TelemetryPacket> packets) {
+        synchronized (pendingTelemetry) {
+            for (TelemetryPacket packet : packets) {
+                Canvas overlay = packet.fieldOverlay();
+                if (overlay instanceof BufferedCanvas && overlayPool.size() < MAX_POOLED_OVERLAYS) {
+                    ((BufferedCanvas) overlay).reset();
+                    overlayPool.add((BufferedCanvas) overlay);
+                }
+            }
+        }
+    }
+
     /**
      * Clears telemetry data from all clients.
      */
@@ -196,12 +437,182 @@ public class DashboardCore {
     }
 
     /**
-     * Sends updated configuration data to all instance clients.
+     * Returns the interval in milliseconds at which config values are checked for changes made by
+     * code.
      */
-    public void updateConfig() {
-        configRoot.with(v -> {
-            sendAll(new ReceiveConfig(v));
+    public int getConfigWatchInterval() {
+        return configWatchInterval;
+    }
+
+    /**
+     * Sets the interval at which config values are checked for changes made by code. Changed
+     * values are sent to clients without an explicit {@link #updateConfig()}.
+     * @param newWatchInterval watch interval in milliseconds; zero or less disables watching
+     */
+    public void setConfigWatchInterval(int newWatchInterval) {
+        configWatchInterval = newWatchInterval;
+    }
+
+    /**
+     * Returns true if saved config updates are staged until {@link #applyPendingConfig()}.
+     */
+    public boolean isConfigStaging() {
+        return configStaging;
+    }
+
+    /**
+     * Sets whether saved config updates are staged instead of applied as they arrive. Staged
+     * updates are applied together by {@link #applyPendingConfig()}, so code that calls it at the
+     * top of its loop never observes a partially applied save. Disabling staging applies the
+     * pending updates.
+     */
+    public void setConfigStaging(boolean staging) {
+        configStaging = staging;
+        if (!staging) {
+            applyPendingConfig();
+        }
+    }
+
+    /**
+     * Applies the config updates staged since the last call in the order they were saved. Returns
+     * quickly without locking when there are none. The new values are persisted and sent to
+     * clients on a background thread, so the caller only waits for the values to be assigned.
+     * @return true if any updates were applied
+     */
+    public boolean applyPendingConfig() {
+        if (pendingConfig.isEmpty()) {
+            return false;
+        }
+
+        List<PendingSave> applied = configRoot.with(v -> {
+            List<PendingSave> saves = new ArrayList<>();
+            PendingSave save;
+            while ((save = pendingConfig.poll()) != null) {
+                v.update(save.update);
+                saves.add(save);
+            }
+            return saves;
+        });
+
+        if (applied.isEmpty()) {
+            return false;
+        }
+
+        configPublishExecutorService.submit(() -> {
+            for (PendingSave save : applied) {
+                recordSave(save.serialized);
+            }
+            updateConfig();
         });
+        return true;
+    }
+
+    private void recordSave(JsonElement serialized) {
+        ConfigSnapshotStore snapshots = configSnapshots;
+        if (snapshots != null) {
+            snapshots.recordSave(serialized);
+        }
+    }
+
+    /**
+     * Sends updated configuration data to all instance clients. After the first update, only the
+     * variables that changed since the previous update are sent.
+     */
+    public void updateConfig() {
+        withConfigLock(this::publishConfig);
+    }
+
+    // Runs the function holding configRoot and then sends the config changes it published.
+    private void withConfigLock(Mutex.UnitFun<CustomVariable> f) {
+        configRoot.with(f);
+        sendConfigBroadcasts();
+    }
+
+    private <V> V withConfigLock(Mutex.Fun<CustomVariable, V> f) {
+        V result = configRoot.with(f);
+        sendConfigBroadcasts();
+        return result;
+    }
+
+    // must hold configRoot
+    private void publishConfig(CustomVariable v) {
+        // only variables whose values changed since the last call are serialized again
+        JsonElement config = configCache.serialize(v);
+        ConfigHistory history = configHistory;
+        SerializedConfig latest = history.getLatest();
+        if (latest == null) {
+            SerializedConfig serialized = new SerializedConfig(config);
+            configHistory = history.add(serialized);
+            configBroadcasts.add(new ReceiveConfig(serialized, serialized.getEnumValues(),
+                    configEpoch, history.getRevision() + 1));
+            return;
+        }
+
+        if (latest.getTree() == config) {
+            return;
+        }
+
+        ConfigDiff diff = ConfigDiff.between(latest.getTree(), config);
+        if (!diff.isEmpty()) {
+            configHistory = history.add(new SerializedConfig(config));
+            configBroadcasts.add(new ReceiveConfigDiff(diff.getChanged(), diff.getRemoved(),
+                    EnumSchemas.valuesFor(diff.getChanged(), latest.getEnumClasses()),
+                    configEpoch, history.getRevision(), history.getRevision() + 1));
+        }
+    }
+
+    private void sendConfigBroadcasts() {
+        // a thread that queued a message while another was sending may have left before the
+        // sender finished, so check again after releasing configSending
+        while (!configBroadcasts.isEmpty() && configSending.compareAndSet(false, true)) {
+            try {
+                Message message;
+                while ((message = configBroadcasts.poll()) != null) {
+                    sendAll(message);
+                }
+            } finally {
+                configSending.set(false);
+            }
+        }
+    }
+
+    // Returns the message that brings a client's cached config up to date: a diff (empty if the
+    // cache is current) when the cached revision is still known and the full tree otherwise.
+    private Message configSince(long epoch, long revision) {
+        ConfigHistory history = configHistory;
+        SerializedConfig latest = history.getLatest();
+        SerializedConfig base = epoch == configEpoch ? history.get(revision) : null;
+        if (base == null) {
+            return new ReceiveConfig(latest, latest.getEnumValues(), configEpoch,
+                    history.getRevision());
+        }
+
+        ConfigDiff diff = ConfigDiff.between(base.getTree(), latest.getTree());
+        return new ReceiveConfigDiff(diff.getChanged(), diff.getRemoved(),
+                EnumSchemas.valuesFor(diff.getChanged(), base.getEnumClasses()), configEpoch,
+                revision, history.getRevision());
+    }
+
+    // Returns true if a variable in the save changed after its base revision, if that revision is
+    // no longer known, or if another client staged a save of the variable. A client's own staged
+    // saves are older versions of its edits and don't conflict.
+    // must hold configRoot
+    private boolean isStale(SaveConfig saveConfig, JsonElement serialized, SendFun source) {
+        ConfigHistory history = configHistory;
+        SerializedConfig base = saveConfig.getEpoch() == configEpoch
+                ? history.get(saveConfig.getBaseRevision()) : null;
+        if (base == null) {
+            return true;
+        }
+
+        for (PendingSave pending : pendingConfig) {
+            if (pending.source != source && ConfigDiff.overlap(pending.serialized, serialized)) {
+                return true;
+            }
+        }
+
+        return ConfigDiff.between(base.getTree(), history.getLatest().getTree())
+                .conflictsWith(serialized);
     }
 
     /**
@@ -213,11 +624,96 @@ public class DashboardCore {
      * @param function
      */
     public void withConfigRoot(CustomVariableConsumer function) {
-        configRoot.with(function::accept);
+        configRoot.with(v -> {
+            function.accept(v);
+            restoreConfig(v);
+        });
 
         updateConfig();
     }
 
+    // Applies saved values to newly registered variables.
+    // must hold configRoot
+    private void restoreConfig(CustomVariable v) {
+        ConfigSnapshotStore snapshots = configSnapshots;
+        if (snapshots != null) {
+            snapshots.restore(v);
+        }
+    }
+
+    /**
+     * Persists config values saved from clients in {@code directory} and restores the values saved
+     * by previous runs, both to the variables registered so far and to those registered later.
+     * Named snapshots are kept in the same directory.
+     */
+    public void setConfigSnapshotDirectory(File directory) {
+        ConfigSnapshotStore previous = withConfigLock(v -> {
+            ConfigSnapshotStore replaced = configSnapshots;
+            configSnapshots = new ConfigSnapshotStore(directory, GSON,
+                    this::reportConfigSnapshotError);
+            restoreConfig(v);
+            publishConfig(v);
+            return replaced;
+        });
+
+        if (previous != null) {
+            // writes what the previous directory was still waiting for
+            try {
+                previous.close();
+            } catch (IOException e) {
+                reportConfigSnapshotError(e);
+            }
+        }
+    }
+
+    private void reportConfigSnapshotError(IOException e) {
+        sendAll(new ReceiveConfigSnapshots(getConfigSnapshotNames(), e.getMessage()));
+    }
+
+    /**
+     * Saves the current config values as a named snapshot.
+     * @throws IllegalStateException if no snapshot directory is set
+     */
+    public void saveConfigSnapshot(String name) throws IOException {
+        ConfigSnapshotStore snapshots = requireConfigSnapshots();
+        JsonElement config = configRoot.with(v -> {
+            return ConfigSnapshotStore.serializeAll(v, GSON);
+        });
+        snapshots.saveSnapshot(name, config);
+
+        sendAll(new ReceiveConfigSnapshots(snapshots.getSnapshotNames(), null));
+    }
+
+    /**
+     * Replaces the config values with those of a named snapshot. The values are also persisted as
+     * if they had been saved by a client.
+     * @throws IllegalStateException if no snapshot directory is set
+     */
+    public void loadConfigSnapshot(String name) throws IOException {
+        ConfigSnapshotStore snapshots = requireConfigSnapshots();
+        JsonObject config = snapshots.readSnapshot(name);
+        withConfigLock(v -> {
+            snapshots.restoreSnapshot(config, v);
+            publishConfig(v);
+        });
+    }
+
+    /**
+     * Returns the names of the config snapshots; empty if no snapshot directory is set.
+     */
+    public List<String> getConfigSnapshotNames() {
+        ConfigSnapshotStore snapshots = configSnapshots;
+        return snapshots == null ? Collections.<String>emptyList() : snapshots.getSnapshotNames();
+    }
+
+    private ConfigSnapshotStore requireConfigSnapshots() {
+        ConfigSnapshotStore snapshots = configSnapshots;
+        if (snapshots == null) {
+            throw new IllegalStateException("No config snapshot directory");
+        }
+        return snapshots;
+    }
+
     /**
      * Add config variable with custom provider.
      * @param category top-level category
@@ -226,46 +722,65 @@ public class DashboardCore {
      * @param <T> variable type
      */
     public <T> void addConfigVariable(String category, String name, ValueProvider<T> provider) {
-        configRoot.with(v -> {
+        withConfigLock(v -> {
             CustomVariable catVar = (CustomVariable) v.getVariable(category);
-            if (catVar != null) {
-                catVar.putVariable(name, new BasicVariable<>(provider));
-            } else {
+            if (catVar == null) {
                 catVar = new CustomVariable();
-                catVar.putVariable(name, new BasicVariable<>(provider));
                 v.putVariable(category, catVar);
             }
-            updateConfig();
+            catVar.putVariable(name, providerVariable(provider));
+            restoreConfig(v);
+            publishConfig(v);
         });
     }
 
+    private static <T> ConfigVariable<?> providerVariable(ValueProvider<T> provider) {
+        Class<?> valueClass = provider.get().getClass();
+        if (VariableType.fromClass(valueClass) == VariableType.ARRAY) {
+            return new ArrayVariable(valueClass, valueClass.getComponentType(), provider);
+        }
+        return new BasicVariable<>(provider);
+    }
+
     /**
      * Remove a config variable.
      * @param category top-level category
      * @param name variable name
      */
     public void removeConfigVariable(String category, String name) {
-        configRoot.with(v -> {
+        withConfigLock(v -> {
             CustomVariable catVar = (CustomVariable) v.getVariable(category);
             catVar.removeVariable(name);
             if (catVar.size() == 0) {
                 v.removeVariable(category);
             }
-            updateConfig();
+            publishConfig(v);
         });
     }
 
     public void sendAll(Message message) {
-        sockets.with(l -> {
-            for (SendFun sf : l) {
-                sf.send(message);
-            }
-        });
+        for (SendFun sf : sockets) {
+            sf.send(message);
+        }
+    }
+
+    /**
+     * Sends an {@link ImageFrame} to the clients that receive camera images over their socket.
+     */
+    public void sendImageFrame(byte[] frame) {
+        for (SendFun sf : imageSockets) {
+            sf.sendBinary(frame);
+        }
+    }
+
+    /**
+     * Returns the number of clients that receive camera images over their socket.
+     */
+    public int imageClientCount() {
+        return imageSockets.size();
     }
 
     public int clientCount() {
-        return sockets.with(l -> {
-            return l.size();
-        });
+        return sockets.size();
     }
 }
@@ -0,0 +1,72 @@
+package com.acmerobotics.dashboard;
+
+/**
+ * Press or release of a dashboard gamepad button.
+ */
+public class GamepadEvent {
+    /**
+     * Gamepad buttons in the bit order of the binary gamepad frame.
+     */
+    public enum Button {
+        DPAD_UP,
+        DPAD_DOWN,
+        DPAD_LEFT,
+        DPAD_RIGHT,
+        A,
+        B,
+        X,
+        Y,
+        GUIDE,
+        START,
+        BACK,
+        LEFT_BUMPER,
+        RIGHT_BUMPER,
+        LEFT_STICK_BUTTON,
+        RIGHT_STICK_BUTTON,
+        TOUCHPAD
+    }
+
+    private final int gamepad;
+    private final Button button;
+    private final boolean pressed;
+    private final double timestamp;
+
+    public GamepadEvent(int gamepad, Button button, boolean pressed, double timestamp) {
+        this.gamepad = gamepad;
+        this.button = button;
+        this.pressed = pressed;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Returns the gamepad number (1 or 2).
+     */
+    public int getGamepad() {
+        return gamepad;
+    }
+
+    public Button getButton() {
+        return button;
+    }
+
+    /**
+     * Returns true for a press and false for a release.
+     */
+    public boolean isPressed() {
+        return pressed;
+    }
+
+    /**
+     * Returns the time of the edge in milliseconds since the epoch on the robot clock. This is the
+     * time the browser read the gamepad when known and the time the robot received it otherwise.
+     */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "gamepad" + gamepad + " " + button + (pressed ? " pressed" : " released")
+                + " at " + timestamp;
+    }
+}
@@ -0,0 +1,104 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.message.GamepadFrame;
+import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded queue of gamepad button edges derived from consecutive gamepad messages. Since the
+ * frontend sends a frame for every change, the edges between frames capture taps that are too
+ * short for the op mode to observe by sampling the gamepads. When the queue is full the oldest
+ * events are dropped. Thread-safe.
+ */
+public class GamepadEventQueue {
+    private static final GamepadEvent.Button[] BUTTONS = GamepadEvent.Button.values();
+
+    private final int capacity;
+    private final ArrayDeque<GamepadEvent> events;
+    private long droppedEvents;
+
+    private int lastButtons1;
+    private int lastButtons2;
+
+    public GamepadEventQueue(int capacity) {
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Enqueues the edges between the previous gamepad state and {@code state}.
+     *
+     * @param timestamp time of the state in milliseconds since the epoch on the robot clock
+     */
+    public synchronized void addEdges(ReceiveGamepadState state, double timestamp) {
+        int buttons1 = GamepadFrame.buttonMask(state.getGamepad1());
+        int buttons2 = GamepadFrame.buttonMask(state.getGamepad2());
+
+        addEdges(1, lastButtons1, buttons1, timestamp);
+        addEdges(2, lastButtons2, buttons2, timestamp);
+
+        lastButtons1 = buttons1;
+        lastButtons2 = buttons2;
+    }
+
+    /**
+     * Enqueues releases for every held button, e.g., when the gamepads are reset.
+     */
+    public synchronized void releaseAll(double timestamp) {
+        addEdges(1, lastButtons1, 0, timestamp);
+        addEdges(2, lastButtons2, 0, timestamp);
+
+        lastButtons1 = 0;
+        lastButtons2 = 0;
+    }
+
+    private void addEdges(int gamepad, int before, int after, double timestamp) {
+        int changed = before ^ after;
+        while (changed != 0) {
+            int bit = Integer.numberOfTrailingZeros(changed);
+            changed &= changed - 1;
+
+            if (events.size() == capacity) {
+                events.removeFirst();
+                droppedEvents++;
+            }
+            events.addLast(new GamepadEvent(gamepad, BUTTONS[bit], (after & (1 << bit)) != 0,
+                    timestamp));
+        }
+    }
+
+    /**
+     * Removes and returns the oldest event or null if there are none.
+     */
+    public synchronized GamepadEvent poll() {
+        return events.pollFirst();
+    }
+
+    /**
+     * Removes and returns all queued events, oldest first.
+     */
+    public synchronized List<GamepadEvent> drain() {
+        List<GamepadEvent> drained = new ArrayList<>(events);
+        events.clear();
+        return drained;
+    }
+
+    /**
+     * Discards queued events and forgets the previous button state.
+     */
+    public synchronized void clear() {
+        events.clear();
+        lastButtons1 = 0;
+        lastButtons2 = 0;
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full.
+     */
+    public synchronized long getDroppedEvents() {
+        return droppedEvents;
+    }
+}
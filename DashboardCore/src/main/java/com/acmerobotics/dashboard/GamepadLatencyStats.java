@@ -0,0 +1,89 @@
+package com.acmerobotics.dashboard;
+
+/**
+ * Snapshot of gamepad input latency and loss statistics. Latencies are in milliseconds and cover
+ * the most recent samples recorded by {@link GamepadLatencyTracker}.
+ */
+public class GamepadLatencyStats {
+    private final long receivedFrames;
+    private final long lostFrames;
+
+    private final double receiveToApplyMeanMs;
+    private final double receiveToApplyP95Ms;
+    private final double receiveToApplyMaxMs;
+
+    private final int endToEndSamples;
+    private final double endToEndMeanMs;
+    private final double endToEndP95Ms;
+    private final double endToEndMaxMs;
+
+    GamepadLatencyStats(long receivedFrames, long lostFrames,
+                        double receiveToApplyMeanMs, double receiveToApplyP95Ms,
+                        double receiveToApplyMaxMs, int endToEndSamples, double endToEndMeanMs,
+                        double endToEndP95Ms, double endToEndMaxMs) {
+        this.receivedFrames = receivedFrames;
+        this.lostFrames = lostFrames;
+        this.receiveToApplyMeanMs = receiveToApplyMeanMs;
+        this.receiveToApplyP95Ms = receiveToApplyP95Ms;
+        this.receiveToApplyMaxMs = receiveToApplyMaxMs;
+        this.endToEndSamples = endToEndSamples;
+        this.endToEndMeanMs = endToEndMeanMs;
+        this.endToEndP95Ms = endToEndP95Ms;
+        this.endToEndMaxMs = endToEndMaxMs;
+    }
+
+    /**
+     * Returns the number of gamepad messages applied to the op mode.
+     */
+    public long getReceivedFrames() {
+        return receivedFrames;
+    }
+
+    /**
+     * Returns the number of gamepad messages that never arrived, inferred from gaps in the
+     * sequence numbers.
+     */
+    public long getLostFrames() {
+        return lostFrames;
+    }
+
+    /**
+     * Returns the mean time between a gamepad message arriving on the socket and its state being
+     * copied into the op mode gamepads.
+     */
+    public double getReceiveToApplyMeanMs() {
+        return receiveToApplyMeanMs;
+    }
+
+    public double getReceiveToApplyP95Ms() {
+        return receiveToApplyP95Ms;
+    }
+
+    public double getReceiveToApplyMaxMs() {
+        return receiveToApplyMaxMs;
+    }
+
+    /**
+     * Returns the number of end-to-end samples. Messages only yield end-to-end samples when the
+     * client stamps them with its estimate of the robot clock.
+     */
+    public int getEndToEndSamples() {
+        return endToEndSamples;
+    }
+
+    /**
+     * Returns the mean time between the browser reading the gamepad and its state being copied
+     * into the op mode gamepads. The accuracy is bounded by the client's clock offset estimate.
+     */
+    public double getEndToEndMeanMs() {
+        return endToEndMeanMs;
+    }
+
+    public double getEndToEndP95Ms() {
+        return endToEndP95Ms;
+    }
+
+    public double getEndToEndMaxMs() {
+        return endToEndMaxMs;
+    }
+}
@@ -0,0 +1,125 @@
+package com.acmerobotics.dashboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records gamepad input latency and loss. Each client numbers its messages separately, so loss is
+ * tracked per client. Thread-safe.
+ */
+public class GamepadLatencyTracker {
+    private static final int WINDOW_SIZE = 256;
+
+    private final double[] receiveToApplyMs = new double[WINDOW_SIZE];
+    private int receiveToApplyCount;
+    private int receiveToApplyIndex;
+
+    private final double[] endToEndMs = new double[WINDOW_SIZE];
+    private int endToEndCount;
+    private int endToEndIndex;
+
+    private long receivedFrames;
+    private long lostFrames;
+    private final Map<Object, Long> lastSequenceNumbers = new HashMap<>();
+
+    /**
+     * Records the arrival of a gamepad message, whether or not it's applied to the op mode. This
+     * must see every message of a client for the loss count to be accurate.
+     *
+     * @param client the client that sent the message, e.g., its socket
+     * @param sequenceNumber message sequence number; a value that doesn't exceed the previous one
+     *                       is treated as the start of a new client session
+     */
+    public synchronized void receive(Object client, long sequenceNumber) {
+        Long lastSequenceNumber = lastSequenceNumbers.put(client, sequenceNumber);
+        if (lastSequenceNumber != null && sequenceNumber > lastSequenceNumber + 1) {
+            lostFrames += sequenceNumber - lastSequenceNumber - 1;
+        }
+    }
+
+    /**
+     * Forgets a client that disconnected.
+     */
+    public synchronized void removeClient(Object client) {
+        lastSequenceNumbers.remove(client);
+    }
+
+    /**
+     * Records a gamepad message that was just applied to the op mode. Its arrival must have been
+     * recorded with {@link #receive(Object, long)}.
+     *
+     * @param clientTimestamp time the client read the gamepad in milliseconds since the epoch on
+     *                        the robot clock; zero or less if unknown
+     * @param receiveNanos {@link System#nanoTime()} when the message arrived on the socket
+     */
+    public synchronized void record(double clientTimestamp, long receiveNanos) {
+        long applyNanos = System.nanoTime();
+
+        receivedFrames++;
+
+        receiveToApplyMs[receiveToApplyIndex] = (applyNanos - receiveNanos) / 1e6;
+        receiveToApplyIndex = (receiveToApplyIndex + 1) % WINDOW_SIZE;
+        receiveToApplyCount = Math.min(receiveToApplyCount + 1, WINDOW_SIZE);
+
+        if (clientTimestamp > 0) {
+            // clamp small negative values caused by error in the client's offset estimate
+            endToEndMs[endToEndIndex] = Math.max(0,
+                    System.currentTimeMillis() - clientTimestamp);
+            endToEndIndex = (endToEndIndex + 1) % WINDOW_SIZE;
+            endToEndCount = Math.min(endToEndCount + 1, WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * Clears all recorded statistics. Clients stay known, so their next message doesn't count as
+     * a gap.
+     */
+    public synchronized void reset() {
+        receiveToApplyCount = 0;
+        receiveToApplyIndex = 0;
+        endToEndCount = 0;
+        endToEndIndex = 0;
+        receivedFrames = 0;
+        lostFrames = 0;
+    }
+
+    /**
+     * Returns a snapshot of the current statistics.
+     */
+    public synchronized GamepadLatencyStats getStats() {
+        double[] receiveToApply = Arrays.copyOf(receiveToApplyMs, receiveToApplyCount);
+        double[] endToEnd = Arrays.copyOf(endToEndMs, endToEndCount);
+        Arrays.sort(receiveToApply);
+        Arrays.sort(endToEnd);
+
+        return new GamepadLatencyStats(receivedFrames, lostFrames,
+                mean(receiveToApply), percentile(receiveToApply, 0.95), max(receiveToApply),
+                endToEndCount, mean(endToEnd), percentile(endToEnd, 0.95), max(endToEnd));
+    }
+
+    private static double mean(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double max(double[] sorted) {
+        return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+    }
+}
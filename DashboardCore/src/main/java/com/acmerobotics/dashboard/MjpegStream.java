@@ -0,0 +1,199 @@
+package com.acmerobotics.dashboard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Camera images served as an MJPEG ({@code multipart/x-mixed-replace}) HTTP stream, separate from
+ * the socket that carries telemetry. Each client reads the response body from its own
+ * {@link InputStream}, usually on the HTTP server's connection thread. A client still writing a
+ * frame when newer ones arrive skips to the latest, so a slow client falls behind by at most one
+ * frame and never holds up the camera or the other clients. Thread-safe.
+ */
+public final class MjpegStream {
+    public static final String BOUNDARY = "dashframe";
+    public static final String MIME_TYPE = "multipart/x-mixed-replace; boundary=" + BOUNDARY;
+
+    // idle clients repeat the last frame this often to notice when the other side is gone
+    private static final long DEFAULT_KEEP_ALIVE_MS = 1000;
+
+    private static final byte[] PART_END = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final class Frame {
+        final byte[] data;
+        final int offset;
+        final int length;
+        final byte[] header;
+
+        Frame(byte[] data, int offset, int length) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.header = ("--" + BOUNDARY + "\r\n"
+                    + "Content-Type: image/jpeg\r\n"
+                    + "Content-Length: " + length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final class Client extends InputStream {
+        // latest frame that hasn't been written; newer frames replace it
+        private Frame pending;
+        private Frame last;
+        private boolean closed;
+
+        // part being written: the header, the frame data, and PART_END in turn
+        private Frame current;
+        private int segment;
+        private int position;
+
+        synchronized void offer(Frame frame) {
+            pending = frame;
+            notifyAll();
+        }
+
+        // Returns the next frame to write or null once the client is closed.
+        private synchronized Frame next() throws IOException {
+            long deadline = System.currentTimeMillis() + keepAliveMillis;
+            while (pending == null && !closed) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0 && last != null) {
+                    return last;
+                }
+
+                try {
+                    wait(remaining > 0 ? remaining : keepAliveMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+
+            if (closed) {
+                return null;
+            }
+
+            last = pending;
+            pending = null;
+            return last;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (current == null) {
+                current = next();
+                if (current == null) {
+                    return -1;
+                }
+                segment = 0;
+                position = 0;
+            }
+
+            byte[] source;
+            int start;
+            int length;
+            switch (segment) {
+                case 0:
+                    source = current.header;
+                    start = 0;
+                    length = source.length;
+                    break;
+                case 1:
+                    source = current.data;
+                    start = current.offset;
+                    length = current.length;
+                    break;
+                default:
+                    source = PART_END;
+                    start = 0;
+                    length = PART_END.length;
+                    break;
+            }
+
+            int count = Math.min(len, length - position);
+            System.arraycopy(source, start + position, b, off, count);
+            position += count;
+            if (position == length) {
+                position = 0;
+                if (++segment == 3) {
+                    current = null;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                closed = true;
+                notifyAll();
+            }
+            clients.remove(this);
+        }
+    }
+
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final long keepAliveMillis;
+
+    public MjpegStream() {
+        this(DEFAULT_KEEP_ALIVE_MS);
+    }
+
+    /**
+     * @param keepAliveMillis interval at which idle clients repeat the last frame
+     */
+    public MjpegStream(long keepAliveMillis) {
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    /**
+     * Returns the body of the stream for a new client, starting with the next frame. Closing it
+     * removes the client.
+     */
+    public InputStream newClient() {
+        Client client = new Client();
+        clients.add(client);
+        return client;
+    }
+
+    /**
+     * Sends a JPEG image to all clients. The data must not change afterwards.
+     */
+    public void send(byte[] data, int offset, int length) {
+        if (clients.isEmpty()) {
+            return;
+        }
+
+        Frame frame = new Frame(data, offset, length);
+        for (Client client : clients) {
+            client.offer(frame);
+        }
+    }
+
+    public int clientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Ends the stream of all clients.
+     */
+    public void close() {
+        for (Client client : clients) {
+            client.close();
+        }
+    }
+}
@@ -20,11 +20,23 @@ public class RobotStatus {
     private OpModeStatus activeOpModeStatus;
     private String warningMessage;
     private String errorMessage;
+    // lets clients estimate their clock offset from the robot
+    private long serverTime;
+    private GamepadLatencyStats gamepadLatency;
 
     /**
      * Creates a status object with the default values.
      */
     public RobotStatus(boolean enabled, boolean available, String activeOpMode, OpModeStatus activeOpModeStatus, String warningMessage, String errorMessage) {
+        this(enabled, available, activeOpMode, activeOpModeStatus, warningMessage, errorMessage, null);
+    }
+
+    /**
+     * Creates a status object that also reports gamepad latency statistics.
+     */
+    public RobotStatus(boolean enabled, boolean available, String activeOpMode, OpModeStatus activeOpModeStatus, String warningMessage, String errorMessage, GamepadLatencyStats gamepadLatency) {
+        this.serverTime = System.currentTimeMillis();
+        this.gamepadLatency = gamepadLatency;
         this.enabled = enabled;
         this.available = available;
         this.activeOpMode = activeOpMode;
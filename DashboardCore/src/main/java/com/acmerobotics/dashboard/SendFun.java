@@ -1,7 +1,15 @@
 package com.acmerobotics.dashboard;
 
+import com.acmerobotics.dashboard.message.ImageFrame;
 import com.acmerobotics.dashboard.message.Message;
 
 public interface SendFun {
     void send(Message message);
+
+    /**
+     * Sends a binary frame, e.g., an {@link ImageFrame}. Senders that only handle messages drop
+     * it.
+     */
+    default void sendBinary(byte[] frame) {
+    }
 }
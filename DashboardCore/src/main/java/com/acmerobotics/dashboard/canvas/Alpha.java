@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Alpha extends CanvasOp {
     private double alpha;
 
@@ -8,4 +12,10 @@ public class Alpha extends CanvasOp {
 
         this.alpha = alpha;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeAlpha(out, alpha);
+        return true;
+    }
 }
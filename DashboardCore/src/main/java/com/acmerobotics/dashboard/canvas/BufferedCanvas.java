@@ -0,0 +1,652 @@
+package com.acmerobotics.dashboard.canvas;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canvas that records operations into growable primitive buffers instead of allocating a
+ * {@link CanvasOp} per call. Each op is an opcode followed by its int operands in the code
+ * stream; its doubles and strings are appended to separate tables. The buffers keep their
+ * capacity across {@link #reset()}, so a single instance can be reused every loop without
+ * allocating once the buffers have grown to size.
+ *
+ * <p>The dashboard copies a buffered overlay when its packet is queued, so the canvas may be
+ * reset and redrawn as soon as {@code sendTelemetryPacket()} returns.
+ */
+public class BufferedCanvas extends Canvas {
+    private static final int OP_GRID = 0;
+    private static final int OP_TRANSLATE = 1;
+    private static final int OP_ROTATION = 2;
+    private static final int OP_SCALE = 3;
+    private static final int OP_ALPHA = 4;
+    private static final int OP_CIRCLE = 5;
+    private static final int OP_POLYGON = 6;
+    private static final int OP_POLYLINE = 7;
+    private static final int OP_SPLINE = 8;
+    private static final int OP_STROKE = 9;
+    private static final int OP_FILL = 10;
+    private static final int OP_STROKE_WIDTH = 11;
+    private static final int OP_TEXT = 12;
+    private static final int OP_IMAGE = 13;
+
+    private int[] code = new int[64];
+    private int codeSize;
+
+    private double[] doubles = new double[256];
+    private int doubleSize;
+
+    private String[] strings = new String[16];
+    private int stringSize;
+
+    /**
+     * Clears all recorded ops while keeping the buffers for reuse.
+     */
+    public BufferedCanvas reset() {
+        codeSize = 0;
+        doubleSize = 0;
+        // drop string references so they can be collected
+        Arrays.fill(strings, 0, stringSize, null);
+        stringSize = 0;
+        return this;
+    }
+
+    /**
+     * Returns true if no ops have been recorded since the last reset.
+     */
+    public boolean isEmpty() {
+        return codeSize == 0;
+    }
+
+    /**
+     * Replaces the contents of this canvas with a copy of {@code other}'s.
+     */
+    public void copyFrom(BufferedCanvas other) {
+        reset();
+
+        code = ensureCapacity(code, other.codeSize);
+        System.arraycopy(other.code, 0, code, 0, other.codeSize);
+        codeSize = other.codeSize;
+
+        doubles = ensureCapacity(doubles, other.doubleSize);
+        System.arraycopy(other.doubles, 0, doubles, 0, other.doubleSize);
+        doubleSize = other.doubleSize;
+
+        if (strings.length < other.stringSize) {
+            strings = Arrays.copyOf(strings, Math.max(other.stringSize, 2 * strings.length));
+        }
+        System.arraycopy(other.strings, 0, strings, 0, other.stringSize);
+        stringSize = other.stringSize;
+
+        setPolylineTolerance(other.getPolylineTolerance());
+    }
+
+    private static int[] ensureCapacity(int[] buffer, int capacity) {
+        if (buffer.length >= capacity) {
+            return buffer;
+        }
+        return Arrays.copyOf(buffer, Math.max(capacity, 2 * buffer.length));
+    }
+
+    private static double[] ensureCapacity(double[] buffer, int capacity) {
+        if (buffer.length >= capacity) {
+            return buffer;
+        }
+        return Arrays.copyOf(buffer, Math.max(capacity, 2 * buffer.length));
+    }
+
+    private void op(int opcode) {
+        code = ensureCapacity(code, codeSize + 1);
+        code[codeSize++] = opcode;
+    }
+
+    private void op(int opcode, int a) {
+        code = ensureCapacity(code, codeSize + 2);
+        code[codeSize++] = opcode;
+        code[codeSize++] = a;
+    }
+
+    private void op(int opcode, int a, int b) {
+        code = ensureCapacity(code, codeSize + 3);
+        code[codeSize++] = opcode;
+        code[codeSize++] = a;
+        code[codeSize++] = b;
+    }
+
+    private void op(int opcode, int a, int b, int c) {
+        code = ensureCapacity(code, codeSize + 4);
+        code[codeSize++] = opcode;
+        code[codeSize++] = a;
+        code[codeSize++] = b;
+        code[codeSize++] = c;
+    }
+
+    private void put(double a) {
+        doubles = ensureCapacity(doubles, doubleSize + 1);
+        doubles[doubleSize++] = a;
+    }
+
+    private void put(double a, double b) {
+        doubles = ensureCapacity(doubles, doubleSize + 2);
+        doubles[doubleSize++] = a;
+        doubles[doubleSize++] = b;
+    }
+
+    private void put(double a, double b, double c) {
+        doubles = ensureCapacity(doubles, doubleSize + 3);
+        doubles[doubleSize++] = a;
+        doubles[doubleSize++] = b;
+        doubles[doubleSize++] = c;
+    }
+
+    private void put(double[] values) {
+        if (values == null) {
+            return;
+        }
+        doubles = ensureCapacity(doubles, doubleSize + values.length);
+        System.arraycopy(values, 0, doubles, doubleSize, values.length);
+        doubleSize += values.length;
+    }
+
+    private void putString(String s) {
+        if (strings.length == stringSize) {
+            strings = Arrays.copyOf(strings, 2 * strings.length);
+        }
+        strings[stringSize++] = s;
+    }
+
+    private static int flag(boolean b) {
+        return b ? 1 : 0;
+    }
+
+    private static int length(double[] values) {
+        return values == null ? -1 : values.length;
+    }
+
+    @Override
+    public Canvas setScale(double scaleX, double scaleY) {
+        op(OP_SCALE);
+        put(scaleX, scaleY);
+        return this;
+    }
+
+    @Override
+    public Canvas setRotation(double radians) {
+        op(OP_ROTATION);
+        put(radians);
+        return this;
+    }
+
+    @Override
+    public Canvas setTranslation(double x, double y) {
+        op(OP_TRANSLATE);
+        put(x, y);
+        return this;
+    }
+
+    @Override
+    public Canvas strokeText(String text, double x, double y, String font, double theta,
+                             boolean usePageFrame) {
+        op(OP_TEXT, 1, flag(usePageFrame));
+        put(x, y, theta);
+        putString(text);
+        putString(font);
+        return this;
+    }
+
+    @Override
+    public Canvas strokeText(String text, double x, double y, String font, double theta) {
+        return strokeText(text, x, y, font, theta, true);
+    }
+
+    @Override
+    public Canvas fillText(String text, double x, double y, String font, double theta,
+                           boolean usePageFrame) {
+        op(OP_TEXT, 0, flag(usePageFrame));
+        put(x, y, theta);
+        putString(text);
+        putString(font);
+        return this;
+    }
+
+    @Override
+    public Canvas fillText(String text, double x, double y, String font, double theta) {
+        return fillText(text, x, y, font, theta, true);
+    }
+
+    @Override
+    public Canvas strokeCircle(double x, double y, double radius) {
+        op(OP_CIRCLE, 1);
+        put(x, y, radius);
+        return this;
+    }
+
+    @Override
+    public Canvas fillCircle(double x, double y, double radius) {
+        op(OP_CIRCLE, 0);
+        put(x, y, radius);
+        return this;
+    }
+
+    @Override
+    public Canvas strokePolygon(double[] xPoints, double[] yPoints) {
+        op(OP_POLYGON, length(xPoints), length(yPoints), 1);
+        put(xPoints);
+        put(yPoints);
+        return this;
+    }
+
+    @Override
+    public Canvas fillPolygon(double[] xPoints, double[] yPoints) {
+        op(OP_POLYGON, length(xPoints), length(yPoints), 0);
+        put(xPoints);
+        put(yPoints);
+        return this;
+    }
+
+    @Override
+    public Canvas strokePolyline(double[] xPoints, double[] yPoints) {
+        int xLength = length(xPoints);
+        int yLength = length(yPoints);
+        // the last operand is the number of doubles the op spans, which stays fixed when the
+        // point counts shrink during simplification
+        op(OP_POLYLINE, xLength, yLength, Math.max(xLength, 0) + Math.max(yLength, 0));
+        put(xPoints);
+        put(yPoints);
+        return this;
+    }
+
+    @Override
+    public Canvas strokeLine(double x1, double y1, double x2, double y2) {
+        op(OP_POLYLINE, 2, 2, 4);
+        put(x1, x2);
+        put(y1, y2);
+        return this;
+    }
+
+    @Override
+    public Canvas fillRect(double x, double y, double width, double height) {
+        op(OP_POLYGON, 4, 4, 0);
+        putRect(x, y, width, height);
+        return this;
+    }
+
+    @Override
+    public Canvas strokeRect(double x, double y, double width, double height) {
+        op(OP_POLYGON, 4, 4, 1);
+        putRect(x, y, width, height);
+        return this;
+    }
+
+    private void putRect(double x, double y, double width, double height) {
+        doubles = ensureCapacity(doubles, doubleSize + 8);
+        doubles[doubleSize++] = x;
+        doubles[doubleSize++] = x + width;
+        doubles[doubleSize++] = x + width;
+        doubles[doubleSize++] = x;
+        doubles[doubleSize++] = y;
+        doubles[doubleSize++] = y;
+        doubles[doubleSize++] = y + height;
+        doubles[doubleSize++] = y + height;
+    }
+
+    @Deprecated
+    @Override
+    public Canvas strokeSpline(double ax, double bx, double cx, double dx, double ex, double fx,
+                               double ay, double by, double cy, double dy, double ey, double fy) {
+        op(OP_SPLINE);
+        put(ax, bx, cx);
+        put(dx, ex, fx);
+        put(ay, by, cy);
+        put(dy, ey, fy);
+        return this;
+    }
+
+    @Override
+    public Canvas setFill(String color) {
+        op(OP_FILL);
+        putString(color);
+        return this;
+    }
+
+    @Override
+    public Canvas setStroke(String color) {
+        op(OP_STROKE);
+        putString(color);
+        return this;
+    }
+
+    @Override
+    public Canvas setStrokeWidth(int width) {
+        op(OP_STROKE_WIDTH, width);
+        return this;
+    }
+
+    @Override
+    public Canvas drawImage(String path, double x, double y, double width, double height) {
+        return drawImage(path, x, y, width, height, 0, 0, 0, true);
+    }
+
+    @Override
+    public Canvas drawImage(String path, double x, double y, double width, double height,
+                            double theta, double pivotX, double pivotY, boolean usePageFrame) {
+        op(OP_IMAGE, flag(usePageFrame));
+        put(x, y);
+        put(width, height);
+        put(theta, pivotX, pivotY);
+        putString(path);
+        return this;
+    }
+
+    @Override
+    public Canvas drawGrid(double x, double y, double width, double height, int numTicksX,
+                           int numTicksY) {
+        return drawGrid(x, y, width, height, numTicksX, numTicksY, 0, 0, 0, true);
+    }
+
+    @Override
+    public Canvas drawGrid(double x, double y, double width, double height, int numTicksX,
+                           int numTicksY, double theta, double pivotX, double pivotY,
+                           boolean usePageFrame) {
+        op(OP_GRID, numTicksX, numTicksY, flag(usePageFrame));
+        put(x, y);
+        put(width, height);
+        put(theta, pivotX, pivotY);
+        return this;
+    }
+
+    @Override
+    public Canvas setAlpha(double alpha) {
+        op(OP_ALPHA);
+        put(alpha);
+        return this;
+    }
+
+    /**
+     * Simplifies the recorded polylines in place.
+     */
+    @Override
+    public void simplifyPolylines() {
+        double tolerance = getPolylineTolerance();
+        if (tolerance <= 0) {
+            return;
+        }
+
+        boolean[] keep = null;
+        double scale = 1.0;
+
+        int pc = 0;
+        int dc = 0;
+        while (pc < codeSize) {
+            int opcode = code[pc];
+            if (opcode == OP_SCALE) {
+                scale = Math.max(Math.abs(doubles[dc]), Math.abs(doubles[dc + 1]));
+            } else if (opcode == OP_POLYLINE) {
+                int n = code[pc + 1];
+                if (n >= 3 && n == code[pc + 2] && scale > 0) {
+                    if (keep == null || keep.length < n) {
+                        keep = new boolean[n];
+                    } else {
+                        Arrays.fill(keep, 0, n, false);
+                    }
+
+                    int kept = PolylineSimplifier.simplify(doubles, dc, doubles, dc + n, n,
+                            tolerance / scale, keep);
+                    if (kept < n) {
+                        // compact x then y; the op keeps its original span
+                        int j = 0;
+                        for (int i = 0; i < n; i++) {
+                            if (keep[i]) {
+                                doubles[dc + j++] = doubles[dc + i];
+                            }
+                        }
+                        for (int i = 0; i < n; i++) {
+                            if (keep[i]) {
+                                doubles[dc + j++] = doubles[dc + n + i];
+                            }
+                        }
+                        code[pc + 1] = kept;
+                        code[pc + 2] = kept;
+                    }
+                }
+            }
+
+            dc += doubleCount(pc);
+            pc += codeLength(opcode);
+        }
+    }
+
+    private static int codeLength(int opcode) {
+        switch (opcode) {
+            case OP_CIRCLE:
+            case OP_STROKE_WIDTH:
+            case OP_IMAGE:
+                return 2;
+            case OP_TEXT:
+                return 3;
+            case OP_GRID:
+            case OP_POLYGON:
+            case OP_POLYLINE:
+                return 4;
+            default:
+                return 1;
+        }
+    }
+
+    private int doubleCount(int pc) {
+        switch (code[pc]) {
+            case OP_GRID:
+            case OP_IMAGE:
+                return 7;
+            case OP_TRANSLATE:
+            case OP_SCALE:
+                return 2;
+            case OP_ROTATION:
+            case OP_ALPHA:
+                return 1;
+            case OP_CIRCLE:
+            case OP_TEXT:
+                return 3;
+            case OP_POLYGON:
+                return Math.max(code[pc + 1], 0) + Math.max(code[pc + 2], 0);
+            case OP_POLYLINE:
+                return code[pc + 3];
+            case OP_SPLINE:
+                return 12;
+            default:
+                return 0;
+        }
+    }
+
+    private static int stringCount(int opcode) {
+        switch (opcode) {
+            case OP_TEXT:
+                return 2;
+            case OP_STROKE:
+            case OP_FILL:
+            case OP_IMAGE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Writes the canvas in the same format as {@link Canvas}, i.e., an object with an
+     * {@code ops} array.
+     */
+    public void write(JsonWriter out) throws IOException {
+        out.beginObject();
+        out.name("ops");
+        out.beginArray();
+
+        int pc = 0;
+        int dc = 0;
+        int sc = 0;
+        while (pc < codeSize) {
+            int opcode = code[pc];
+            double[] d = doubles;
+            switch (opcode) {
+                case OP_GRID:
+                    CanvasJson.writeGrid(out, d[dc], d[dc + 1], d[dc + 2], d[dc + 3],
+                            code[pc + 1], code[pc + 2], d[dc + 4], d[dc + 5], d[dc + 6],
+                            code[pc + 3] != 0);
+                    break;
+                case OP_TRANSLATE:
+                    CanvasJson.writeTranslate(out, d[dc], d[dc + 1]);
+                    break;
+                case OP_ROTATION:
+                    CanvasJson.writeRotation(out, d[dc]);
+                    break;
+                case OP_SCALE:
+                    CanvasJson.writeScale(out, d[dc], d[dc + 1]);
+                    break;
+                case OP_ALPHA:
+                    CanvasJson.writeAlpha(out, d[dc]);
+                    break;
+                case OP_CIRCLE:
+                    CanvasJson.writeCircle(out, d[dc], d[dc + 1], d[dc + 2], code[pc + 1] != 0);
+                    break;
+                case OP_POLYGON: {
+                    int xLength = code[pc + 1];
+                    CanvasJson.writePolygon(out, d, dc, xLength, dc + Math.max(xLength, 0),
+                            code[pc + 2], code[pc + 3] != 0);
+                    break;
+                }
+                case OP_POLYLINE: {
+                    int xLength = code[pc + 1];
+                    CanvasJson.writePolyline(out, d, dc, xLength, dc + Math.max(xLength, 0),
+                            code[pc + 2]);
+                    break;
+                }
+                case OP_SPLINE:
+                    CanvasJson.writeSpline(out, d[dc], d[dc + 1], d[dc + 2], d[dc + 3],
+                            d[dc + 4], d[dc + 5], d[dc + 6], d[dc + 7], d[dc + 8], d[dc + 9],
+                            d[dc + 10], d[dc + 11]);
+                    break;
+                case OP_STROKE:
+                    CanvasJson.writeStroke(out, strings[sc]);
+                    break;
+                case OP_FILL:
+                    CanvasJson.writeFill(out, strings[sc]);
+                    break;
+                case OP_STROKE_WIDTH:
+                    CanvasJson.writeStrokeWidth(out, code[pc + 1]);
+                    break;
+                case OP_TEXT:
+                    CanvasJson.writeText(out, strings[sc], d[dc], d[dc + 1], strings[sc + 1],
+                            d[dc + 2], code[pc + 1] != 0, code[pc + 2] != 0);
+                    break;
+                case OP_IMAGE:
+                    CanvasJson.writeImage(out, strings[sc], d[dc], d[dc + 1], d[dc + 2],
+                            d[dc + 3], d[dc + 4], d[dc + 5], d[dc + 6], code[pc + 1] != 0);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode " + opcode);
+            }
+
+            dc += doubleCount(pc);
+            sc += stringCount(opcode);
+            pc += codeLength(opcode);
+        }
+
+        out.endArray();
+        out.endObject();
+    }
+
+    /**
+     * Materializes the recorded ops as {@link CanvasOp} objects. This allocates and is only
+     * provided for compatibility; modifying the returned list has no effect on the canvas.
+     */
+    @Override
+    public List<CanvasOp> getOperations() {
+        List<CanvasOp> ops = new ArrayList<>();
+
+        int pc = 0;
+        int dc = 0;
+        int sc = 0;
+        while (pc < codeSize) {
+            int opcode = code[pc];
+            double[] d = doubles;
+            switch (opcode) {
+                case OP_GRID:
+                    ops.add(new Grid(d[dc], d[dc + 1], d[dc + 2], d[dc + 3], code[pc + 1],
+                            code[pc + 2], d[dc + 4], d[dc + 5], d[dc + 6], code[pc + 3] != 0));
+                    break;
+                case OP_TRANSLATE:
+                    ops.add(new Translate(d[dc], d[dc + 1]));
+                    break;
+                case OP_ROTATION:
+                    ops.add(new Rotation(d[dc]));
+                    break;
+                case OP_SCALE:
+                    ops.add(new Scale(d[dc], d[dc + 1]));
+                    break;
+                case OP_ALPHA:
+                    ops.add(new Alpha(d[dc]));
+                    break;
+                case OP_CIRCLE:
+                    ops.add(new Circle(d[dc], d[dc + 1], d[dc + 2], code[pc + 1] != 0));
+                    break;
+                case OP_POLYGON: {
+                    int xLength = code[pc + 1];
+                    ops.add(new Polygon(slice(d, dc, xLength),
+                            slice(d, dc + Math.max(xLength, 0), code[pc + 2]),
+                            code[pc + 3] != 0));
+                    break;
+                }
+                case OP_POLYLINE: {
+                    int xLength = code[pc + 1];
+                    ops.add(new Polyline(slice(d, dc, xLength),
+                            slice(d, dc + Math.max(xLength, 0), code[pc + 2])));
+                    break;
+                }
+                case OP_SPLINE:
+                    ops.add(new Spline(d[dc], d[dc + 1], d[dc + 2], d[dc + 3], d[dc + 4],
+                            d[dc + 5], d[dc + 6], d[dc + 7], d[dc + 8], d[dc + 9], d[dc + 10],
+                            d[dc + 11]));
+                    break;
+                case OP_STROKE:
+                    ops.add(new Stroke(strings[sc]));
+                    break;
+                case OP_FILL:
+                    ops.add(new Fill(strings[sc]));
+                    break;
+                case OP_STROKE_WIDTH:
+                    ops.add(new StrokeWidth(code[pc + 1]));
+                    break;
+                case OP_TEXT:
+                    ops.add(new Text(strings[sc], d[dc], d[dc + 1], strings[sc + 1], d[dc + 2],
+                            code[pc + 1] != 0, code[pc + 2] != 0));
+                    break;
+                case OP_IMAGE:
+                    ops.add(new Image(strings[sc], d[dc], d[dc + 1], d[dc + 2], d[dc + 3],
+                            d[dc + 4], d[dc + 5], d[dc + 6], code[pc + 1] != 0));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode " + opcode);
+            }
+
+            dc += doubleCount(pc);
+            sc += stringCount(opcode);
+            pc += codeLength(opcode);
+        }
+
+        return ops;
+    }
+
+    private static double[] slice(double[] values, int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public void clear() {
+        reset();
+    }
+}
@@ -0,0 +1,144 @@
+package com.acmerobotics.dashboard.canvas;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializes {@link BufferedCanvas} directly from its buffers. Reading replays the ops onto a new
+ * canvas; it's only used when round-tripping packets, so it isn't optimized.
+ */
+public class BufferedCanvasAdapter extends TypeAdapter<BufferedCanvas> {
+    @Override
+    public void write(JsonWriter out, BufferedCanvas canvas) throws IOException {
+        if (canvas == null) {
+            out.nullValue();
+            return;
+        }
+
+        canvas.write(out);
+    }
+
+    @Override
+    public BufferedCanvas read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        BufferedCanvas canvas = new BufferedCanvas();
+        JsonElement ops = JsonParser.parseReader(in).getAsJsonObject().get("ops");
+        if (ops == null || ops.isJsonNull()) {
+            return canvas;
+        }
+
+        for (JsonElement op : ops.getAsJsonArray()) {
+            readOp(canvas, op.getAsJsonObject());
+        }
+        return canvas;
+    }
+
+    // spline ops can only be replayed through the deprecated strokeSpline()
+    @SuppressWarnings("deprecation")
+    private static void readOp(BufferedCanvas canvas, JsonObject op) {
+        String type = op.get("type").getAsString();
+        switch (type) {
+            case "grid":
+                canvas.drawGrid(d(op, "x"), d(op, "y"), d(op, "width"), d(op, "height"),
+                        op.get("numTicksX").getAsInt(), op.get("numTicksY").getAsInt(),
+                        d(op, "theta"), d(op, "pivotX"), d(op, "pivotY"),
+                        op.get("usePageFrame").getAsBoolean());
+                break;
+            case "translate":
+                canvas.setTranslation(d(op, "x"), d(op, "y"));
+                break;
+            case "rotation":
+                canvas.setRotation(d(op, "rotation"));
+                break;
+            case "scale":
+                canvas.setScale(d(op, "scaleX"), d(op, "scaleY"));
+                break;
+            case "alpha":
+                canvas.setAlpha(d(op, "alpha"));
+                break;
+            case "circle":
+                if (op.get("stroke").getAsBoolean()) {
+                    canvas.strokeCircle(d(op, "x"), d(op, "y"), d(op, "radius"));
+                } else {
+                    canvas.fillCircle(d(op, "x"), d(op, "y"), d(op, "radius"));
+                }
+                break;
+            case "polygon":
+                if (op.get("stroke").getAsBoolean()) {
+                    canvas.strokePolygon(points(op, "xPoints"), points(op, "yPoints"));
+                } else {
+                    canvas.fillPolygon(points(op, "xPoints"), points(op, "yPoints"));
+                }
+                break;
+            case "polyline":
+                canvas.strokePolyline(points(op, "xPoints"), points(op, "yPoints"));
+                break;
+            case "spline":
+                canvas.strokeSpline(d(op, "ax"), d(op, "bx"), d(op, "cx"), d(op, "dx"),
+                        d(op, "ex"), d(op, "fx"), d(op, "ay"), d(op, "by"), d(op, "cy"),
+                        d(op, "dy"), d(op, "ey"), d(op, "fy"));
+                break;
+            case "stroke":
+                canvas.setStroke(s(op, "color"));
+                break;
+            case "fill":
+                canvas.setFill(s(op, "color"));
+                break;
+            case "strokeWidth":
+                canvas.setStrokeWidth(op.get("width").getAsInt());
+                break;
+            case "text":
+                if (op.get("stroke").getAsBoolean()) {
+                    canvas.strokeText(s(op, "text"), d(op, "x"), d(op, "y"), s(op, "font"),
+                            d(op, "theta"), op.get("usePageFrame").getAsBoolean());
+                } else {
+                    canvas.fillText(s(op, "text"), d(op, "x"), d(op, "y"), s(op, "font"),
+                            d(op, "theta"), op.get("usePageFrame").getAsBoolean());
+                }
+                break;
+            case "image":
+                canvas.drawImage(s(op, "path"), d(op, "x"), d(op, "y"), d(op, "width"),
+                        d(op, "height"), d(op, "theta"), d(op, "pivotX"), d(op, "pivotY"),
+                        op.get("usePageFrame").getAsBoolean());
+                break;
+            default:
+                throw new JsonParseException("Unknown canvas op type " + type);
+        }
+    }
+
+    private static double d(JsonObject op, String name) {
+        return op.get(name).getAsDouble();
+    }
+
+    private static String s(JsonObject op, String name) {
+        JsonElement value = op.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    private static double[] points(JsonObject op, String name) {
+        JsonElement value = op.get(name);
+        if (value == null || value.isJsonNull()) {
+            return null;
+        }
+
+        JsonArray array = value.getAsJsonArray();
+        double[] points = new double[array.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = array.get(i).getAsDouble();
+        }
+        return points;
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 
 public class Canvas {
     private List<CanvasOp> ops;
+    // not part of the wire format
+    private transient double polylineTolerance;
 
     public Canvas() {
         ops = new ArrayList<>();
@@ -137,6 +139,44 @@ public class Canvas {
         return this;
     }
 
+    /**
+     * Sets the tolerance used to simplify polylines before they are sent. Points that lie within
+     * this distance (in field units) of the simplified line are dropped. The simplification runs
+     * on the telemetry thread and only for overlays that are actually transmitted. A tolerance of
+     * zero (the default) disables simplification.
+     */
+    public Canvas setPolylineTolerance(double tolerance) {
+        polylineTolerance = tolerance;
+        return this;
+    }
+
+    public double getPolylineTolerance() {
+        return polylineTolerance;
+    }
+
+    /**
+     * Replaces every polyline with a simplified copy according to
+     * {@link #setPolylineTolerance(double)}. This is called automatically before transmission.
+     */
+    public void simplifyPolylines() {
+        if (polylineTolerance <= 0) {
+            return;
+        }
+
+        // the tolerance is in field units while points are in user units, so account for the
+        // current scale (the larger axis is conservative for non-uniform scales)
+        double scale = 1.0;
+        for (int i = 0; i < ops.size(); i++) {
+            CanvasOp op = ops.get(i);
+            if (op instanceof Scale) {
+                Scale scaleOp = (Scale) op;
+                scale = Math.max(Math.abs(scaleOp.getScaleX()), Math.abs(scaleOp.getScaleY()));
+            } else if (op instanceof Polyline && scale > 0) {
+                ops.set(i, ((Polyline) op).simplify(polylineTolerance / scale));
+            }
+        }
+    }
+
     public List<CanvasOp> getOperations() {
         return ops;
     }
@@ -0,0 +1,261 @@
+package com.acmerobotics.dashboard.canvas;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming writers for canvas ops. The output matches the reflective serialization of the
+ * {@link CanvasOp} subclasses field for field (subclass fields first, then {@code type}).
+ */
+final class CanvasJson {
+    private CanvasJson() {}
+
+    static void writeDouble(JsonWriter out, double value) throws IOException {
+        // mirror Gson's check since the writer is lenient inside Gson.toJson()
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(value
+                    + " is not a valid double value as per JSON specification. To override this"
+                    + " behavior, use GsonBuilder.serializeSpecialFloatingPointValues() method.");
+        }
+        out.value(value);
+    }
+
+    static void writeDoubles(JsonWriter out, double[] values, int offset, int length)
+            throws IOException {
+        if (length < 0) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        for (int i = offset; i < offset + length; i++) {
+            writeDouble(out, values[i]);
+        }
+        out.endArray();
+    }
+
+    static void writeDoubles(JsonWriter out, double[] values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+
+        writeDoubles(out, values, 0, values.length);
+    }
+
+    private static void endOp(JsonWriter out, String type) throws IOException {
+        out.name("type").value(type);
+        out.endObject();
+    }
+
+    static void writeGrid(JsonWriter out, double x, double y, double width, double height,
+                          int numTicksX, int numTicksY, double theta, double pivotX,
+                          double pivotY, boolean usePageFrame) throws IOException {
+        out.beginObject();
+        out.name("x");
+        writeDouble(out, x);
+        out.name("y");
+        writeDouble(out, y);
+        out.name("width");
+        writeDouble(out, width);
+        out.name("height");
+        writeDouble(out, height);
+        out.name("numTicksX").value(numTicksX);
+        out.name("numTicksY").value(numTicksY);
+        out.name("theta");
+        writeDouble(out, theta);
+        out.name("pivotX");
+        writeDouble(out, pivotX);
+        out.name("pivotY");
+        writeDouble(out, pivotY);
+        out.name("usePageFrame").value(usePageFrame);
+        endOp(out, "grid");
+    }
+
+    static void writeTranslate(JsonWriter out, double x, double y) throws IOException {
+        out.beginObject();
+        out.name("x");
+        writeDouble(out, x);
+        out.name("y");
+        writeDouble(out, y);
+        endOp(out, "translate");
+    }
+
+    static void writeRotation(JsonWriter out, double rotation) throws IOException {
+        out.beginObject();
+        out.name("rotation");
+        writeDouble(out, rotation);
+        endOp(out, "rotation");
+    }
+
+    static void writeScale(JsonWriter out, double scaleX, double scaleY) throws IOException {
+        out.beginObject();
+        out.name("scaleX");
+        writeDouble(out, scaleX);
+        out.name("scaleY");
+        writeDouble(out, scaleY);
+        endOp(out, "scale");
+    }
+
+    static void writeAlpha(JsonWriter out, double alpha) throws IOException {
+        out.beginObject();
+        out.name("alpha");
+        writeDouble(out, alpha);
+        endOp(out, "alpha");
+    }
+
+    static void writeCircle(JsonWriter out, double x, double y, double radius, boolean stroke)
+            throws IOException {
+        out.beginObject();
+        out.name("x");
+        writeDouble(out, x);
+        out.name("y");
+        writeDouble(out, y);
+        out.name("radius");
+        writeDouble(out, radius);
+        out.name("stroke").value(stroke);
+        endOp(out, "circle");
+    }
+
+    /**
+     * Writes a polygon whose points are stored in {@code points}; a negative length stands for a
+     * null array.
+     */
+    static void writePolygon(JsonWriter out, double[] points, int xOffset, int xLength,
+                             int yOffset, int yLength, boolean stroke) throws IOException {
+        out.beginObject();
+        out.name("xPoints");
+        writeDoubles(out, points, xOffset, xLength);
+        out.name("yPoints");
+        writeDoubles(out, points, yOffset, yLength);
+        out.name("stroke").value(stroke);
+        endOp(out, "polygon");
+    }
+
+    static void writePolygon(JsonWriter out, double[] xPoints, double[] yPoints, boolean stroke)
+            throws IOException {
+        out.beginObject();
+        out.name("xPoints");
+        writeDoubles(out, xPoints);
+        out.name("yPoints");
+        writeDoubles(out, yPoints);
+        out.name("stroke").value(stroke);
+        endOp(out, "polygon");
+    }
+
+    /**
+     * Writes a polyline whose points are stored in {@code points}; a negative length stands for a
+     * null array.
+     */
+    static void writePolyline(JsonWriter out, double[] points, int xOffset, int xLength,
+                              int yOffset, int yLength) throws IOException {
+        out.beginObject();
+        out.name("xPoints");
+        writeDoubles(out, points, xOffset, xLength);
+        out.name("yPoints");
+        writeDoubles(out, points, yOffset, yLength);
+        endOp(out, "polyline");
+    }
+
+    static void writePolyline(JsonWriter out, double[] xPoints, double[] yPoints)
+            throws IOException {
+        out.beginObject();
+        out.name("xPoints");
+        writeDoubles(out, xPoints);
+        out.name("yPoints");
+        writeDoubles(out, yPoints);
+        endOp(out, "polyline");
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    static void writeSpline(JsonWriter out,
+                            double ax, double bx, double cx, double dx, double ex, double fx,
+                            double ay, double by, double cy, double dy, double ey, double fy)
+            throws IOException {
+        out.beginObject();
+        out.name("ax");
+        writeDouble(out, ax);
+        out.name("bx");
+        writeDouble(out, bx);
+        out.name("cx");
+        writeDouble(out, cx);
+        out.name("dx");
+        writeDouble(out, dx);
+        out.name("ex");
+        writeDouble(out, ex);
+        out.name("fx");
+        writeDouble(out, fx);
+        out.name("ay");
+        writeDouble(out, ay);
+        out.name("by");
+        writeDouble(out, by);
+        out.name("cy");
+        writeDouble(out, cy);
+        out.name("dy");
+        writeDouble(out, dy);
+        out.name("ey");
+        writeDouble(out, ey);
+        out.name("fy");
+        writeDouble(out, fy);
+        endOp(out, "spline");
+    }
+
+    static void writeStroke(JsonWriter out, String color) throws IOException {
+        out.beginObject();
+        out.name("color").value(color);
+        endOp(out, "stroke");
+    }
+
+    static void writeFill(JsonWriter out, String color) throws IOException {
+        out.beginObject();
+        out.name("color").value(color);
+        endOp(out, "fill");
+    }
+
+    static void writeStrokeWidth(JsonWriter out, int width) throws IOException {
+        out.beginObject();
+        out.name("width").value(width);
+        endOp(out, "strokeWidth");
+    }
+
+    static void writeText(JsonWriter out, String text, double x, double y, String font,
+                          double theta, boolean stroke, boolean usePageFrame)
+            throws IOException {
+        out.beginObject();
+        out.name("text").value(text);
+        out.name("x");
+        writeDouble(out, x);
+        out.name("y");
+        writeDouble(out, y);
+        out.name("font").value(font);
+        out.name("theta");
+        writeDouble(out, theta);
+        out.name("stroke").value(stroke);
+        out.name("usePageFrame").value(usePageFrame);
+        endOp(out, "text");
+    }
+
+    static void writeImage(JsonWriter out, String path, double x, double y, double width,
+                           double height, double theta, double pivotX, double pivotY,
+                           boolean usePageFrame) throws IOException {
+        out.beginObject();
+        out.name("path").value(path);
+        out.name("x");
+        writeDouble(out, x);
+        out.name("y");
+        writeDouble(out, y);
+        out.name("width");
+        writeDouble(out, width);
+        out.name("height");
+        writeDouble(out, height);
+        out.name("theta");
+        writeDouble(out, theta);
+        out.name("pivotX");
+        writeDouble(out, pivotX);
+        out.name("pivotY");
+        writeDouble(out, pivotY);
+        out.name("usePageFrame").value(usePageFrame);
+        endOp(out, "image");
+    }
+}
@@ -1,6 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 public abstract class CanvasOp {
     public enum Type {
@@ -53,4 +56,12 @@ public abstract class CanvasOp {
     public CanvasOp(Type type) {
         this.type = type;
     }
+
+    /**
+     * Writes this op without going through reflection. Ops defined outside this package return
+     * false and are serialized reflectively instead.
+     */
+    boolean writeJson(JsonWriter out) throws IOException {
+        return false;
+    }
 }
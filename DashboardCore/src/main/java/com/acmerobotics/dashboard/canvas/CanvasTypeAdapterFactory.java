@@ -0,0 +1,104 @@
+package com.acmerobotics.dashboard.canvas;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming adapters for {@link Canvas} and the built-in {@link CanvasOp} types. These produce the
+ * same JSON as Gson's reflective adapter without walking fields reflectively, which is
+ * noticeably slower on ART. Ops defined elsewhere fall back to the reflective adapter.
+ */
+public class CanvasTypeAdapterFactory implements TypeAdapterFactory {
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Canvas.class) {
+            return (TypeAdapter<T>) new CanvasAdapter(gson.getAdapter(CanvasOp.class),
+                    (TypeAdapter<Canvas>) gson.getDelegateAdapter(this, type));
+        } else if (CanvasOp.class.isAssignableFrom(rawType)) {
+            return (TypeAdapter<T>) new CanvasOpAdapter(gson, this,
+                    (TypeAdapter<CanvasOp>) gson.getDelegateAdapter(this, type));
+        }
+        return null;
+    }
+
+    private static class CanvasAdapter extends TypeAdapter<Canvas> {
+        private final TypeAdapter<CanvasOp> opAdapter;
+        private final TypeAdapter<Canvas> delegate;
+
+        CanvasAdapter(TypeAdapter<CanvasOp> opAdapter, TypeAdapter<Canvas> delegate) {
+            this.opAdapter = opAdapter;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(JsonWriter out, Canvas canvas) throws IOException {
+            if (canvas == null) {
+                out.nullValue();
+                return;
+            }
+
+            List<CanvasOp> ops = canvas.getOperations();
+
+            out.beginObject();
+            out.name("ops");
+            if (ops == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                // index loop to avoid allocating an iterator
+                for (int i = 0; i < ops.size(); i++) {
+                    opAdapter.write(out, ops.get(i));
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Canvas read(JsonReader in) throws IOException {
+            return delegate.read(in);
+        }
+    }
+
+    private static class CanvasOpAdapter extends TypeAdapter<CanvasOp> {
+        private final Gson gson;
+        private final TypeAdapterFactory skipPast;
+        private final TypeAdapter<CanvasOp> delegate;
+
+        CanvasOpAdapter(Gson gson, TypeAdapterFactory skipPast, TypeAdapter<CanvasOp> delegate) {
+            this.gson = gson;
+            this.skipPast = skipPast;
+            this.delegate = delegate;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void write(JsonWriter out, CanvasOp op) throws IOException {
+            if (op == null) {
+                out.nullValue();
+                return;
+            }
+
+            if (!op.writeJson(out)) {
+                // the declared type may be a supertype, so resolve the runtime type here
+                TypeAdapter<CanvasOp> runtimeDelegate = (TypeAdapter<CanvasOp>)
+                        gson.getDelegateAdapter(skipPast, TypeToken.get(op.getClass()));
+                runtimeDelegate.write(out, op);
+            }
+        }
+
+        @Override
+        public CanvasOp read(JsonReader in) throws IOException {
+            return delegate.read(in);
+        }
+    }
+}
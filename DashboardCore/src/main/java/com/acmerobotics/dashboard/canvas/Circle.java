@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Circle extends CanvasOp {
     private double x;
     private double y;
@@ -14,4 +18,10 @@ public class Circle extends CanvasOp {
         this.radius = radius;
         this.stroke = stroke;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeCircle(out, x, y, radius, stroke);
+        return true;
+    }
 }
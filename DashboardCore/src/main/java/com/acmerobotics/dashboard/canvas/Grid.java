@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Grid extends CanvasOp {
 
     private double x, y;
@@ -22,4 +26,11 @@ public class Grid extends CanvasOp {
         this.pivotY = pivotY;
         this.usePageFrame = usePageFrame;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeGrid(out, x, y, width, height, numTicksX, numTicksY, theta, pivotX,
+                pivotY, usePageFrame);
+        return true;
+    }
 }
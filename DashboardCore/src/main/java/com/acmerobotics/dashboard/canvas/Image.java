@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Image extends CanvasOp {
 
     private String path;
@@ -21,4 +25,11 @@ public class Image extends CanvasOp {
         this.pivotY = pivotY;
         this.usePageFrame = usePageFrame;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeImage(out, path, x, y, width, height, theta, pivotX, pivotY,
+                usePageFrame);
+        return true;
+    }
 }
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Polygon extends CanvasOp {
     private double[] xPoints;
     private double[] yPoints;
@@ -12,4 +16,10 @@ public class Polygon extends CanvasOp {
         this.yPoints = yPoints;
         this.stroke = stroke;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writePolygon(out, xPoints, yPoints, stroke);
+        return true;
+    }
 }
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Polyline extends CanvasOp {
     private double[] xPoints;
     private double[] yPoints;
@@ -10,4 +14,44 @@ public class Polyline extends CanvasOp {
         this.xPoints = xPoints;
         this.yPoints = yPoints;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writePolyline(out, xPoints, yPoints);
+        return true;
+    }
+
+    /**
+     * Returns a simplified copy of this polyline or this polyline if no points can be removed.
+     * The point arrays are never modified since they may be shared with op mode code.
+     */
+    Polyline simplify(double tolerance) {
+        if (xPoints == null || yPoints == null) {
+            return this;
+        }
+
+        int n = Math.min(xPoints.length, yPoints.length);
+        if (n < 3) {
+            return this;
+        }
+
+        boolean[] keep = new boolean[n];
+        int kept = PolylineSimplifier.simplify(xPoints, 0, yPoints, 0, n, tolerance, keep);
+        if (kept == n) {
+            return this;
+        }
+
+        double[] newXPoints = new double[kept];
+        double[] newYPoints = new double[kept];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                newXPoints[j] = xPoints[i];
+                newYPoints[j] = yPoints[i];
+                j++;
+            }
+        }
+
+        return new Polyline(newXPoints, newYPoints);
+    }
 }
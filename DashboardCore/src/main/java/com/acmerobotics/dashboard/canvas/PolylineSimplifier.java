@@ -0,0 +1,95 @@
+package com.acmerobotics.dashboard.canvas;
+
+/**
+ * Douglas-Peucker polyline simplification.
+ */
+final class PolylineSimplifier {
+    private PolylineSimplifier() {}
+
+    /**
+     * Marks the points to keep so that no removed point lies farther than {@code tolerance} from
+     * the simplified line. The endpoints are always kept. {@code keep} must be cleared and hold
+     * at least {@code n} entries.
+     *
+     * @return number of points kept
+     */
+    static int simplify(double[] xPoints, int xOffset, double[] yPoints, int yOffset, int n,
+                        double tolerance, boolean[] keep) {
+        if (n < 3) {
+            for (int i = 0; i < n; i++) {
+                keep[i] = true;
+            }
+            return n;
+        }
+
+        double toleranceSq = tolerance * tolerance;
+
+        keep[0] = true;
+        keep[n - 1] = true;
+        int kept = 2;
+
+        // explicit stack of [start, end] index pairs; recursion would overflow on long paths
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+
+            double ax = xPoints[xOffset + start];
+            double ay = yPoints[yOffset + start];
+            double dx = xPoints[xOffset + end] - ax;
+            double dy = yPoints[yOffset + end] - ay;
+            double lenSq = dx * dx + dy * dy;
+
+            double maxDistSq = -1;
+            int maxIndex = -1;
+            for (int i = start + 1; i < end; i++) {
+                double px = xPoints[xOffset + i] - ax;
+                double py = yPoints[yOffset + i] - ay;
+
+                double distSq;
+                if (lenSq == 0) {
+                    distSq = px * px + py * py;
+                } else {
+                    double t = (px * dx + py * dy) / lenSq;
+                    if (t <= 0) {
+                        distSq = px * px + py * py;
+                    } else if (t >= 1) {
+                        double ex = px - dx;
+                        double ey = py - dy;
+                        distSq = ex * ex + ey * ey;
+                    } else {
+                        double cross = px * dy - py * dx;
+                        distSq = cross * cross / lenSq;
+                    }
+                }
+
+                if (distSq > maxDistSq) {
+                    maxDistSq = distSq;
+                    maxIndex = i;
+                }
+            }
+
+            if (maxIndex != -1 && maxDistSq > toleranceSq) {
+                keep[maxIndex] = true;
+                kept++;
+
+                if (top + 4 > stack.length) {
+                    int[] newStack = new int[stack.length * 2];
+                    System.arraycopy(stack, 0, newStack, 0, top);
+                    stack = newStack;
+                }
+
+                stack[top++] = start;
+                stack[top++] = maxIndex;
+                stack[top++] = maxIndex;
+                stack[top++] = end;
+            }
+        }
+
+        return kept;
+    }
+}
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Rotation extends CanvasOp {
     private double rotation;
     public Rotation(double radians) {
@@ -7,4 +11,10 @@ public class Rotation extends CanvasOp {
 
         this.rotation = radians;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeRotation(out, rotation);
+        return true;
+    }
 }
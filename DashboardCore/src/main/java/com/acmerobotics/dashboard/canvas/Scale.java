@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Scale extends CanvasOp {
     private double scaleX;
     private double scaleY;
@@ -10,4 +14,18 @@ public class Scale extends CanvasOp {
         this.scaleX = scaleX;
         this.scaleY = scaleY;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeScale(out, scaleX, scaleY);
+        return true;
+    }
+
+    double getScaleX() {
+        return scaleX;
+    }
+
+    double getScaleY() {
+        return scaleY;
+    }
 }
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 @SuppressWarnings({"checkstyle:MultipleVariableDeclarations", "checkstyle:EmptyLineSeparator"})
 public class Spline extends CanvasOp {
     private double ax, bx, cx, dx, ex, fx;
@@ -23,4 +27,10 @@ public class Spline extends CanvasOp {
         this.ey = ey;
         this.fy = fy;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeSpline(out, ax, bx, cx, dx, ex, fx, ay, by, cy, dy, ey, fy);
+        return true;
+    }
 }
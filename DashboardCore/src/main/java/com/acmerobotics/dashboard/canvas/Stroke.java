@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Stroke extends CanvasOp {
     private String color;
 
@@ -8,4 +12,10 @@ public class Stroke extends CanvasOp {
 
         this.color = color;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeStroke(out, color);
+        return true;
+    }
 }
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class StrokeWidth extends CanvasOp {
     private int width;
 
@@ -8,4 +12,10 @@ public class StrokeWidth extends CanvasOp {
 
         this.width = width;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeStrokeWidth(out, width);
+        return true;
+    }
 }
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Text extends CanvasOp {
     private String text;
     private double x;
@@ -19,4 +23,10 @@ public class Text extends CanvasOp {
         this.stroke = stroke;
         this.usePageFrame = usePageFrame;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeText(out, text, x, y, font, theta, stroke, usePageFrame);
+        return true;
+    }
 }
@@ -1,5 +1,9 @@
 package com.acmerobotics.dashboard.canvas;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class Translate extends CanvasOp {
     private double x;
     private double y;
@@ -9,4 +13,10 @@ public class Translate extends CanvasOp {
         this.x = x;
         this.y = y;
     }
+
+    @Override
+    boolean writeJson(JsonWriter out) throws IOException {
+        CanvasJson.writeTranslate(out, x, y);
+        return true;
+    }
 }
@@ -0,0 +1,268 @@
+package com.acmerobotics.dashboard.config;
+
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Difference between two serialized config trees. Changed variables are kept in a tree of the same
+ * shape as the input containing only the custom variables on the path to each change; removed
+ * variables are listed by path. Arrays of which at most half of the elements changed are sent as
+ * updates of those elements.
+ */
+public final class ConfigDiff {
+    // serialized name of VariableType.CUSTOM
+    private static final String CUSTOM_TYPE = "custom";
+    // serialized name of VariableType.ARRAY
+    private static final String ARRAY_TYPE = "array";
+
+    private final JsonElement changed;
+    private final List<List<String>> removed;
+
+    private ConfigDiff(JsonElement changed, List<List<String>> removed) {
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    /**
+     * Computes the difference from {@code before} to {@code after}.
+     */
+    public static ConfigDiff between(JsonElement before, JsonElement after) {
+        List<List<String>> removed = new ArrayList<>();
+        JsonElement changed = diff(before, after, new ArrayList<>(), removed);
+        return new ConfigDiff(changed, removed);
+    }
+
+    /**
+     * Returns true if the trees are identical.
+     */
+    public boolean isEmpty() {
+        return changed == null && removed.isEmpty();
+    }
+
+    /**
+     * Returns the tree of changed variables; an empty custom variable if there are none.
+     */
+    public JsonElement getChanged() {
+        if (changed == null) {
+            JsonObject empty = new JsonObject();
+            empty.addProperty(ConfigVariable.TYPE_KEY, CUSTOM_TYPE);
+            empty.add(ConfigVariable.VALUE_KEY, new JsonObject());
+            return empty;
+        }
+        return changed;
+    }
+
+    public List<List<String>> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * Returns true if this diff changes or removes any variable in {@code update}, a serialized
+     * tree of the same shape as the compared trees.
+     */
+    public boolean conflictsWith(JsonElement update) {
+        for (List<String> path : removed) {
+            if (contains(update, path)) {
+                return true;
+            }
+        }
+
+        return overlaps(changed, update);
+    }
+
+    /**
+     * Returns true if two serialized updates change a common variable.
+     */
+    public static boolean overlap(JsonElement update, JsonElement otherUpdate) {
+        return overlaps(update, otherUpdate);
+    }
+
+    private static boolean contains(JsonElement tree, List<String> path) {
+        JsonElement node = tree;
+        for (String key : path) {
+            JsonObject children = customChildren(node);
+            if (children == null) {
+                return false;
+            }
+
+            node = children.get(key);
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean overlaps(JsonElement changed, JsonElement update) {
+        if (changed == null || update == null) {
+            return false;
+        }
+
+        JsonObject changedChildren = customChildren(changed);
+        JsonObject updateChildren = customChildren(update);
+        if (changedChildren == null || updateChildren == null) {
+            JsonObject changedUpdates = arrayUpdates(changed);
+            JsonObject updateUpdates = arrayUpdates(update);
+            if (changedUpdates == null || updateUpdates == null) {
+                // at least one side replaces the whole variable
+                return true;
+            }
+
+            // element updates only conflict if they share an index
+            for (String index : updateUpdates.keySet()) {
+                if (changedUpdates.has(index)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (Map.Entry<String, JsonElement> entry : updateChildren.entrySet()) {
+            if (overlaps(changedChildren.get(entry.getKey()), entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static JsonObject customChildren(JsonElement var) {
+        if (var == null || !var.isJsonObject()) {
+            return null;
+        }
+
+        JsonObject obj = var.getAsJsonObject();
+        JsonElement type = obj.get(ConfigVariable.TYPE_KEY);
+        JsonElement value = obj.get(ConfigVariable.VALUE_KEY);
+        if (type == null || !CUSTOM_TYPE.equals(type.getAsString())
+                || value == null || !value.isJsonObject()) {
+            return null;
+        }
+        return value.getAsJsonObject();
+    }
+
+    private static JsonObject arrayUpdates(JsonElement var) {
+        if (var == null || !var.isJsonObject()) {
+            return null;
+        }
+
+        JsonElement updates = var.getAsJsonObject().get(ConfigVariable.UPDATES_KEY);
+        return updates != null && updates.isJsonObject() ? updates.getAsJsonObject() : null;
+    }
+
+    private static JsonArray arrayElements(JsonElement var) {
+        if (var == null || !var.isJsonObject()) {
+            return null;
+        }
+
+        JsonObject obj = var.getAsJsonObject();
+        JsonElement type = obj.get(ConfigVariable.TYPE_KEY);
+        JsonElement value = obj.get(ConfigVariable.VALUE_KEY);
+        if (type == null || !ARRAY_TYPE.equals(type.getAsString())
+                || value == null || !value.isJsonArray()) {
+            return null;
+        }
+        return value.getAsJsonArray();
+    }
+
+    // Returns the update of the changed elements if the arrays hold the same kind and number of
+    // elements and sending the changes is smaller than sending the whole array.
+    private static JsonElement arrayDiff(JsonElement before, JsonElement after) {
+        JsonArray beforeElements = arrayElements(before);
+        JsonArray afterElements = arrayElements(after);
+        if (beforeElements == null || afterElements == null
+                || beforeElements.size() != afterElements.size()) {
+            return null;
+        }
+
+        JsonObject beforeObj = before.getAsJsonObject();
+        JsonObject afterObj = after.getAsJsonObject();
+        if (!Objects.equals(beforeObj.get(ConfigVariable.ELEMENT_TYPE_KEY),
+                afterObj.get(ConfigVariable.ELEMENT_TYPE_KEY))
+                || !Objects.equals(beforeObj.get(ConfigVariable.ENUM_CLASS_KEY),
+                afterObj.get(ConfigVariable.ENUM_CLASS_KEY))) {
+            return null;
+        }
+
+        int length = afterElements.size();
+        JsonObject updates = new JsonObject();
+        for (int i = 0; i < length; i++) {
+            if (!afterElements.get(i).equals(beforeElements.get(i))) {
+                if ((updates.size() + 1) * 2 > length) {
+                    return null;
+                }
+                updates.add(String.valueOf(i), afterElements.get(i));
+            }
+        }
+
+        JsonObject changed = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : afterObj.entrySet()) {
+            if (!entry.getKey().equals(ConfigVariable.VALUE_KEY)) {
+                changed.add(entry.getKey(), entry.getValue());
+            }
+        }
+        changed.addProperty(ConfigVariable.LENGTH_KEY, length);
+        changed.add(ConfigVariable.UPDATES_KEY, updates);
+        return changed;
+    }
+
+    private static JsonElement diff(JsonElement before, JsonElement after, List<String> path,
+                                    List<List<String>> removed) {
+        if (before == after) {
+            // unchanged subtrees are shared between trees from ConfigTreeCache
+            return null;
+        }
+
+        JsonObject beforeChildren = customChildren(before);
+        JsonObject afterChildren = customChildren(after);
+        if (beforeChildren == null || afterChildren == null) {
+            // leaves and custom variables that became (or stopped being) null are sent whole
+            if (after.equals(before)) {
+                return null;
+            }
+            JsonElement arrayDiff = arrayDiff(before, after);
+            return arrayDiff != null ? arrayDiff : after;
+        }
+
+        JsonObject changedChildren = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : afterChildren.entrySet()) {
+            JsonElement beforeChild = beforeChildren.get(entry.getKey());
+            if (beforeChild == null) {
+                changedChildren.add(entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            path.add(entry.getKey());
+            JsonElement childDiff = diff(beforeChild, entry.getValue(), path, removed);
+            path.remove(path.size() - 1);
+
+            if (childDiff != null) {
+                changedChildren.add(entry.getKey(), childDiff);
+            }
+        }
+
+        for (Map.Entry<String, JsonElement> entry : beforeChildren.entrySet()) {
+            if (!afterChildren.has(entry.getKey())) {
+                List<String> removedPath = new ArrayList<>(path);
+                removedPath.add(entry.getKey());
+                removed.add(removedPath);
+            }
+        }
+
+        if (changedChildren.size() == 0) {
+            return null;
+        }
+
+        JsonObject changed = new JsonObject();
+        changed.addProperty(ConfigVariable.TYPE_KEY, CUSTOM_TYPE);
+        changed.add(ConfigVariable.VALUE_KEY, changedChildren);
+        return changed;
+    }
+}
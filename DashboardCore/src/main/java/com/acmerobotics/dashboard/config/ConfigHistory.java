@@ -0,0 +1,61 @@
+package com.acmerobotics.dashboard.config;
+
+/**
+ * Serialized config trees of the latest revisions. Instances are immutable: adding a revision
+ * returns a new history that shares the retained trees, so readers can use a published history
+ * without locking while a writer prepares the next one.
+ */
+public final class ConfigHistory {
+    private final long revision;
+    // trees[i] is the tree of revision (revision - i)
+    private final SerializedConfig[] trees;
+    private final int capacity;
+
+    private ConfigHistory(long revision, SerializedConfig[] trees, int capacity) {
+        this.revision = revision;
+        this.trees = trees;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns an empty history at revision zero that retains the latest {@code capacity} trees.
+     */
+    public static ConfigHistory empty(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        return new ConfigHistory(0, new SerializedConfig[0], capacity);
+    }
+
+    /**
+     * Returns a history with {@code config} as the next revision.
+     */
+    public ConfigHistory add(SerializedConfig config) {
+        SerializedConfig[] next = new SerializedConfig[Math.min(trees.length + 1, capacity)];
+        next[0] = config;
+        System.arraycopy(trees, 0, next, 1, next.length - 1);
+        return new ConfigHistory(revision + 1, next, capacity);
+    }
+
+    /**
+     * Returns the latest revision; zero if nothing has been added.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns the tree of the latest revision or null if nothing has been added.
+     */
+    public SerializedConfig getLatest() {
+        return trees.length == 0 ? null : trees[0];
+    }
+
+    /**
+     * Returns the tree of {@code revision} or null if it is no longer (or not yet) retained.
+     */
+    public SerializedConfig get(long revision) {
+        long age = this.revision - revision;
+        return age >= 0 && age < trees.length ? trees[(int) age] : null;
+    }
+}
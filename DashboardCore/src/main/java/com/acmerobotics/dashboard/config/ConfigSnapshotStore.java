@@ -0,0 +1,548 @@
+package com.acmerobotics.dashboard.config;
+
+import com.acmerobotics.dashboard.config.variable.ArrayVariable;
+import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Persists the config values saved from clients so they survive app restarts, along with named
+ * snapshots of the whole config tree. Values are stored as serialized config trees and are
+ * restored into variables as they're registered. Writes of the saved values are debounced, and
+ * every file is replaced atomically. Thread-safe.
+ *
+ * <p>File format: {@code {"version": 1, "config": <serialized config tree>}}
+ */
+public final class ConfigSnapshotStore {
+    private static final int VERSION = 1;
+    private static final String VERSION_KEY = "version";
+    private static final String CONFIG_KEY = "config";
+
+    // serialized name of VariableType.CUSTOM
+    private static final String CUSTOM_TYPE = "custom";
+
+    private static final String SAVED_FILE_NAME = "config.json";
+    private static final String SNAPSHOT_DIR_NAME = "snapshots";
+    private static final String SNAPSHOT_EXTENSION = ".json";
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("[A-Za-z0-9 _-]{1,64}");
+
+    /*
+     * Saved values are written this long after the last save from a client.
+     */
+    private static final long WRITE_DELAY = 1000; // ms
+
+    /**
+     * Receives failures to read or write the saved values. Those happen in the background, so
+     * there's no caller to throw to.
+     */
+    public interface ErrorListener {
+        void onError(IOException e);
+    }
+
+    private final File savedFile;
+    private final File snapshotDir;
+    private final Gson gson;
+    private final ErrorListener errorListener;
+
+    // values saved from clients
+    private JsonObject saved;
+    // saved values whose variables haven't been registered yet
+    private JsonObject pending;
+
+    private final ScheduledExecutorService writeExecutor =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "dash config snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private boolean writeScheduled;
+    private long writeDeadline; // ms
+    // incremented on every change to the saved values
+    private long savedVersion;
+    private long writtenVersion; // guarded by savedFile
+    private boolean closed;
+    // last failure to read or write the saved values; cleared once they're written
+    private volatile IOException lastError;
+
+    /**
+     * Creates a store in {@code directory} and reads the values saved by the previous run.
+     */
+    public ConfigSnapshotStore(File directory, Gson gson) {
+        this(directory, gson, null);
+    }
+
+    /**
+     * Creates a store in {@code directory} and reads the values saved by the previous run. If
+     * they can't be read, the store starts empty; the failure is kept for {@link #getLastError()}
+     * but isn't passed to {@code errorListener}.
+     */
+    public ConfigSnapshotStore(File directory, Gson gson, ErrorListener errorListener) {
+        this.savedFile = new File(directory, SAVED_FILE_NAME);
+        this.snapshotDir = new File(directory, SNAPSHOT_DIR_NAME);
+        this.gson = gson;
+        this.errorListener = errorListener;
+
+        JsonObject config = null;
+        if (savedFile.exists()) {
+            try {
+                config = read(savedFile);
+            } catch (IOException e) {
+                // start over rather than fail to start
+                lastError = new IOException("Unable to read saved config values: "
+                        + e.getMessage(), e);
+            }
+        }
+        saved = config == null ? emptyTree() : config;
+        pending = saved.deepCopy();
+    }
+
+    /**
+     * Applies the saved values of the variables in {@code root} that haven't received them yet.
+     * Call whenever variables are registered.
+     */
+    public synchronized void restore(CustomVariable root) {
+        apply(root, pending, gson);
+    }
+
+    /**
+     * Records values saved from a client and schedules writing them.
+     *
+     * @param configDiff serialized tree of the saved variables
+     */
+    public synchronized void recordSave(JsonElement configDiff) {
+        merge(saved, configDiff);
+        // a value saved by a client replaces one that is waiting for its variable
+        prune(pending, configDiff);
+        scheduleWrite();
+    }
+
+    /**
+     * Serializes every value in {@code root} for a snapshot. Unlike the tree sent to clients, this
+     * includes the values of nested objects that no client has expanded, without expanding them.
+     */
+    public static JsonElement serializeAll(CustomVariable root, Gson gson) {
+        return gson.toJsonTree(expand(root));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CustomVariable expand(CustomVariable variable) {
+        Map<String, ConfigVariable> children = variable instanceof LazyCustomVariable
+                ? ((LazyCustomVariable) variable).peekVariables()
+                : (Map<String, ConfigVariable>) variable.getValue();
+        if (children == null) {
+            return new CustomVariable(null);
+        }
+
+        Map<String, ConfigVariable> expanded = new HashMap<>();
+        for (Map.Entry<String, ConfigVariable> entry : children.entrySet()) {
+            ConfigVariable child = entry.getValue();
+            expanded.put(entry.getKey(),
+                    child instanceof CustomVariable ? expand((CustomVariable) child) : child);
+        }
+        return new CustomVariable(expanded);
+    }
+
+    /**
+     * Writes the values in {@code config}, usually from {@link #serializeAll(CustomVariable, Gson)},
+     * as the named snapshot.
+     */
+    public void saveSnapshot(String name, JsonElement config) throws IOException {
+        if (!snapshotDir.isDirectory() && !snapshotDir.mkdirs()) {
+            throw new IOException("Unable to create " + snapshotDir);
+        }
+        writeAtomically(snapshotFile(name), serialize(config));
+    }
+
+    /**
+     * Reads the named snapshot for {@link #restoreSnapshot(JsonObject, CustomVariable)}.
+     */
+    public JsonObject readSnapshot(String name) throws IOException {
+        return read(snapshotFile(name));
+    }
+
+    /**
+     * Applies a snapshot to {@code root}. Its values are merged into the saved values like a save
+     * from a client, including those of variables that aren't registered yet; saved values the
+     * snapshot doesn't hold are kept.
+     */
+    public synchronized void restoreSnapshot(JsonObject config, CustomVariable root) {
+        JsonObject values = config.deepCopy();
+        // older snapshots hold collapsed objects without their values
+        removeCollapsed(values);
+        merge(saved, values);
+        merge(pending, values);
+        apply(root, pending, gson);
+        scheduleWrite();
+    }
+
+    /**
+     * Returns the names of the snapshots in alphabetical order.
+     */
+    public List<String> getSnapshotNames() {
+        List<String> names = new ArrayList<>();
+        String[] fileNames = snapshotDir.list();
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                if (fileName.endsWith(SNAPSHOT_EXTENSION)) {
+                    names.add(fileName.substring(0,
+                            fileName.length() - SNAPSHOT_EXTENSION.length()));
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Returns the last failure to read or write the saved values, or null if they were written
+     * since.
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Writes the saved values that are still waiting for the delay and stops the write thread.
+     * Saves recorded afterwards are kept in memory but not written.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        writeExecutor.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Writes the saved values now instead of after the delay.
+     */
+    public void flush() throws IOException {
+        String contents;
+        long version;
+        synchronized (this) {
+            contents = serialize(saved);
+            version = savedVersion;
+        }
+        writeSaved(contents, version);
+    }
+
+    private File snapshotFile(String name) {
+        if (!SNAPSHOT_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid snapshot name: " + name);
+        }
+        return new File(snapshotDir, name + SNAPSHOT_EXTENSION);
+    }
+
+    // must hold this
+    private void scheduleWrite() {
+        savedVersion++;
+        writeDeadline = System.currentTimeMillis() + WRITE_DELAY;
+        if (!writeScheduled && !closed) {
+            writeScheduled = true;
+            writeExecutor.schedule(this::writeIfDue, WRITE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Writes the saved values once no save arrived for WRITE_DELAY. Later saves only push the
+    // deadline back instead of rescheduling.
+    private void writeIfDue() {
+        String contents;
+        long version;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            long remaining = writeDeadline - System.currentTimeMillis();
+            if (remaining > 0) {
+                writeExecutor.schedule(this::writeIfDue, remaining, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            writeScheduled = false;
+            contents = serialize(saved);
+            version = savedVersion;
+        }
+
+        try {
+            writeSaved(contents, version);
+        } catch (IOException e) {
+            // the values are written again with the next save
+            if (errorListener != null) {
+                errorListener.onError(e);
+            }
+        }
+    }
+
+    private void writeSaved(String contents, long version) throws IOException {
+        synchronized (savedFile) {
+            // a flush may have written newer values already
+            if (version <= writtenVersion) {
+                return;
+            }
+
+            try {
+                File directory = savedFile.getParentFile();
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("Unable to create " + directory);
+                }
+                writeAtomically(savedFile, contents);
+            } catch (IOException e) {
+                IOException error = new IOException("Unable to write saved config values: "
+                        + e.getMessage(), e);
+                lastError = error;
+                throw error;
+            }
+            writtenVersion = version;
+            lastError = null;
+        }
+    }
+
+    private String serialize(JsonElement config) {
+        JsonObject file = new JsonObject();
+        file.addProperty(VERSION_KEY, VERSION);
+        file.add(CONFIG_KEY, config);
+        return gson.toJson(file);
+    }
+
+    private static JsonObject read(File file) throws IOException {
+        JsonElement contents;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file),
+                StandardCharsets.UTF_8)) {
+            contents = JsonParser.parseReader(reader);
+        } catch (JsonParseException e) {
+            throw new IOException("Malformed config snapshot " + file, e);
+        }
+
+        JsonElement version = contents.isJsonObject()
+                ? contents.getAsJsonObject().get(VERSION_KEY) : null;
+        if (version == null || !version.isJsonPrimitive()
+                || !version.getAsJsonPrimitive().isNumber() || version.getAsInt() != VERSION) {
+            throw new IOException("Unsupported config snapshot " + file);
+        }
+
+        JsonElement config = contents.getAsJsonObject().get(CONFIG_KEY);
+        if (customChildren(config) == null) {
+            throw new IOException("Malformed config snapshot " + file);
+        }
+        return config.getAsJsonObject();
+    }
+
+    // The contents are flushed to a temporary file that then replaces the old one, so readers
+    // never see a partial file.
+    private static void writeAtomically(File file, String contents) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(contents.getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Unable to replace " + file);
+        }
+    }
+
+    private static JsonObject emptyTree() {
+        JsonObject tree = new JsonObject();
+        tree.addProperty(ConfigVariable.TYPE_KEY, CUSTOM_TYPE);
+        tree.add(ConfigVariable.VALUE_KEY, new JsonObject());
+        return tree;
+    }
+
+    private static JsonObject customChildren(JsonElement var) {
+        if (var == null || !var.isJsonObject()) {
+            return null;
+        }
+
+        JsonObject obj = var.getAsJsonObject();
+        JsonElement type = obj.get(ConfigVariable.TYPE_KEY);
+        JsonElement value = obj.get(ConfigVariable.VALUE_KEY);
+        if (type == null || !CUSTOM_TYPE.equals(type.getAsString())
+                || value == null || !value.isJsonObject()) {
+            return null;
+        }
+        return value.getAsJsonObject();
+    }
+
+    // Merges the variables in update into tree. Leaves replace the previous values, and element
+    // updates of arrays patch them.
+    private static void merge(JsonObject tree, JsonElement update) {
+        JsonObject treeChildren = customChildren(tree);
+        JsonObject updateChildren = customChildren(update);
+        if (treeChildren == null || updateChildren == null) {
+            return;
+        }
+
+        for (Map.Entry<String, JsonElement> entry : updateChildren.entrySet()) {
+            JsonElement child = treeChildren.get(entry.getKey());
+            if (customChildren(child) != null && customChildren(entry.getValue()) != null) {
+                merge(child.getAsJsonObject(), entry.getValue());
+            } else if (!mergeArrayUpdates(child, entry.getValue())) {
+                treeChildren.add(entry.getKey(), entry.getValue().deepCopy());
+            }
+        }
+    }
+
+    // Applies the element updates in update to the saved array (or array updates) in tree and
+    // returns true, or returns false if update holds a whole value.
+    private static boolean mergeArrayUpdates(JsonElement tree, JsonElement update) {
+        if (tree == null || !tree.isJsonObject() || !update.isJsonObject()) {
+            return false;
+        }
+
+        JsonObject treeObj = tree.getAsJsonObject();
+        JsonObject updateObj = update.getAsJsonObject();
+        JsonElement updates = updateObj.get(ConfigVariable.UPDATES_KEY);
+        if (updates == null || !updates.isJsonObject()
+                || !Objects.equals(treeObj.get(ConfigVariable.TYPE_KEY),
+                        updateObj.get(ConfigVariable.TYPE_KEY))
+                || !Objects.equals(treeObj.get(ConfigVariable.ELEMENT_TYPE_KEY),
+                        updateObj.get(ConfigVariable.ELEMENT_TYPE_KEY))) {
+            return false;
+        }
+
+        JsonElement length = updateObj.get(ConfigVariable.LENGTH_KEY);
+        JsonElement treeUpdates = treeObj.get(ConfigVariable.UPDATES_KEY);
+        JsonElement elements = treeObj.get(ConfigVariable.VALUE_KEY);
+        if (treeUpdates != null && treeUpdates.isJsonObject()
+                && length.equals(treeObj.get(ConfigVariable.LENGTH_KEY))) {
+            for (Map.Entry<String, JsonElement> entry : updates.getAsJsonObject().entrySet()) {
+                treeUpdates.getAsJsonObject().add(entry.getKey(), entry.getValue().deepCopy());
+            }
+            return true;
+        }
+
+        if (elements != null && elements.isJsonArray()
+                && elements.getAsJsonArray().size() == length.getAsInt()) {
+            for (Map.Entry<String, JsonElement> entry : updates.getAsJsonObject().entrySet()) {
+                elements.getAsJsonArray().set(Integer.parseInt(entry.getKey()),
+                        entry.getValue().deepCopy());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Removes the objects in tree that were serialized collapsed.
+    private static void removeCollapsed(JsonObject tree) {
+        JsonObject children = customChildren(tree);
+        if (children == null) {
+            return;
+        }
+
+        Iterator<Map.Entry<String, JsonElement>> it = children.entrySet().iterator();
+        while (it.hasNext()) {
+            JsonElement child = it.next().getValue();
+            if (!child.isJsonObject()) {
+                continue;
+            }
+
+            if (child.getAsJsonObject().has(ConfigVariable.COLLAPSED_KEY)) {
+                it.remove();
+            } else {
+                removeCollapsed(child.getAsJsonObject());
+            }
+        }
+    }
+
+    // Removes the leaves in update from tree.
+    private static void prune(JsonObject tree, JsonElement update) {
+        JsonObject treeChildren = customChildren(tree);
+        JsonObject updateChildren = customChildren(update);
+        if (treeChildren == null || updateChildren == null) {
+            return;
+        }
+
+        for (Map.Entry<String, JsonElement> entry : updateChildren.entrySet()) {
+            JsonElement child = treeChildren.get(entry.getKey());
+            if (customChildren(child) != null && customChildren(entry.getValue()) != null) {
+                prune(child.getAsJsonObject(), entry.getValue());
+            } else {
+                treeChildren.remove(entry.getKey());
+            }
+        }
+    }
+
+    // Applies the values in tree to the matching registered variables and removes them from tree.
+    // Values for variables that don't exist (yet) stay; values that no longer fit their variable
+    // are dropped.
+    private static void apply(CustomVariable variable, JsonObject tree, Gson gson) {
+        JsonObject children = customChildren(tree);
+        if (children == null || variable.getValue() == null) {
+            return;
+        }
+
+        Iterator<Map.Entry<String, JsonElement>> it = children.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonElement> entry = it.next();
+            ConfigVariable<?> child = variable.getVariable(entry.getKey());
+            if (child == null) {
+                continue;
+            }
+
+            if (!entry.getValue().isJsonObject()) {
+                it.remove();
+                continue;
+            }
+
+            JsonObject childTree = entry.getValue().getAsJsonObject();
+            if (child instanceof CustomVariable) {
+                // null objects have no values to apply
+                JsonObject grandchildren = customChildren(childTree);
+                if (grandchildren == null) {
+                    it.remove();
+                    continue;
+                }
+
+                apply((CustomVariable) child, childTree, gson);
+                if (grandchildren.size() == 0) {
+                    it.remove();
+                }
+                continue;
+            }
+
+            applyBasic(child, childTree, gson);
+            it.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void applyBasic(ConfigVariable<?> variable, JsonObject tree, Gson gson) {
+        try {
+            ConfigVariable<?> value = gson.fromJson(tree, variable instanceof ArrayVariable
+                    ? ArrayVariable.class : BasicVariable.class);
+            if (value.getType() == variable.getType()) {
+                ((ConfigVariable<Object>) variable).update((ConfigVariable<Object>) value);
+            }
+        } catch (RuntimeException e) {
+            // e.g., the enum class is gone
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.acmerobotics.dashboard.config;
+
+import com.acmerobotics.dashboard.config.variable.ArrayVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.acmerobotics.dashboard.config.variable.VariableType;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serializes config trees, reusing the serialized form of each subtree whose variables and values
+ * are unchanged since the previous call. Values are checked against a snapshot taken when they
+ * were last serialized, which is far cheaper than serializing them again. Unchanged subtrees keep
+ * the same {@link JsonElement} instances, so they can be recognized by identity. Checking a tree
+ * that hasn't changed doesn't build any nodes, so it's cheap enough to poll. Not thread-safe.
+ */
+public final class ConfigTreeCache {
+    // serialized name of VariableType.CUSTOM
+    private static final String CUSTOM_TYPE = "custom";
+
+    private static class Node {
+        final ConfigVariable<?> variable;
+        final JsonElement json;
+
+        Node(ConfigVariable<?> variable, JsonElement json) {
+            this.variable = variable;
+            this.json = json;
+        }
+    }
+
+    private static class BasicNode extends Node {
+        final VariableType type;
+        final Object value;
+
+        BasicNode(ConfigVariable<?> variable, JsonElement json, VariableType type, Object value) {
+            super(variable, json);
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    private static class ArrayNode extends Node {
+        // copy of the elements taken before serializing them
+        final List<Object> elements;
+
+        ArrayNode(ConfigVariable<?> variable, JsonElement json, List<Object> elements) {
+            super(variable, json);
+            this.elements = elements;
+        }
+    }
+
+    private static class CustomNode extends Node {
+        // null for custom variables without a value
+        final Map<String, Node> children;
+
+        CustomNode(ConfigVariable<?> variable, JsonElement json, Map<String, Node> children) {
+            super(variable, json);
+            this.children = children;
+        }
+    }
+
+    // lazy custom variable whose children haven't been built
+    private static class CollapsedNode extends Node {
+        CollapsedNode(ConfigVariable<?> variable, JsonElement json) {
+            super(variable, json);
+        }
+    }
+
+    private final Gson gson;
+    private Node root;
+
+    public ConfigTreeCache(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Returns the serialized form of {@code variable}. The result is the previous one if nothing
+     * changed.
+     */
+    public JsonElement serialize(CustomVariable variable) {
+        if (root == null || !isCurrent(variable, root)) {
+            root = refresh(variable, root);
+        }
+        return root.json;
+    }
+
+    /**
+     * Discards the snapshot so the next call serializes the whole tree.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    // Returns true if the node was built from the variable and its values haven't changed since.
+    @SuppressWarnings("unchecked")
+    private static boolean isCurrent(ConfigVariable<?> variable, Node node) {
+        if (node.variable != variable) {
+            return false;
+        }
+
+        boolean collapsed = isCollapsed(variable);
+        if (collapsed || node instanceof CollapsedNode) {
+            return collapsed && node instanceof CollapsedNode;
+        }
+
+        if (node instanceof ArrayNode) {
+            return ((ArrayVariable) variable).valueEquals(((ArrayNode) node).elements);
+        }
+
+        if (node instanceof BasicNode) {
+            BasicNode basicNode = (BasicNode) node;
+            return basicNode.type == variable.getType()
+                    && Objects.equals(basicNode.value, variable.getValue());
+        }
+
+        Map<String, ConfigVariable<?>> variables =
+                (Map<String, ConfigVariable<?>>) variable.getValue();
+        Map<String, Node> children = ((CustomNode) node).children;
+        if (variables == null || children == null) {
+            return variables == null && children == null;
+        }
+
+        if (variables.size() != children.size()) {
+            return false;
+        }
+        for (Map.Entry<String, ConfigVariable<?>> entry : variables.entrySet()) {
+            Node child = children.get(entry.getKey());
+            if (child == null || !isCurrent(entry.getValue(), child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCollapsed(ConfigVariable<?> variable) {
+        return variable instanceof LazyCustomVariable
+                && !((LazyCustomVariable) variable).isMaterialized();
+    }
+
+    private Node refresh(ConfigVariable<?> variable, Node node) {
+        if (isCollapsed(variable)) {
+            if (node instanceof CollapsedNode && node.variable == variable) {
+                return node;
+            }
+            return new CollapsedNode(variable, gson.toJsonTree(variable));
+        }
+
+        if (variable instanceof CustomVariable) {
+            return refreshCustom((CustomVariable) variable,
+                    node instanceof CustomNode ? (CustomNode) node : null);
+        }
+
+        if (variable instanceof ArrayVariable) {
+            ArrayVariable arrayVariable = (ArrayVariable) variable;
+            if (node instanceof ArrayNode && node.variable == variable
+                    && arrayVariable.valueEquals(((ArrayNode) node).elements)) {
+                return node;
+            }
+            List<Object> elements = arrayVariable.getValue();
+            return new ArrayNode(variable, gson.toJsonTree(variable), elements);
+        }
+
+        VariableType type = variable.getType();
+        Object value = variable.getValue();
+        if (node instanceof BasicNode && node.variable == variable) {
+            BasicNode basicNode = (BasicNode) node;
+            if (basicNode.type == type && Objects.equals(basicNode.value, value)) {
+                return node;
+            }
+        }
+
+        return new BasicNode(variable, gson.toJsonTree(variable), type, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node refreshCustom(CustomVariable variable, CustomNode node) {
+        Map<String, ConfigVariable<?>> variables =
+                (Map<String, ConfigVariable<?>>) variable.getValue();
+        if (variables == null) {
+            if (node != null && node.variable == variable && node.children == null) {
+                return node;
+            }
+            return new CustomNode(variable, customJson(JsonNull.INSTANCE), null);
+        }
+
+        Map<String, Node> oldChildren = node != null && node.variable == variable
+                ? node.children : null;
+        boolean changed = oldChildren == null || oldChildren.size() != variables.size();
+
+        Map<String, Node> children = new HashMap<>();
+        for (Map.Entry<String, ConfigVariable<?>> entry : variables.entrySet()) {
+            Node oldChild = oldChildren == null ? null : oldChildren.get(entry.getKey());
+            Node child = refresh(entry.getValue(), oldChild);
+            changed |= child != oldChild;
+            children.put(entry.getKey(), child);
+        }
+
+        if (!changed) {
+            return node;
+        }
+
+        JsonObject value = new JsonObject();
+        for (Map.Entry<String, ConfigVariable<?>> entry : variables.entrySet()) {
+            value.add(entry.getKey(), children.get(entry.getKey()).json);
+        }
+        return new CustomNode(variable, customJson(value), children);
+    }
+
+    private static JsonObject customJson(JsonElement value) {
+        JsonObject json = new JsonObject();
+        json.addProperty(ConfigVariable.TYPE_KEY, CUSTOM_TYPE);
+        json.add(ConfigVariable.VALUE_KEY, value);
+        return json;
+    }
+}
@@ -0,0 +1,87 @@
+package com.acmerobotics.dashboard.config;
+
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values of the enum classes in serialized config trees. Enum variables only carry the name of
+ * their class, and config messages carry the values of each class the client hasn't seen in its
+ * tree yet. Values are computed once per class. Thread-safe.
+ */
+public final class EnumSchemas {
+    private static final Map<String, List<String>> VALUES = new ConcurrentHashMap<>();
+
+    private EnumSchemas() {
+    }
+
+    /**
+     * Records the values of {@code enumClass} for messages and returns its name.
+     */
+    public static String register(Class<? extends Enum<?>> enumClass) {
+        String name = enumClass.getName();
+        if (!VALUES.containsKey(name)) {
+            List<String> values = new ArrayList<>();
+            for (Enum<?> constant : enumClass.getEnumConstants()) {
+                values.add(constant.toString());
+            }
+            VALUES.put(name, Collections.unmodifiableList(values));
+        }
+        return name;
+    }
+
+    /**
+     * Returns the values of a registered enum class or null if it hasn't been serialized.
+     */
+    public static List<String> getValues(String className) {
+        return VALUES.get(className);
+    }
+
+    /**
+     * Adds the names of the enum classes of the variables in {@code tree} to {@code classes}.
+     */
+    public static void collectClasses(JsonElement tree, Set<String> classes) {
+        if (tree == null || !tree.isJsonObject()) {
+            return;
+        }
+
+        JsonObject obj = tree.getAsJsonObject();
+        // enum variables and arrays of enums name their class
+        JsonElement enumClass = obj.get(ConfigVariable.ENUM_CLASS_KEY);
+        JsonElement value = obj.get(ConfigVariable.VALUE_KEY);
+        if (enumClass != null) {
+            classes.add(enumClass.getAsString());
+        } else if (value != null && value.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+                collectClasses(entry.getValue(), classes);
+            }
+        }
+    }
+
+    /**
+     * Returns the values of the enum classes in {@code tree} except those in {@code known}, keyed
+     * by class name.
+     */
+    public static Map<String, List<String>> valuesFor(JsonElement tree, Set<String> known) {
+        Set<String> classes = new HashSet<>();
+        collectClasses(tree, classes);
+
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String name : classes) {
+            List<String> classValues = VALUES.get(name);
+            if (classValues != null && !known.contains(name)) {
+                values.put(name, classValues);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,61 @@
+package com.acmerobotics.dashboard.config;
+
+import com.google.gson.JsonElement;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serialized config tree. The JSON text is produced on first use and then copied verbatim into
+ * every message that carries the tree. The tree must not be modified.
+ */
+public final class SerializedConfig {
+    private final JsonElement tree;
+    private String json; // guarded by this
+    private Set<String> enumClasses; // guarded by this
+    private Map<String, List<String>> enumValues; // guarded by this
+
+    public SerializedConfig(JsonElement tree) {
+        this.tree = tree;
+    }
+
+    public JsonElement getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns the tree as JSON text.
+     */
+    public synchronized String getJson() {
+        if (json == null) {
+            json = tree.toString();
+        }
+        return json;
+    }
+
+    /**
+     * Returns the names of the enum classes used in the tree.
+     */
+    public synchronized Set<String> getEnumClasses() {
+        if (enumClasses == null) {
+            Set<String> classes = new HashSet<>();
+            EnumSchemas.collectClasses(tree, classes);
+            enumClasses = Collections.unmodifiableSet(classes);
+        }
+        return enumClasses;
+    }
+
+    /**
+     * Returns the values of the enum classes used in the tree, keyed by class name.
+     */
+    public synchronized Map<String, List<String>> getEnumValues() {
+        if (enumValues == null) {
+            enumValues = Collections.unmodifiableMap(
+                    EnumSchemas.valuesFor(tree, Collections.<String>emptySet()));
+        }
+        return enumValues;
+    }
+}
@@ -0,0 +1,28 @@
+package com.acmerobotics.dashboard.config;
+
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link SerializedConfig} from its cached JSON text.
+ */
+public class SerializedConfigAdapter extends TypeAdapter<SerializedConfig> {
+    @Override
+    public void write(JsonWriter out, SerializedConfig config) throws IOException {
+        if (config == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.jsonValue(config.getJson());
+    }
+
+    @Override
+    public SerializedConfig read(JsonReader in) throws IOException {
+        return new SerializedConfig(JsonParser.parseReader(in));
+    }
+}
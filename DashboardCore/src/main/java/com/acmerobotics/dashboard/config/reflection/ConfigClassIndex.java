@@ -0,0 +1,13 @@
+package com.acmerobotics.dashboard.config.reflection;
+
+/**
+ * Binary names of an app's {@code @Config} classes, generated at build time so they don't have to
+ * be found by scanning every class in the app. The implementation is named
+ * {@link #GENERATED_NAME}.
+ */
+public interface ConfigClassIndex {
+    String GENERATED_NAME =
+            "com.acmerobotics.dashboard.config.reflection.GeneratedConfigClassIndex";
+
+    String[] getClassNames();
+}
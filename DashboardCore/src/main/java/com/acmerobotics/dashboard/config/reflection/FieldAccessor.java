@@ -0,0 +1,16 @@
+package com.acmerobotics.dashboard.config.reflection;
+
+/**
+ * Reads and writes one field.
+ */
+public interface FieldAccessor {
+    /**
+     * Returns the value of the field of {@code parent} (ignored for static fields).
+     */
+    Object get(Object parent);
+
+    /**
+     * Sets the field of {@code parent} (ignored for static fields) to {@code value}.
+     */
+    void set(Object parent, Object value);
+}
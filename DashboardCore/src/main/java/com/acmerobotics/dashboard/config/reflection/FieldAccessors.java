@@ -0,0 +1,91 @@
+package com.acmerobotics.dashboard.config.reflection;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Picks the fastest available accessor for a field: the one generated at build time for
+ * {@code @Config} classes when present and reflection otherwise.
+ * Accessors are cached, so rebuilding a config tree doesn't repeat the lookup.
+ */
+public final class FieldAccessors {
+    private static final String GENERATED_SUFFIX = "_ConfigAccessors";
+
+    private static final GeneratedFieldAccessors NONE = fieldName -> null;
+
+    private static final ConcurrentMap<Field, FieldAccessor> accessors = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, GeneratedFieldAccessors> generatedAccessors =
+            new ConcurrentHashMap<>();
+
+    private FieldAccessors() {}
+
+    /**
+     * Returns an accessor for {@code field}.
+     */
+    public static FieldAccessor forField(Field field) {
+        FieldAccessor accessor = accessors.get(field);
+        if (accessor == null) {
+            accessor = generatedAccessors(field.getDeclaringClass()).get(field.getName());
+            if (accessor == null) {
+                accessor = reflective(field);
+            }
+
+            FieldAccessor existing = accessors.putIfAbsent(field, accessor);
+            if (existing != null) {
+                accessor = existing;
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * Returns an accessor for {@code field} that always uses reflection.
+     */
+    public static FieldAccessor reflective(Field field) {
+        return new FieldAccessor() {
+            @Override
+            public Object get(Object parent) {
+                try {
+                    return field.get(parent);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public void set(Object parent, Object value) {
+                try {
+                    field.set(parent, value);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    private static GeneratedFieldAccessors generatedAccessors(Class<?> klass) {
+        GeneratedFieldAccessors generated = generatedAccessors.get(klass);
+        if (generated == null) {
+            generated = loadGeneratedAccessors(klass);
+            generatedAccessors.putIfAbsent(klass, generated);
+        }
+        return generated;
+    }
+
+    private static GeneratedFieldAccessors loadGeneratedAccessors(Class<?> klass) {
+        String name = klass.getName();
+        int packageEnd = name.lastIndexOf('.') + 1;
+        String generatedName = name.substring(0, packageEnd)
+                + name.substring(packageEnd).replace('$', '_') + GENERATED_SUFFIX;
+
+        try {
+            Class<?> generatedClass = Class.forName(generatedName, true, klass.getClassLoader());
+            return (GeneratedFieldAccessors) generatedClass.getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            // not generated (or from a stale build); reflection still works
+            return NONE;
+        }
+    }
+}
@@ -9,30 +9,26 @@ import java.lang.reflect.Field;
  * @param <T> type of the class field
  */
 public class FieldProvider<T> implements ValueProvider<T> {
-    private final Field field;
+    private final FieldAccessor accessor;
     private final Object parent;
 
     public FieldProvider(Field field, Object parent) {
-        this.field = field;
+        this(FieldAccessors.forField(field), parent);
+    }
+
+    public FieldProvider(FieldAccessor accessor, Object parent) {
+        this.accessor = accessor;
         this.parent = parent;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public T get() {
-        try {
-            return (T) field.get(parent);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        return (T) accessor.get(parent);
     }
 
     @Override
     public void set(T value) {
-        try {
-            field.set(parent, value);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        accessor.set(parent, value);
     }
 }
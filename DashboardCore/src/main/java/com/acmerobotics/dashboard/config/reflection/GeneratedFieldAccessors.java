@@ -0,0 +1,12 @@
+package com.acmerobotics.dashboard.config.reflection;
+
+/**
+ * Accessors for the fields declared by one class, generated at build time. For a class
+ * {@code pkg.Outer$Inner}, the implementation is named {@code pkg.Outer_Inner_ConfigAccessors}.
+ */
+public interface GeneratedFieldAccessors {
+    /**
+     * Returns the accessor for the named field or null if none was generated.
+     */
+    FieldAccessor get(String fieldName);
+}
@@ -1,14 +1,49 @@
 package com.acmerobotics.dashboard.config.reflection;
 
+import com.acmerobotics.dashboard.config.variable.ArrayVariable;
 import com.acmerobotics.dashboard.config.variable.BasicVariable;
 import com.acmerobotics.dashboard.config.variable.ConfigVariable;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
 import com.acmerobotics.dashboard.config.variable.VariableType;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ReflectionConfig {
+    // named rather than anonymous: Gson serializes anonymous and local classes as null
+    private static class NestedVariable extends LazyCustomVariable {
+        private final Field field;
+        private final Class<?> fieldClass;
+        private final Object parent;
+
+        NestedVariable(Field field, Class<?> fieldClass, Object parent) {
+            this.field = field;
+            this.fieldClass = fieldClass;
+            this.parent = parent;
+        }
+
+        @Override
+        protected Map<String, ConfigVariable> createVariables() {
+            Object value = FieldAccessors.forField(field).get(parent);
+            if (value == null) {
+                return null;
+            }
+
+            Map<String, ConfigVariable> variables = new HashMap<>();
+            for (Field nestedField : fieldClass.getFields()) {
+                if (Modifier.isFinal(field.getModifiers())) {
+                    continue;
+                }
+
+                variables.put(nestedField.getName(), createVariableFromField(nestedField, value));
+            }
+            return variables;
+        }
+    }
+
     private ReflectionConfig() {}
 
     public static CustomVariable createVariableFromClass(Class<?> configClass) {
@@ -35,28 +70,19 @@ public class ReflectionConfig {
             case STRING:
             case ENUM:
                 return new BasicVariable<>(type, new FieldProvider<Boolean>(field, parent));
+            case ARRAY:
+                return new ArrayVariable(fieldClass, fieldClass.getComponentType(),
+                        new FieldProvider<>(field, parent));
             case CUSTOM:
-                try {
-                    Object value = field.get(parent);
-                    if (value == null) {
-                        return new CustomVariable(null);
-                    }
-
-                    CustomVariable customVariable = new CustomVariable();
-                    for (Field nestedField : fieldClass.getFields()) {
-                        if (Modifier.isFinal(field.getModifiers())) {
-                            continue;
-                        }
-
-                        String name = nestedField.getName();
-                        customVariable.putVariable(name,
-                                createVariableFromField(nestedField, value));
-                    }
-
-                    return customVariable;
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
+                Class<?> elementClass = ArrayVariable.elementClass(fieldClass,
+                        field.getGenericType());
+                if (elementClass != null) {
+                    return new ArrayVariable(fieldClass, elementClass,
+                            new FieldProvider<>(field, parent));
                 }
+
+                // nested objects are only reflected once a client expands them
+                return new NestedVariable(field, fieldClass, parent);
             default:
                 throw new RuntimeException("Unsupported field type: " +
                         fieldClass.getName());
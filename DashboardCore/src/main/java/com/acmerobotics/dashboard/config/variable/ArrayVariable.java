@@ -0,0 +1,281 @@
+package com.acmerobotics.dashboard.config.variable;
+
+import com.acmerobotics.dashboard.config.ConstantProvider;
+import com.acmerobotics.dashboard.config.ValueProvider;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Variable holding an array or a list of basic values. The elements are serialized as one JSON
+ * array, and an update may replace single elements by index, so editing one entry of a large
+ * table sends only that entry. Arrays are modified in place as long as their length stays the
+ * same.
+ */
+public class ArrayVariable extends ConfigVariable<List<Object>> {
+    private final Class<?> containerClass;
+    private final Class<?> elementClass;
+    private final VariableType elementType;
+    private final ValueProvider<Object> provider;
+
+    // changed elements by index and the length of the array they apply to; updates is null for
+    // variables holding a whole array
+    private final Map<Integer, Object> updates;
+    private final int updateLength;
+
+    /**
+     * Returns the element class of {@code type} if it's an array or list of basic values and null
+     * otherwise.
+     * @param containerClass class of the array or list
+     * @param type generic type of the array or list, e.g., from {@code Field.getGenericType()}
+     */
+    public static Class<?> elementClass(Class<?> containerClass, Type type) {
+        Class<?> elementClass = null;
+        if (containerClass.isArray()) {
+            elementClass = containerClass.getComponentType();
+        } else if (List.class.isAssignableFrom(containerClass)
+                && type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (arguments.length == 1 && arguments[0] instanceof Class) {
+                elementClass = (Class<?>) arguments[0];
+            }
+        }
+
+        if (elementClass == null) {
+            return null;
+        }
+
+        switch (VariableType.fromClass(elementClass)) {
+            case BOOLEAN:
+            case INT:
+            case DOUBLE:
+            case STRING:
+            case ENUM:
+                return elementClass;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param containerClass class of the array or list; lists whose length changes are replaced
+     *                       with an {@link ArrayList} if the class allows it
+     * @param elementClass class of the elements
+     * @param provider provider of the array or list
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayVariable(Class<?> containerClass, Class<?> elementClass,
+                         ValueProvider<?> provider) {
+        this(containerClass, elementClass, (ValueProvider<Object>) provider, null, 0);
+    }
+
+    private ArrayVariable(Class<?> containerClass, Class<?> elementClass,
+                          ValueProvider<Object> provider, Map<Integer, Object> updates,
+                          int updateLength) {
+        this.containerClass = containerClass;
+        this.elementClass = elementClass;
+        this.elementType = VariableType.fromClass(elementClass);
+        this.provider = provider;
+        this.updates = updates;
+        this.updateLength = updateLength;
+    }
+
+    /**
+     * Returns a variable holding a copy of {@code elements}, which may be null.
+     */
+    public static ArrayVariable ofElements(Class<?> elementClass, List<?> elements) {
+        return new ArrayVariable(List.class, elementClass, new ConstantProvider<Object>(
+                elements == null ? null : Collections.unmodifiableList(new ArrayList<>(elements))),
+                null, 0);
+    }
+
+    /**
+     * Returns a variable that replaces the elements at the given indices of an array of
+     * {@code length} elements.
+     */
+    public static ArrayVariable ofUpdates(Class<?> elementClass, int length,
+                                          Map<Integer, ?> updates) {
+        return new ArrayVariable(List.class, elementClass, new ConstantProvider<>(null),
+                Collections.unmodifiableMap(new TreeMap<>(updates)), length);
+    }
+
+    @Override
+    public VariableType getType() {
+        return VariableType.ARRAY;
+    }
+
+    public VariableType getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Returns the class of the elements, e.g., the enum class of enum elements.
+     */
+    public Class<?> getElementClass() {
+        return elementClass;
+    }
+
+    /**
+     * Returns true if this variable replaces single elements instead of holding a whole array.
+     */
+    public boolean isUpdate() {
+        return updates != null;
+    }
+
+    /**
+     * Returns the replaced elements by index or null if this isn't an update.
+     */
+    public Map<Integer, Object> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Returns the length of the array the update applies to.
+     */
+    public int getUpdateLength() {
+        return updateLength;
+    }
+
+    /**
+     * Returns a copy of the elements or null if there's no array (or this is an update).
+     */
+    @Override
+    public List<Object> getValue() {
+        Object container = provider.get();
+        if (container == null) {
+            return null;
+        }
+
+        int size = size(container);
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(get(container, i));
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Returns true if the elements equal {@code elements}, e.g., a previous {@link #getValue()}.
+     * Unlike comparing with a new copy, this doesn't allocate.
+     */
+    public boolean valueEquals(List<?> elements) {
+        Object container = provider.get();
+        if (container == null || elements == null) {
+            return container == null && elements == null;
+        }
+
+        int size = size(container);
+        if (size != elements.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!elementEquals(container, i, elements.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void update(ConfigVariable<List<Object>> newVariable) {
+        if (!(newVariable instanceof ArrayVariable)
+                || ((ArrayVariable) newVariable).elementType != elementType) {
+            throw new IllegalArgumentException("Expected an array of " + elementType);
+        }
+
+        ArrayVariable newArray = (ArrayVariable) newVariable;
+        if (elementType == VariableType.ENUM && newArray.elementClass != elementClass) {
+            throw new IllegalArgumentException("Expected an array of " + elementClass.getName());
+        }
+
+        Object container = provider.get();
+        if (newArray.updates != null) {
+            if (container == null || size(container) != newArray.updateLength) {
+                throw new IllegalArgumentException("Array length changed");
+            }
+
+            for (Map.Entry<Integer, Object> entry : newArray.updates.entrySet()) {
+                set(container, entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+
+        List<Object> elements = newArray.getValue();
+        if (elements == null) {
+            provider.set(null);
+        } else if (container != null && size(container) == elements.size()) {
+            for (int i = 0; i < elements.size(); i++) {
+                set(container, i, elements.get(i));
+            }
+        } else {
+            provider.set(newContainer(container, elements));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object newContainer(Object container, List<Object> elements) {
+        if (containerClass.isArray()) {
+            Object array = Array.newInstance(containerClass.getComponentType(), elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, elements.get(i));
+            }
+            return array;
+        }
+
+        if (container != null) {
+            try {
+                List<Object> list = (List<Object>) container;
+                list.clear();
+                list.addAll(elements);
+                return list;
+            } catch (UnsupportedOperationException e) {
+                // fixed-size or immutable lists are replaced
+            }
+        }
+
+        if (!containerClass.isAssignableFrom(ArrayList.class)) {
+            throw new IllegalArgumentException("Can't resize a " + containerClass.getName());
+        }
+        return new ArrayList<>(elements);
+    }
+
+    private static int size(Object container) {
+        return container instanceof List ? ((List<?>) container).size()
+                : Array.getLength(container);
+    }
+
+    private static Object get(Object container, int index) {
+        return container instanceof List ? ((List<?>) container).get(index)
+                : Array.get(container, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(Object container, int index, Object value) {
+        if (container instanceof List) {
+            ((List<Object>) container).set(index, value);
+        } else {
+            Array.set(container, index, value);
+        }
+    }
+
+    // compares primitive elements without boxing them
+    private static boolean elementEquals(Object container, int index, Object element) {
+        if (container instanceof double[]) {
+            return element instanceof Double && Double.doubleToLongBits(
+                    ((double[]) container)[index]) == Double.doubleToLongBits((Double) element);
+        } else if (container instanceof int[]) {
+            return element instanceof Integer && ((int[]) container)[index] == (Integer) element;
+        } else if (container instanceof boolean[]) {
+            return element instanceof Boolean
+                    && ((boolean[]) container)[index] == (Boolean) element;
+        }
+        return Objects.equals(get(container, index), element);
+    }
+}
@@ -11,6 +11,10 @@ public abstract class ConfigVariable<T> {
     public static final String VALUE_KEY = "__value";
     public static final String ENUM_CLASS_KEY = "__enumClass";
     public static final String ENUM_VALUES_KEY = "__enumValues";
+    public static final String COLLAPSED_KEY = "__collapsed";
+    public static final String ELEMENT_TYPE_KEY = "__elementType";
+    public static final String LENGTH_KEY = "__length";
+    public static final String UPDATES_KEY = "__updates";
 
     // Set.of() is unfortunately unavailable
     private static final Set<String> RESERVED_KEYS = new HashSet<>();
@@ -19,6 +23,10 @@ public abstract class ConfigVariable<T> {
         RESERVED_KEYS.add(VALUE_KEY);
         RESERVED_KEYS.add(ENUM_CLASS_KEY);
         RESERVED_KEYS.add(ENUM_VALUES_KEY);
+        RESERVED_KEYS.add(COLLAPSED_KEY);
+        RESERVED_KEYS.add(ELEMENT_TYPE_KEY);
+        RESERVED_KEYS.add(LENGTH_KEY);
+        RESERVED_KEYS.add(UPDATES_KEY);
     }
 
     public static boolean isReserved(String name) {
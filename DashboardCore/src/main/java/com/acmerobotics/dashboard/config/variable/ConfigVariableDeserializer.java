@@ -1,6 +1,7 @@
 package com.acmerobotics.dashboard.config.variable;
 
 import com.acmerobotics.dashboard.config.ConstantProvider;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -8,9 +9,57 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigVariableDeserializer implements JsonDeserializer<ConfigVariable<?>> {
+    private static final class EnumClass {
+        final Class<?> type;
+        final Map<String, Object> constants = new HashMap<>();
+
+        EnumClass(Class<?> type) {
+            this.type = type;
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+    }
+
+    // resolved enum classes by name
+    private static final Map<String, EnumClass> ENUM_CLASSES = new ConcurrentHashMap<>();
+
+    private static EnumClass enumClass(String className) {
+        EnumClass enumClass = ENUM_CLASSES.get(className);
+        if (enumClass == null) {
+            Class<?> type;
+            try {
+                type = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new JsonParseException("Unknown enum class " + className, e);
+            }
+            if (!type.isEnum()) {
+                throw new JsonParseException(className + " is not an enum");
+            }
+
+            enumClass = new EnumClass(type);
+            ENUM_CLASSES.put(className, enumClass);
+        }
+        return enumClass;
+    }
+
+    private static Object enumConstant(EnumClass enumClass, JsonElement valueEl,
+                                       JsonDeserializationContext context) {
+        Object constant = enumClass.constants.get(valueEl.getAsString());
+        if (constant != null) {
+            return constant;
+        }
+        // constants renamed with @SerializedName
+        return context.deserialize(valueEl, enumClass.type);
+    }
+
     @Override
     public ConfigVariable<?> deserialize(JsonElement jsonElement, Type type,
                                          JsonDeserializationContext jsonDeserializationContext)
@@ -33,15 +82,11 @@ public class ConfigVariableDeserializer implements JsonDeserializer<ConfigVariab
                     return new BasicVariable<>(varType, new ConstantProvider<>(null));
                 }
 
-                try {
-                    Class<?> enumClass = Class.forName(
-                            obj.get(ConfigVariable.ENUM_CLASS_KEY).getAsString());
-                    return new BasicVariable<>(varType, new ConstantProvider<>(
-                            jsonDeserializationContext.deserialize(
-                                    obj.get(ConfigVariable.VALUE_KEY), enumClass)));
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException();
-                }
+                return new BasicVariable<>(varType, new ConstantProvider<>(enumConstant(
+                        enumClass(obj.get(ConfigVariable.ENUM_CLASS_KEY).getAsString()), valueEl,
+                        jsonDeserializationContext)));
+            case ARRAY:
+                return deserializeArray(obj, jsonDeserializationContext);
             case CUSTOM:
                 if (valueEl.isJsonNull()) {
                     return new CustomVariable(null);
@@ -57,6 +102,9 @@ public class ConfigVariableDeserializer implements JsonDeserializer<ConfigVariab
                     if (childType == VariableType.CUSTOM) {
                         child = jsonDeserializationContext.deserialize(
                                 entry.getValue(), CustomVariable.class);
+                    } else if (childType == VariableType.ARRAY) {
+                        child = jsonDeserializationContext.deserialize(
+                                entry.getValue(), ArrayVariable.class);
                     } else {
                         child = jsonDeserializationContext.deserialize(
                                 entry.getValue(), BasicVariable.class);
@@ -69,4 +117,80 @@ public class ConfigVariableDeserializer implements JsonDeserializer<ConfigVariab
                 throw new RuntimeException();
         }
     }
+
+    private static ArrayVariable deserializeArray(JsonObject obj,
+                                                  JsonDeserializationContext context) {
+        VariableType elementType = context.deserialize(
+                obj.get(ConfigVariable.ELEMENT_TYPE_KEY), VariableType.class);
+        EnumClass enumClass = null;
+        Class<?> elementClass;
+        switch (elementType) {
+            case BOOLEAN:
+                elementClass = Boolean.class;
+                break;
+            case INT:
+                elementClass = Integer.class;
+                break;
+            case DOUBLE:
+                elementClass = Double.class;
+                break;
+            case STRING:
+                elementClass = String.class;
+                break;
+            case ENUM:
+                enumClass = enumClass(obj.get(ConfigVariable.ENUM_CLASS_KEY).getAsString());
+                elementClass = enumClass.type;
+                break;
+            default:
+                throw new JsonParseException("Unsupported array element type " + elementType);
+        }
+
+        JsonElement updatesEl = obj.get(ConfigVariable.UPDATES_KEY);
+        if (updatesEl != null) {
+            Map<Integer, Object> updates = new HashMap<>();
+            for (Map.Entry<String, JsonElement> entry : updatesEl.getAsJsonObject().entrySet()) {
+                int index;
+                try {
+                    index = Integer.parseInt(entry.getKey());
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException("Invalid array index " + entry.getKey(), e);
+                }
+                updates.put(index, element(elementType, enumClass, entry.getValue(), context));
+            }
+            return ArrayVariable.ofUpdates(elementClass,
+                    obj.get(ConfigVariable.LENGTH_KEY).getAsInt(), updates);
+        }
+
+        JsonElement valueEl = obj.get(ConfigVariable.VALUE_KEY);
+        if (valueEl == null || valueEl.isJsonNull()) {
+            return ArrayVariable.ofElements(elementClass, null);
+        }
+
+        JsonArray values = valueEl.getAsJsonArray();
+        List<Object> elements = new ArrayList<>(values.size());
+        for (JsonElement value : values) {
+            elements.add(element(elementType, enumClass, value, context));
+        }
+        return ArrayVariable.ofElements(elementClass, elements);
+    }
+
+    // non-finite doubles are sent as strings, which getAsDouble() parses
+    private static Object element(VariableType elementType, EnumClass enumClass,
+                                  JsonElement valueEl, JsonDeserializationContext context) {
+        if (valueEl.isJsonNull()) {
+            return null;
+        }
+        switch (elementType) {
+            case BOOLEAN:
+                return valueEl.getAsBoolean();
+            case INT:
+                return valueEl.getAsInt();
+            case DOUBLE:
+                return valueEl.getAsDouble();
+            case ENUM:
+                return enumConstant(enumClass, valueEl, context);
+            default:
+                return valueEl.getAsString();
+        }
+    }
 }
@@ -1,24 +1,41 @@
 package com.acmerobotics.dashboard.config.variable;
 
+import com.acmerobotics.dashboard.config.EnumSchemas;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
 
 public class ConfigVariableSerializer implements JsonSerializer<ConfigVariable<?>> {
     @Override
     public JsonElement serialize(ConfigVariable<?> configVariable, Type type,
                                  JsonSerializationContext jsonSerializationContext) {
-        Object value = configVariable.getValue();
-
         JsonObject obj = new JsonObject();
         obj.add(ConfigVariable.TYPE_KEY,
                 jsonSerializationContext.serialize(configVariable.getType()));
 
+        // serializing the children would build them
+        if (configVariable instanceof LazyCustomVariable
+                && !((LazyCustomVariable) configVariable).isMaterialized()) {
+            obj.add(ConfigVariable.VALUE_KEY, null);
+            obj.addProperty(ConfigVariable.COLLAPSED_KEY, true);
+            return obj;
+        }
+
+        if (configVariable instanceof ArrayVariable) {
+            serializeArray((ArrayVariable) configVariable, obj, jsonSerializationContext);
+            return obj;
+        }
+
+        Object value = configVariable.getValue();
+
         if (value == null) {
             obj.add(ConfigVariable.VALUE_KEY, null);
             return obj;
@@ -32,15 +49,60 @@ public class ConfigVariableSerializer implements JsonSerializer<ConfigVariable<?
         }
 
         if (configVariable.getType() == VariableType.ENUM) {
+            // the values are sent once per class alongside the tree
             obj.add(ConfigVariable.ENUM_CLASS_KEY, new JsonPrimitive(
-                    value.getClass().getName()));
-            JsonArray values = new JsonArray();
-            for (Object o : value.getClass().getEnumConstants()) {
-                values.add(o.toString());
-            }
-            obj.add(ConfigVariable.ENUM_VALUES_KEY, values);
+                    EnumSchemas.register(((Enum<?>) value).getDeclaringClass())));
         }
 
         return obj;
     }
+
+    private static void serializeArray(ArrayVariable variable, JsonObject obj,
+                                       JsonSerializationContext context) {
+        VariableType elementType = variable.getElementType();
+        obj.add(ConfigVariable.ELEMENT_TYPE_KEY, context.serialize(elementType));
+        if (elementType == VariableType.ENUM) {
+            obj.add(ConfigVariable.ENUM_CLASS_KEY, new JsonPrimitive(
+                    EnumSchemas.register(enumClass(variable.getElementClass()))));
+        }
+
+        if (variable.isUpdate()) {
+            JsonObject updates = new JsonObject();
+            for (Map.Entry<Integer, Object> entry : variable.getUpdates().entrySet()) {
+                updates.add(String.valueOf(entry.getKey()),
+                        serializeElement(elementType, entry.getValue(), context));
+            }
+            obj.addProperty(ConfigVariable.LENGTH_KEY, variable.getUpdateLength());
+            obj.add(ConfigVariable.UPDATES_KEY, updates);
+            return;
+        }
+
+        List<Object> elements = variable.getValue();
+        if (elements == null) {
+            obj.add(ConfigVariable.VALUE_KEY, null);
+            return;
+        }
+
+        JsonArray values = new JsonArray();
+        for (Object element : elements) {
+            values.add(serializeElement(elementType, element, context));
+        }
+        obj.add(ConfigVariable.VALUE_KEY, values);
+    }
+
+    private static JsonElement serializeElement(VariableType elementType, Object element,
+                                                JsonSerializationContext context) {
+        if (element == null) {
+            return JsonNull.INSTANCE;
+        }
+        if (elementType == VariableType.DOUBLE && !Double.isFinite((double) element)) {
+            return new JsonPrimitive(String.valueOf(element));
+        }
+        return context.serialize(element);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Enum<?>> enumClass(Class<?> klass) {
+        return (Class<? extends Enum<?>>) klass;
+    }
 }
@@ -18,27 +18,35 @@ public class CustomVariable extends ConfigVariable<Object> {
         this(new HashMap<>());
     }
 
+    /**
+     * Returns the child variables or null if the object is null. Subclasses may build them on the
+     * first call.
+     */
+    protected Map<String, ConfigVariable> variables() {
+        return variables;
+    }
+
     public void putVariable(String name, ConfigVariable variable) {
         if (isReserved(name)) {
             throw new RuntimeException();
         }
-        variables.put(name, variable);
+        variables().put(name, variable);
     }
 
     public void removeVariable(String name) {
-        variables.remove(name);
+        variables().remove(name);
     }
 
     public ConfigVariable<?> getVariable(String name) {
-        return variables.get(name);
+        return variables().get(name);
     }
 
     public int size() {
-        return variables.size();
+        return variables().size();
     }
 
     public Set<Map.Entry<String, ConfigVariable>> entrySet() {
-        return variables.entrySet();
+        return variables().entrySet();
     }
 
     @Override
@@ -48,7 +56,7 @@ public class CustomVariable extends ConfigVariable<Object> {
 
     @Override
     public Object getValue() {
-        return variables;
+        return variables();
     }
 
     @SuppressWarnings("unchecked")
@@ -56,7 +64,7 @@ public class CustomVariable extends ConfigVariable<Object> {
     public void update(ConfigVariable<Object> newVariable) {
         if (newVariable instanceof CustomVariable) {
             CustomVariable newCustomVariable = (CustomVariable) newVariable;
-            for (Map.Entry<String, ConfigVariable> entry : newCustomVariable.variables.entrySet()) {
+            for (Map.Entry<String, ConfigVariable> entry : newCustomVariable.entrySet()) {
                 ConfigVariable newChildVariable = newCustomVariable.getVariable(entry.getKey());
                 getVariable(entry.getKey()).update(newChildVariable);
             }
@@ -0,0 +1,54 @@
+package com.acmerobotics.dashboard.config.variable;
+
+import java.util.Map;
+
+/**
+ * Custom variable whose children are only built when they are first accessed. Until then, it is
+ * serialized collapsed, without its children, and clients ask for it by path when the user
+ * expands it.
+ */
+public abstract class LazyCustomVariable extends CustomVariable {
+    private Map<String, ConfigVariable> variables;
+    private volatile boolean materialized;
+
+    public LazyCustomVariable() {
+        super(null);
+    }
+
+    /**
+     * Builds the child variables; returns null if the object is null.
+     */
+    protected abstract Map<String, ConfigVariable> createVariables();
+
+    /**
+     * Returns true once the children have been built.
+     */
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * Builds the children if they haven't been built yet.
+     */
+    public void materialize() {
+        variables();
+    }
+
+    /**
+     * Returns the children without building them for good: the built ones once materialized,
+     * otherwise a fresh set reading the same values. Returns null if the object is null.
+     * Serializing these covers the whole tree without expanding it for clients.
+     */
+    public synchronized Map<String, ConfigVariable> peekVariables() {
+        return materialized ? variables : createVariables();
+    }
+
+    @Override
+    protected synchronized Map<String, ConfigVariable> variables() {
+        if (!materialized) {
+            variables = createVariables();
+            materialized = true;
+        }
+        return variables;
+    }
+}
@@ -22,7 +22,10 @@ public enum VariableType {
     ENUM,
 
     @SerializedName("custom")
-    CUSTOM;
+    CUSTOM,
+
+    @SerializedName("array")
+    ARRAY;
 
     /**
      * Returns the variable type corresponding to the class provided.
@@ -39,8 +42,15 @@ public enum VariableType {
             return STRING;
         } else if (klass.isEnum()) {
             return ENUM;
+        } else if (klass.isArray() && isBasic(fromClass(klass.getComponentType()))) {
+            // lists are recognized by their generic type, see ArrayVariable.elementClass()
+            return ARRAY;
         } else {
             return CUSTOM;
         }
     }
+
+    private static boolean isBasic(VariableType type) {
+        return type != CUSTOM && type != ARRAY;
+    }
 }
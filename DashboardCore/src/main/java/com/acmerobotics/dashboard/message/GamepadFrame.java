@@ -0,0 +1,176 @@
+package com.acmerobotics.dashboard.message;
+
+import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-layout binary encoding of {@link ReceiveGamepadState} sent by the frontend in place of the
+ * JSON message. Frames are {@value #SIZE} bytes: a 14-byte header followed by two 14-byte
+ * gamepads. All values are little-endian.
+ *
+ * <pre>
+ * offset  size  field
+ * 0       1     frame type ({@link #FRAME_TYPE})
+ * 1       1     reserved
+ * 2       4     sequence number (unsigned)
+ * 6       8     timestamp, robot clock milliseconds since the epoch (double; 0 if unknown)
+ * 14      14    gamepad 1
+ * 28      14    gamepad 2
+ *
+ * gamepad:
+ * 0       2     buttons, bit i set iff button i is pressed (see below)
+ * 2       2     left_stick_x    \
+ * 4       2     left_stick_y     |
+ * 6       2     right_stick_x    | axes quantized to
+ * 8       2     right_stick_y    | round(value * 32767)
+ * 10      2     left_trigger     |
+ * 12      2     right_trigger   /
+ * </pre>
+ *
+ * <p>Button bits: dpad_up, dpad_down, dpad_left, dpad_right, a, b, x, y, guide, start, back,
+ * left_bumper, right_bumper, left_stick_button, right_stick_button, touchpad.
+ */
+public final class GamepadFrame {
+    public static final byte FRAME_TYPE = 1;
+
+    private static final int GAMEPAD_SIZE = 14;
+    private static final int HEADER_SIZE = 14;
+    public static final int SIZE = HEADER_SIZE + 2 * GAMEPAD_SIZE;
+
+    private static final float AXIS_SCALE = 32767f;
+
+    private GamepadFrame() {}
+
+    /**
+     * Returns true if {@code frame} holds a gamepad frame.
+     */
+    public static boolean isGamepadFrame(byte[] frame) {
+        return frame.length > 0 && frame[0] == FRAME_TYPE;
+    }
+
+    /**
+     * Decodes a gamepad frame.
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    public static ReceiveGamepadState decode(byte[] frame) {
+        if (frame.length < SIZE || frame[0] != FRAME_TYPE) {
+            throw new IllegalArgumentException("Malformed gamepad frame of length " + frame.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(2);
+        long sequenceNumber = buffer.getInt() & 0xFFFFFFFFL;
+        double timestamp = buffer.getDouble();
+
+        ReceiveGamepadState.Gamepad gamepad1 = new ReceiveGamepadState.Gamepad();
+        decodeGamepad(buffer, gamepad1);
+        ReceiveGamepadState.Gamepad gamepad2 = new ReceiveGamepadState.Gamepad();
+        decodeGamepad(buffer, gamepad2);
+
+        return new ReceiveGamepadState(gamepad1, gamepad2, sequenceNumber, timestamp);
+    }
+
+    /**
+     * Encodes gamepad state into a frame. The server never sends these; this is the reference
+     * for the frontend encoder.
+     */
+    public static byte[] encode(ReceiveGamepadState.Gamepad gamepad1,
+                                ReceiveGamepadState.Gamepad gamepad2, long sequenceNumber,
+                                double timestamp) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FRAME_TYPE);
+        buffer.put((byte) 0);
+        buffer.putInt((int) sequenceNumber);
+        buffer.putDouble(timestamp);
+        encodeGamepad(buffer, gamepad1);
+        encodeGamepad(buffer, gamepad2);
+        return buffer.array();
+    }
+
+    private static float decodeAxis(short value) {
+        return Math.max(-1f, value / AXIS_SCALE);
+    }
+
+    private static short encodeAxis(float value) {
+        float clamped = Math.max(-1f, Math.min(1f, value));
+        return (short) Math.round(clamped * AXIS_SCALE);
+    }
+
+    private static boolean bit(int buttons, int index) {
+        return (buttons & (1 << index)) != 0;
+    }
+
+    private static void decodeGamepad(ByteBuffer buffer, ReceiveGamepadState.Gamepad gamepad) {
+        int buttons = buffer.getShort() & 0xFFFF;
+
+        gamepad.dpad_up = bit(buttons, 0);
+        gamepad.dpad_down = bit(buttons, 1);
+        gamepad.dpad_left = bit(buttons, 2);
+        gamepad.dpad_right = bit(buttons, 3);
+
+        gamepad.a = bit(buttons, 4);
+        gamepad.b = bit(buttons, 5);
+        gamepad.x = bit(buttons, 6);
+        gamepad.y = bit(buttons, 7);
+
+        gamepad.guide = bit(buttons, 8);
+        gamepad.start = bit(buttons, 9);
+        gamepad.back = bit(buttons, 10);
+
+        gamepad.left_bumper = bit(buttons, 11);
+        gamepad.right_bumper = bit(buttons, 12);
+
+        gamepad.left_stick_button = bit(buttons, 13);
+        gamepad.right_stick_button = bit(buttons, 14);
+
+        gamepad.touchpad = bit(buttons, 15);
+
+        gamepad.left_stick_x = decodeAxis(buffer.getShort());
+        gamepad.left_stick_y = decodeAxis(buffer.getShort());
+        gamepad.right_stick_x = decodeAxis(buffer.getShort());
+        gamepad.right_stick_y = decodeAxis(buffer.getShort());
+
+        gamepad.left_trigger = decodeAxis(buffer.getShort());
+        gamepad.right_trigger = decodeAxis(buffer.getShort());
+    }
+
+    /**
+     * Returns the frame's button bits for {@code gamepad}; zero if it is null.
+     */
+    public static int buttonMask(ReceiveGamepadState.Gamepad gamepad) {
+        if (gamepad == null) {
+            return 0;
+        }
+
+        boolean[] bits = {
+            gamepad.dpad_up, gamepad.dpad_down, gamepad.dpad_left, gamepad.dpad_right,
+            gamepad.a, gamepad.b, gamepad.x, gamepad.y,
+            gamepad.guide, gamepad.start, gamepad.back,
+            gamepad.left_bumper, gamepad.right_bumper,
+            gamepad.left_stick_button, gamepad.right_stick_button,
+            gamepad.touchpad,
+        };
+
+        int buttons = 0;
+        for (int i = 0; i < bits.length; i++) {
+            if (bits[i]) {
+                buttons |= 1 << i;
+            }
+        }
+        return buttons;
+    }
+
+    private static void encodeGamepad(ByteBuffer buffer, ReceiveGamepadState.Gamepad gamepad) {
+        buffer.putShort((short) buttonMask(gamepad));
+
+        buffer.putShort(encodeAxis(gamepad.left_stick_x));
+        buffer.putShort(encodeAxis(gamepad.left_stick_y));
+        buffer.putShort(encodeAxis(gamepad.right_stick_x));
+        buffer.putShort(encodeAxis(gamepad.right_stick_y));
+
+        buffer.putShort(encodeAxis(gamepad.left_trigger));
+        buffer.putShort(encodeAxis(gamepad.right_trigger));
+    }
+}
@@ -0,0 +1,121 @@
+package com.acmerobotics.dashboard.message;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Binary encoding of camera images sent to the frontend. A small header precedes the JPEG data,
+ * which the browser decodes directly instead of going through base64 and JSON. All values are
+ * little-endian.
+ *
+ * <pre>
+ * offset  size  field
+ * 0       1     frame type ({@link #FRAME_TYPE})
+ * 1       1     stream id; changes whenever a different source starts sending images
+ * 2       2     width in pixels (unsigned)
+ * 4       2     height in pixels (unsigned)
+ * 6       8     timestamp, robot clock milliseconds since the epoch (double)
+ * 14      -     JPEG data
+ * </pre>
+ */
+public final class ImageFrame {
+    public static final byte FRAME_TYPE = 2;
+
+    public static final int HEADER_SIZE = 14;
+
+    private static final int MAX_DIMENSION = 0xFFFF;
+
+    private final int streamId;
+    private final double timestamp;
+    private final int width;
+    private final int height;
+    private final byte[] jpeg;
+
+    private ImageFrame(int streamId, double timestamp, int width, int height, byte[] jpeg) {
+        this.streamId = streamId;
+        this.timestamp = timestamp;
+        this.width = width;
+        this.height = height;
+        this.jpeg = jpeg;
+    }
+
+    /**
+     * Returns true if {@code frame} holds an image frame.
+     */
+    public static boolean isImageFrame(byte[] frame) {
+        return frame.length > 0 && frame[0] == FRAME_TYPE;
+    }
+
+    /**
+     * Writes the header into the first {@link #HEADER_SIZE} bytes of {@code frame}. Encoders can
+     * reserve room for the header, write the JPEG data after it, and fill in the header last to
+     * avoid copying the image.
+     * @throws IllegalArgumentException if the dimensions don't fit the header
+     */
+    public static void writeHeader(byte[] frame, int streamId, double timestamp, int width,
+                                   int height) {
+        if (width < 0 || width > MAX_DIMENSION || height < 0 || height > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Image of " + width + "x" + height
+                    + " is too large for a frame");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FRAME_TYPE);
+        buffer.put((byte) streamId);
+        buffer.putShort((short) width);
+        buffer.putShort((short) height);
+        buffer.putDouble(timestamp);
+    }
+
+    /**
+     * Encodes the first {@code length} bytes of {@code jpeg} into a new frame.
+     */
+    public static byte[] encode(int streamId, double timestamp, int width, int height,
+                                byte[] jpeg, int length) {
+        byte[] frame = new byte[HEADER_SIZE + length];
+        writeHeader(frame, streamId, timestamp, width, height);
+        System.arraycopy(jpeg, 0, frame, HEADER_SIZE, length);
+        return frame;
+    }
+
+    /**
+     * Decodes an image frame. The server never receives these; this is the reference for the
+     * frontend decoder.
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    public static ImageFrame decode(byte[] frame) {
+        if (frame.length < HEADER_SIZE || frame[0] != FRAME_TYPE) {
+            throw new IllegalArgumentException("Malformed image frame of length " + frame.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(1);
+        int streamId = buffer.get() & 0xFF;
+        int width = buffer.getShort() & 0xFFFF;
+        int height = buffer.getShort() & 0xFFFF;
+        double timestamp = buffer.getDouble();
+        return new ImageFrame(streamId, timestamp, width, height,
+                Arrays.copyOfRange(frame, HEADER_SIZE, frame.length));
+    }
+
+    public int getStreamId() {
+        return streamId;
+    }
+
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public byte[] getJpeg() {
+        return jpeg;
+    }
+}
@@ -0,0 +1,31 @@
+package com.acmerobotics.dashboard.message;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter for a single message type. Subclasses are generated at build time for every
+ * message class.
+ */
+public abstract class MessageCodec<T extends Message> extends TypeAdapter<T> {
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        in.beginObject();
+        return readFields(in);
+    }
+
+    /**
+     * Reads the remaining fields of a message object whose opening brace has already been consumed
+     * along with any number of leading fields. Consumes the closing brace. Unknown fields and
+     * {@code type} are skipped.
+     */
+    public abstract T readFields(JsonReader in) throws IOException;
+}
@@ -1,29 +1,146 @@
 package com.acmerobotics.dashboard.message;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Custom deserializer for dashboard messages.
+ * Custom deserializer for dashboard messages. Messages are decoded in a single pass straight from
+ * the stream when {@code type} is the first field (as the frontend sends it); otherwise only the
+ * fields preceding {@code type} are buffered. Messages of unknown type are skipped and read as
+ * null.
  */
-public class MessageDeserializer implements JsonDeserializer<Message> {
+public class MessageDeserializer implements TypeAdapterFactory {
+    private static final Map<String, MessageType> TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        for (MessageType messageType : MessageType.values()) {
+            TYPES_BY_NAME.put(messageType.name(), messageType);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
-    public Message deserialize(JsonElement jsonElement, Type type,
-                               JsonDeserializationContext jsonDeserializationContext)
-            throws JsonParseException {
-        JsonObject messageObj = jsonElement.getAsJsonObject();
-        MessageType messageType = jsonDeserializationContext.deserialize(
-                messageObj.get("type"), MessageType.class);
-        if (messageType == null || messageType.msgClass == null) {
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != Message.class) {
+            return null;
+        }
+
+        return (TypeAdapter<T>) new Adapter(gson,
+                gson.getDelegateAdapter(this, TypeToken.get(Message.class)));
+    }
+
+    private static class Adapter extends TypeAdapter<Message> {
+        private final Gson gson;
+        private final TypeAdapter<Message> baseAdapter;
+        private final TypeAdapter<JsonElement> elementAdapter;
+        // indexed by ordinal; filled lazily since codecs may depend on this adapter
+        private final TypeAdapter<?>[] messageAdapters =
+                new TypeAdapter<?>[MessageType.values().length];
+
+        Adapter(Gson gson, TypeAdapter<Message> baseAdapter) {
+            this.gson = gson;
+            this.baseAdapter = baseAdapter;
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        private TypeAdapter<?> adapterFor(MessageType messageType) {
+            TypeAdapter<?> adapter = messageAdapters[messageType.ordinal()];
+            if (adapter == null) {
+                adapter = gson.getAdapter(messageType.msgClass);
+                messageAdapters[messageType.ordinal()] = adapter;
+            }
+            return adapter;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void write(JsonWriter out, Message value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            if (value.getClass() == Message.class) {
+                baseAdapter.write(out, value);
+            } else {
+                ((TypeAdapter<Message>) gson.getAdapter(value.getClass())).write(out, value);
+            }
+        }
+
+        @Override
+        public Message read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            in.beginObject();
+
+            JsonObject buffered = null;
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (!name.equals("type")) {
+                    if (buffered == null) {
+                        buffered = new JsonObject();
+                    }
+                    buffered.add(name, elementAdapter.read(in));
+                    continue;
+                }
+
+                MessageType messageType = null;
+                if (in.peek() == JsonToken.STRING) {
+                    messageType = TYPES_BY_NAME.get(in.nextString());
+                } else {
+                    in.skipValue();
+                }
+
+                if (messageType == null || messageType.msgClass == null) {
+                    skipRemaining(in);
+                    return null;
+                }
+
+                TypeAdapter<?> adapter = adapterFor(messageType);
+                if (buffered == null && adapter instanceof MessageCodec) {
+                    return ((MessageCodec<?>) adapter).readFields(in);
+                }
+
+                if (buffered == null) {
+                    buffered = new JsonObject();
+                }
+                buffered.addProperty("type", messageType.name());
+                readRemaining(in, buffered);
+                return (Message) adapter.fromJsonTree(buffered);
+            }
+
+            in.endObject();
             return null;
         }
-        Type msgType = TypeToken.get(messageType.msgClass).getType();
-        return jsonDeserializationContext.deserialize(jsonElement, msgType);
+
+        private void readRemaining(JsonReader in, JsonObject obj) throws IOException {
+            while (in.hasNext()) {
+                String name = in.nextName();
+                obj.add(name, elementAdapter.read(in));
+            }
+            in.endObject();
+        }
+
+        private static void skipRemaining(JsonReader in) throws IOException {
+            while (in.hasNext()) {
+                in.nextName();
+                in.skipValue();
+            }
+            in.endObject();
+        }
     }
 }
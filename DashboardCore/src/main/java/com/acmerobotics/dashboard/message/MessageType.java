@@ -1,15 +1,22 @@
 package com.acmerobotics.dashboard.message;
 
 import com.acmerobotics.dashboard.message.redux.GetConfig;
+import com.acmerobotics.dashboard.message.redux.GetConfigSnapshots;
+import com.acmerobotics.dashboard.message.redux.GetConfigSubtree;
 import com.acmerobotics.dashboard.message.redux.GetRobotStatus;
 import com.acmerobotics.dashboard.message.redux.InitOpMode;
+import com.acmerobotics.dashboard.message.redux.LoadConfigSnapshot;
 import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigConflict;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDiff;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigSnapshots;
 import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
-import com.acmerobotics.dashboard.message.redux.ReceiveImage;
 import com.acmerobotics.dashboard.message.redux.ReceiveOpModeList;
 import com.acmerobotics.dashboard.message.redux.ReceiveRobotStatus;
 import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
 import com.acmerobotics.dashboard.message.redux.SaveConfig;
+import com.acmerobotics.dashboard.message.redux.SaveConfigSnapshot;
+import com.acmerobotics.dashboard.message.redux.SetImageFrames;
 import com.acmerobotics.dashboard.message.redux.StartOpMode;
 import com.acmerobotics.dashboard.message.redux.StopOpMode;
 
@@ -29,14 +36,21 @@ public enum MessageType {
 
     /* config */
     GET_CONFIG(GetConfig.class),
+    GET_CONFIG_SUBTREE(GetConfigSubtree.class),
     SAVE_CONFIG(SaveConfig.class),
     RECEIVE_CONFIG(ReceiveConfig.class),
+    RECEIVE_CONFIG_DIFF(ReceiveConfigDiff.class),
+    RECEIVE_CONFIG_CONFLICT(ReceiveConfigConflict.class),
+    GET_CONFIG_SNAPSHOTS(GetConfigSnapshots.class),
+    SAVE_CONFIG_SNAPSHOT(SaveConfigSnapshot.class),
+    LOAD_CONFIG_SNAPSHOT(LoadConfigSnapshot.class),
+    RECEIVE_CONFIG_SNAPSHOTS(ReceiveConfigSnapshots.class),
 
     /* telemetry */
     RECEIVE_TELEMETRY(ReceiveTelemetry.class),
 
     /* camera */
-    RECEIVE_IMAGE(ReceiveImage.class),
+    SET_IMAGE_FRAMES(SetImageFrames.class),
 
     /* gamepad */
     RECEIVE_GAMEPAD_STATE(ReceiveGamepadState.class);
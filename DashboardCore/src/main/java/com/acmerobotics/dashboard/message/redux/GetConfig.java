@@ -4,7 +4,26 @@ import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
 
 public class GetConfig extends Message {
+    // revision of the client's cached config tree; zero if it has none
+    long epoch;
+    long revision;
+
     public GetConfig() {
         super(MessageType.GET_CONFIG);
     }
+
+    public GetConfig(long epoch, long revision) {
+        this();
+
+        this.epoch = epoch;
+        this.revision = revision;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
 }
@@ -0,0 +1,10 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+public class GetConfigSnapshots extends Message {
+    public GetConfigSnapshots() {
+        super(MessageType.GET_CONFIG_SNAPSHOTS);
+    }
+}
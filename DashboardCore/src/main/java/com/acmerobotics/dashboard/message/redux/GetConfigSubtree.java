@@ -0,0 +1,38 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+import java.util.List;
+
+public class GetConfigSubtree extends Message {
+    // names of the custom variables leading to the subtree, starting below the root
+    List<String> path;
+    // revision of the client's config tree; answered with what changed since if nothing expands
+    long epoch;
+    long revision;
+
+    public GetConfigSubtree() {
+        super(MessageType.GET_CONFIG_SUBTREE);
+    }
+
+    public GetConfigSubtree(List<String> path, long epoch, long revision) {
+        this();
+
+        this.path = path;
+        this.epoch = epoch;
+        this.revision = revision;
+    }
+
+    public List<String> getPath() {
+        return path;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+}
@@ -4,7 +4,7 @@ import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
 
 public class InitOpMode extends Message {
-    private String opModeName;
+    String opModeName;
 
     public InitOpMode(String opModeName) {
         super(MessageType.INIT_OP_MODE);
@@ -0,0 +1,22 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+public class LoadConfigSnapshot extends Message {
+    String name;
+
+    public LoadConfigSnapshot() {
+        super(MessageType.LOAD_CONFIG_SNAPSHOT);
+    }
+
+    public LoadConfigSnapshot(String name) {
+        this();
+
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
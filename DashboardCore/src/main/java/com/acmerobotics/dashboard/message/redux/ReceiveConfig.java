@@ -1,15 +1,26 @@
 package com.acmerobotics.dashboard.message.redux;
 
-import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.SerializedConfig;
 import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
 
+import java.util.List;
+import java.util.Map;
+
 public class ReceiveConfig extends Message {
-    private CustomVariable configRoot;
+    SerializedConfig configRoot;
+    // values of the enum classes in the tree by class name
+    Map<String, List<String>> enumValues;
+    long epoch;
+    long revision;
 
-    public ReceiveConfig(CustomVariable configRoot) {
+    public ReceiveConfig(SerializedConfig configRoot, Map<String, List<String>> enumValues,
+                         long epoch, long revision) {
         super(MessageType.RECEIVE_CONFIG);
 
         this.configRoot = configRoot;
+        this.enumValues = enumValues;
+        this.epoch = epoch;
+        this.revision = revision;
     }
 }
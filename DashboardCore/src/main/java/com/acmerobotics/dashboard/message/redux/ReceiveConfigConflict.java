@@ -0,0 +1,14 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+/**
+ * Sent in reply to a {@link SaveConfig} that was rejected because the variables it changes were
+ * modified after its base revision.
+ */
+public class ReceiveConfigConflict extends Message {
+    public ReceiveConfigConflict() {
+        super(MessageType.RECEIVE_CONFIG_CONFLICT);
+    }
+}
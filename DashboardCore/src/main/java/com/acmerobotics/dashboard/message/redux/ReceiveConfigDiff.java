@@ -0,0 +1,37 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.google.gson.JsonElement;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes that take a client's config tree from {@code baseRevision} to {@code revision}. An empty
+ * diff with equal revisions means the client's tree is up to date.
+ */
+public class ReceiveConfigDiff extends Message {
+    // serialized config tree holding only the changed variables
+    JsonElement configDiff;
+    // paths of removed variables
+    List<List<String>> removed;
+    // values of the enum classes in the changes that aren't in the base tree by class name
+    Map<String, List<String>> enumValues;
+    long epoch;
+    long baseRevision;
+    long revision;
+
+    public ReceiveConfigDiff(JsonElement configDiff, List<List<String>> removed,
+                             Map<String, List<String>> enumValues, long epoch,
+                             long baseRevision, long revision) {
+        super(MessageType.RECEIVE_CONFIG_DIFF);
+
+        this.configDiff = configDiff;
+        this.removed = removed;
+        this.enumValues = enumValues;
+        this.epoch = epoch;
+        this.baseRevision = baseRevision;
+        this.revision = revision;
+    }
+}
@@ -0,0 +1,30 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+import java.util.List;
+
+/**
+ * Names of the config snapshots, sent when they change and in reply to snapshot requests.
+ */
+public class ReceiveConfigSnapshots extends Message {
+    List<String> names;
+    // why the client's last snapshot request failed; null if it succeeded
+    String error;
+
+    public ReceiveConfigSnapshots(List<String> names, String error) {
+        super(MessageType.RECEIVE_CONFIG_SNAPSHOTS);
+
+        this.names = names;
+        this.error = error;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -15,13 +15,27 @@ public class ReceiveGamepadState extends Message {
         public boolean touchpad;
     }
 
-    private Gamepad gamepad1;
-    private Gamepad gamepad2;
+    Gamepad gamepad1;
+    Gamepad gamepad2;
+    // incremented by the client for every message sent
+    long sequenceNumber;
+    // robot clock time the client read the gamepads, in milliseconds since the epoch
+    double timestamp;
 
     public ReceiveGamepadState() {
         super(MessageType.RECEIVE_GAMEPAD_STATE);
     }
 
+    public ReceiveGamepadState(Gamepad gamepad1, Gamepad gamepad2, long sequenceNumber,
+                               double timestamp) {
+        this();
+
+        this.gamepad1 = gamepad1;
+        this.gamepad2 = gamepad2;
+        this.sequenceNumber = sequenceNumber;
+        this.timestamp = timestamp;
+    }
+
     public Gamepad getGamepad1() {
         return gamepad1;
     }
@@ -29,4 +43,12 @@ public class ReceiveGamepadState extends Message {
     public Gamepad getGamepad2() {
         return gamepad2;
     }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public double getTimestamp() {
+        return timestamp;
+    }
 }
@@ -6,7 +6,7 @@ import com.acmerobotics.dashboard.message.MessageType;
 import java.util.List;
 
 public class ReceiveOpModeList extends Message {
-    private List<String> opModeList;
+    List<String> opModeList;
 
     public ReceiveOpModeList(List<String> opModeList) {
         super(MessageType.RECEIVE_OP_MODE_LIST);
@@ -5,11 +5,11 @@ import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
 
 public class ReceiveRobotStatus extends Message {
-    private RobotStatus status;
+    RobotStatus status;
 
-    public ReceiveRobotStatus(RobotStatus robotStatus) {
+    public ReceiveRobotStatus(RobotStatus status) {
         super(MessageType.RECEIVE_ROBOT_STATUS);
 
-        status = robotStatus;
+        this.status = status;
     }
 }
@@ -8,11 +8,11 @@ import java.util.List;
 
 public class ReceiveTelemetry extends Message {
     // an empty list tells clients to clear
-    private List<TelemetryPacket> telemetry;
+    List<TelemetryPacket> telemetry;
 
-    public ReceiveTelemetry(List<TelemetryPacket> packets) {
+    public ReceiveTelemetry(List<TelemetryPacket> telemetry) {
         super(MessageType.RECEIVE_TELEMETRY);
 
-        telemetry = packets;
+        this.telemetry = telemetry;
     }
 }
@@ -5,15 +5,32 @@ import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
 
 public class SaveConfig extends Message {
-    private CustomVariable configDiff;
+    CustomVariable configDiff;
+    // revision the diff was made against; zero to save unconditionally
+    long epoch;
+    long baseRevision;
 
     public SaveConfig(CustomVariable configDiff) {
+        this(configDiff, 0, 0);
+    }
+
+    public SaveConfig(CustomVariable configDiff, long epoch, long baseRevision) {
         super(MessageType.SAVE_CONFIG);
 
         this.configDiff = configDiff;
+        this.epoch = epoch;
+        this.baseRevision = baseRevision;
     }
 
     public CustomVariable getConfigDiff() {
         return configDiff;
     }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getBaseRevision() {
+        return baseRevision;
+    }
 }
@@ -0,0 +1,22 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+public class SaveConfigSnapshot extends Message {
+    String name;
+
+    public SaveConfigSnapshot() {
+        super(MessageType.SAVE_CONFIG_SNAPSHOT);
+    }
+
+    public SaveConfigSnapshot(String name) {
+        this();
+
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,22 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+/**
+ * Turns the camera images sent over the client's socket on or off, e.g., while the client shows
+ * the MJPEG stream instead. New clients receive images.
+ */
+public class SetImageFrames extends Message {
+    boolean enabled;
+
+    public SetImageFrames(boolean enabled) {
+        super(MessageType.SET_IMAGE_FRAMES);
+
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -20,10 +20,17 @@ public class TelemetryPacket {
 
     private static final Canvas DEFAULT_FIELD = new Canvas();
     static {
-        DEFAULT_FIELD.setAlpha(0.4);
-        DEFAULT_FIELD.drawImage("/dash/centerstage.webp", 0, 0, 144, 144);
-        DEFAULT_FIELD.setAlpha(1.0);
-        DEFAULT_FIELD.drawGrid(0, 0, 144, 144, 7, 7);
+        drawDefaultField(DEFAULT_FIELD);
+    }
+
+    /**
+     * Draws the default field background onto the canvas.
+     */
+    public static void drawDefaultField(Canvas canvas) {
+        canvas.setAlpha(0.4);
+        canvas.drawImage("/dash/centerstage.webp", 0, 0, 144, 144);
+        canvas.setAlpha(1.0);
+        canvas.drawGrid(0, 0, 144, 144, 7, 7);
     }
 
     /**
@@ -43,6 +50,16 @@ public class TelemetryPacket {
         this(true);
     }
 
+    /**
+     * Creates a new telemetry packet that draws into the provided canvas. The canvas is used as
+     * is; call {@link #drawDefaultField(Canvas)} after clearing it to keep the default field.
+     */
+    public TelemetryPacket(Canvas fieldOverlay) {
+        data = new TreeMap<>();
+        log = new ArrayList<>();
+        this.fieldOverlay = fieldOverlay;
+    }
+
     /**
      * Stores a single key-value pair.
      * @param key
@@ -92,4 +109,11 @@ public class TelemetryPacket {
     public Canvas fieldOverlay() {
         return fieldOverlay;
     }
+
+    /**
+     * Replaces the field overlay canvas.
+     */
+    public void setFieldOverlay(Canvas fieldOverlay) {
+        this.fieldOverlay = fieldOverlay;
+    }
 }
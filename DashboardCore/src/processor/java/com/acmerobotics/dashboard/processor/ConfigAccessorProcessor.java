@@ -0,0 +1,234 @@
+package com.acmerobotics.dashboard.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates {@code GeneratedFieldAccessors} for every {@code @Config} class and for the classes of
+ * its custom (nested object) variables so the dashboard can read and write config fields without
+ * reflection. Fields that can't be accessed from generated code in the same package are left to
+ * the reflective fallback.
+ */
+@SupportedAnnotationTypes(ConfigAccessorProcessor.CONFIG_ANNOTATION)
+public class ConfigAccessorProcessor extends AbstractProcessor {
+    static final String CONFIG_ANNOTATION = "com.acmerobotics.dashboard.config.Config";
+
+    private static final String ACCESSOR_PACKAGE = "com.acmerobotics.dashboard.config.reflection";
+    private static final String GENERATED_SUFFIX = "_ConfigAccessors";
+
+    private final Set<String> sourceTypes = new HashSet<>();
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            sourceTypes.add(type.getQualifiedName().toString());
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type
+                    : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                generateAll(type, true);
+            }
+        }
+
+        return false;
+    }
+
+    private void generateAll(TypeElement type, boolean staticOnly) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        if (type.getKind() != ElementKind.CLASS || !isAccessible(type.asType(), pkg)
+                || !isInCompilation(type)
+                || !generated.add(type.getQualifiedName().toString())) {
+            return;
+        }
+
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.FINAL)
+                    || (staticOnly && !modifiers.contains(Modifier.STATIC))
+                    || !isAccessible(field.asType(), pkg)) {
+                continue;
+            }
+            fields.add(field);
+        }
+
+        try {
+            generate(type, fields);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write config accessors: " + e.getMessage(), type);
+        }
+
+        // nested variables are built from all public fields of the field's class, including
+        // inherited ones, which are looked up by their declaring class
+        for (VariableElement field : fields) {
+            TypeElement fieldType = customType(field.asType());
+            if (fieldType != null) {
+                generateHierarchy(fieldType);
+            }
+        }
+    }
+
+    private void generateHierarchy(TypeElement type) {
+        TypeElement current = type;
+        while (current != null) {
+            generateAll(current, false);
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+    }
+
+    // Returns the class of a field that becomes a custom variable or null for the other types.
+    private static TypeElement customType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (element.getKind() != ElementKind.CLASS) {
+            return null;
+        }
+
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.Boolean":
+            case "java.lang.Integer":
+            case "java.lang.Double":
+            case "java.lang.String":
+            case "java.lang.Object":
+                return null;
+            default:
+                return element;
+        }
+    }
+
+    // Generated sources are only written next to classes compiled alongside them.
+    private boolean isInCompilation(TypeElement type) {
+        Element current = type;
+        while (current.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return sourceTypes.contains(((TypeElement) current).getQualifiedName().toString());
+    }
+
+    // Returns true if the type can be named by generated code in the package.
+    private boolean isAccessible(TypeMirror type, PackageElement pkg) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        switch (erased.getKind()) {
+            case DECLARED: {
+                TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+                boolean samePackage = processingEnv.getElementUtils().getPackageOf(element)
+                        .equals(pkg);
+                Element current = element;
+                while (current.getKind() != ElementKind.PACKAGE) {
+                    Set<Modifier> modifiers = current.getModifiers();
+                    if (modifiers.contains(Modifier.PRIVATE)
+                            || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                        return false;
+                    }
+                    current = current.getEnclosingElement();
+                }
+                return true;
+            }
+            case ARRAY:
+                return isAccessible(((ArrayType) erased).getComponentType(), pkg);
+            default:
+                return erased.getKind().isPrimitive();
+        }
+    }
+
+    private String castType(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return types.erasure(type).toString();
+    }
+
+    private String generatedName(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = pkg.isUnnamed()
+                ? binaryName : binaryName.substring(pkg.getQualifiedName().length() + 1);
+        return simpleName.replace('$', '_') + GENERATED_SUFFIX;
+    }
+
+    private void generate(TypeElement type, List<VariableElement> fields) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String className = generatedName(type);
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                pkg.isUnnamed() ? className : packageName + "." + className, type);
+        try (Writer w = file.openWriter()) {
+            if (!pkg.isUnnamed()) {
+                w.write("package " + packageName + ";\n\n");
+            }
+            w.write("import " + ACCESSOR_PACKAGE + ".FieldAccessor;\n");
+            w.write("import " + ACCESSOR_PACKAGE + ".GeneratedFieldAccessors;\n\n");
+            w.write("/**\n * Field accessors for {@link " + typeName + "}. Generated by "
+                    + getClass().getSimpleName() + ". Do not edit.\n */\n");
+            w.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            w.write("public final class " + className + " implements GeneratedFieldAccessors {\n");
+            w.write("    @Override\n");
+            w.write("    public FieldAccessor get(String fieldName) {\n");
+            w.write("        switch (fieldName) {\n");
+            for (VariableElement field : fields) {
+                String access = field.getModifiers().contains(Modifier.STATIC)
+                        ? typeName + "." + field.getSimpleName()
+                        : "((" + typeName + ") parent)." + field.getSimpleName();
+
+                w.write("            case \"" + field.getSimpleName() + "\":\n");
+                w.write("                return new FieldAccessor() {\n");
+                w.write("                    @Override\n");
+                w.write("                    public Object get(Object parent) {\n");
+                w.write("                        return " + access + ";\n");
+                w.write("                    }\n\n");
+                w.write("                    @Override\n");
+                w.write("                    public void set(Object parent, Object value) {\n");
+                w.write("                        " + access + " = (" + castType(field.asType())
+                        + ") value;\n");
+                w.write("                    }\n");
+                w.write("                };\n");
+            }
+            w.write("            default:\n");
+            w.write("                return null;\n");
+            w.write("        }\n");
+            w.write("    }\n");
+            w.write("}\n");
+        }
+    }
+}
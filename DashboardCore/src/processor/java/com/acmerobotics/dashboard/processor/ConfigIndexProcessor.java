@@ -0,0 +1,101 @@
+package com.acmerobotics.dashboard.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code ConfigClassIndex} listing the {@code @Config} classes in the compilation,
+ * which the dashboard reads at startup instead of scanning the app for them. The index has a fixed
+ * name, so only one module of an app can generate it; pass {@code -Adashboard.configIndex=false}
+ * to the others.
+ */
+@SupportedAnnotationTypes(ConfigAccessorProcessor.CONFIG_ANNOTATION)
+@SupportedOptions(ConfigIndexProcessor.ENABLED_OPTION)
+public class ConfigIndexProcessor extends AbstractProcessor {
+    static final String ENABLED_OPTION = "dashboard.configIndex";
+
+    private static final String INDEX_PACKAGE = "com.acmerobotics.dashboard.config.reflection";
+    private static final String INDEX_NAME = "GeneratedConfigClassIndex";
+
+    private final Set<String> classNames = new TreeSet<>();
+    private final Set<TypeElement> originatingTypes = new TreeSet<>(
+            (a, b) -> a.getQualifiedName().toString().compareTo(b.getQualifiedName().toString()));
+    private boolean written;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if ("false".equals(processingEnv.getOptions().get(ENABLED_OPTION))) {
+            return false;
+        }
+
+        boolean found = false;
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type
+                    : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (written) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Config class generated after the index was written; it won't be"
+                                    + " registered", type);
+                    continue;
+                }
+
+                classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+                originatingTypes.add(type);
+                found = true;
+            }
+        }
+
+        // The index is written in the first round without new config classes, which sees the
+        // sources generated for them (e.g., accessors). Waiting for the last round would leave the
+        // index itself out of processing.
+        if (!written && !found && !classNames.isEmpty()) {
+            written = true;
+            try {
+                generate();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Unable to write config class index: " + e.getMessage());
+            }
+        }
+
+        return false;
+    }
+
+    private void generate() throws IOException {
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                INDEX_PACKAGE + "." + INDEX_NAME,
+                originatingTypes.toArray(new TypeElement[0]));
+        try (Writer w = file.openWriter()) {
+            w.write("package " + INDEX_PACKAGE + ";\n\n");
+            w.write("/**\n * {@code @Config} classes of the app. Generated by "
+                    + getClass().getSimpleName() + ". Do not edit.\n */\n");
+            w.write("public final class " + INDEX_NAME + " implements ConfigClassIndex {\n");
+            w.write("    @Override\n");
+            w.write("    public String[] getClassNames() {\n");
+            w.write("        return new String[] {\n");
+            for (String className : classNames) {
+                w.write("            \"" + className + "\",\n");
+            }
+            w.write("        };\n");
+            w.write("    }\n");
+            w.write("}\n");
+        }
+    }
+}
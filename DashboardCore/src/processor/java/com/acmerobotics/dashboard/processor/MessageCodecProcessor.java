@@ -0,0 +1,424 @@
+package com.acmerobotics.dashboard.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a streaming {@code MessageCodec} for every concrete {@code Message} subclass in the
+ * compilation and a {@code MessageCodecs} factory that registers all of them. The codecs write
+ * fields in the same order as Gson's reflective adapter (declared fields first, then {@code type})
+ * so the wire format is unchanged.
+ *
+ * <p>Message fields must not be private. Messages are decoded through a constructor whose
+ * parameters have the names and types of the fields or else through a no-arg constructor followed
+ * by field assignments.
+ *
+ * <p>Codecs are only generated when the {@value #ENABLED_OPTION} option is set, which only the
+ * DashboardCore build does. The processor jar also runs over user code for {@code @Config}
+ * classes, and a second {@code MessageCodecs} there would clash with this one.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(MessageCodecProcessor.ENABLED_OPTION)
+public class MessageCodecProcessor extends AbstractProcessor {
+    static final String ENABLED_OPTION = "dashboard.messageCodecs";
+
+    private static final String MESSAGE_CLASS = "com.acmerobotics.dashboard.message.Message";
+    private static final String MESSAGE_CODEC_CLASS =
+            "com.acmerobotics.dashboard.message.MessageCodec";
+    private static final String REGISTRY_PACKAGE = "com.acmerobotics.dashboard.message";
+    private static final String REGISTRY_NAME = "MessageCodecs";
+
+    private final List<String> codecs = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+    private boolean registryWritten;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!Boolean.parseBoolean(processingEnv.getOptions().get(ENABLED_OPTION))) {
+            return false;
+        }
+
+        TypeElement messageElement = processingEnv.getElementUtils().getTypeElement(MESSAGE_CLASS);
+        if (messageElement == null || registryWritten) {
+            return false;
+        }
+
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror messageType = types.erasure(messageElement.asType());
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (type.equals(messageElement)
+                    || type.getKind() != ElementKind.CLASS
+                    || type.getModifiers().contains(Modifier.ABSTRACT)
+                    || !types.isSubtype(types.erasure(type.asType()), messageType)) {
+                continue;
+            }
+
+            if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Skipping codec for non-public message", type);
+                continue;
+            }
+
+            try {
+                generateCodec(type, messageElement);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Unable to write codec: " + e.getMessage(), type);
+            }
+        }
+
+        if (!codecs.isEmpty()) {
+            try {
+                generateRegistry();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Unable to write " + REGISTRY_NAME + ": " + e.getMessage());
+            }
+            registryWritten = true;
+        }
+
+        return false;
+    }
+
+    private List<VariableElement> serializedFields(TypeElement type, TypeElement messageElement) {
+        // Gson walks from the concrete class up through its superclasses
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.equals(messageElement)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                fields.add(field);
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return fields;
+    }
+
+    // Returns the constructor whose parameters have the names and types of the fields, in any
+    // order, or null if there is none. Matching by name keeps two fields of the same type from
+    // being swapped when the parameters are declared in a different order.
+    private ExecutableElement matchingConstructor(TypeElement type, List<VariableElement> fields) {
+        Types types = processingEnv.getTypeUtils();
+        ExecutableElement match = null;
+        for (ExecutableElement constructor
+                : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)
+                    || constructor.getParameters().size() != fields.size()) {
+                continue;
+            }
+
+            boolean matches = true;
+            for (VariableElement parameter : constructor.getParameters()) {
+                VariableElement field = fieldNamed(fields, parameter.getSimpleName().toString());
+                if (field == null || !types.isSameType(types.erasure(parameter.asType()),
+                        types.erasure(field.asType()))) {
+                    matches = false;
+                    break;
+                }
+            }
+
+            if (matches) {
+                if (match != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "More than one constructor matches the message fields", type);
+                    return null;
+                }
+                match = constructor;
+            }
+        }
+        return match;
+    }
+
+    private static VariableElement fieldNamed(List<VariableElement> fields, String name) {
+        for (VariableElement field : fields) {
+            if (field.getSimpleName().contentEquals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInline(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return type.toString().equals("java.lang.String");
+        }
+    }
+
+    // Locals holding field values while reading are suffixed so they can't shadow the reader's
+    // own variables, e.g., for a field named "name".
+    private static String localName(VariableElement field) {
+        return field.getSimpleName() + "_";
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "0";
+            default:
+                return "null";
+        }
+    }
+
+    private static String writeStatement(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        String access = "value." + name;
+        TypeMirror type = field.asType();
+        switch (type.getKind()) {
+            case FLOAT:
+                // box so floats print like Gson does (0.1 rather than 0.10000000149011612)
+                return "out.value((Number) Float.valueOf(" + access + "));";
+            case BOOLEAN:
+            case INT:
+            case LONG:
+            case DOUBLE:
+                return "out.value(" + access + ");";
+            default:
+                if (isInline(type)) {
+                    return "out.value(" + access + ");";
+                }
+                return name + "Adapter.write(out, " + access + ");";
+        }
+    }
+
+    private static String readExpression(VariableElement field) {
+        TypeMirror type = field.asType();
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "in.nextBoolean()";
+            case INT:
+                return "in.nextInt()";
+            case LONG:
+                return "in.nextLong()";
+            case FLOAT:
+                return "(float) in.nextDouble()";
+            case DOUBLE:
+                return "in.nextDouble()";
+            default:
+                if (isInline(type)) {
+                    return "in.nextString()";
+                }
+                return field.getSimpleName() + "Adapter.read(in)";
+        }
+    }
+
+    private void generateCodec(TypeElement type, TypeElement messageElement) throws IOException {
+        List<VariableElement> fields = serializedFields(type, messageElement);
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Message fields must not be private for codec generation", field);
+                return;
+            }
+        }
+
+        ExecutableElement constructor = matchingConstructor(type, fields);
+        if (constructor == null) {
+            boolean hasNoArg = false;
+            for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE)) {
+                    hasNoArg = true;
+                }
+            }
+            if (!hasNoArg) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Messages need a constructor matching their fields or a no-arg "
+                                + "constructor for codec generation", type);
+                return;
+            }
+        }
+
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String messageName = type.getSimpleName().toString();
+        String codecName = messageName + "Codec";
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                packageName + "." + codecName, type);
+        try (Writer w = file.openWriter()) {
+            w.write("package " + packageName + ";\n\n");
+            w.write("import " + MESSAGE_CODEC_CLASS + ";\n");
+            w.write("import com.google.gson.Gson;\n");
+            w.write("import com.google.gson.TypeAdapter;\n");
+            w.write("import com.google.gson.reflect.TypeToken;\n");
+            w.write("import com.google.gson.stream.JsonReader;\n");
+            w.write("import com.google.gson.stream.JsonToken;\n");
+            w.write("import com.google.gson.stream.JsonWriter;\n\n");
+            w.write("import java.io.IOException;\n\n");
+            w.write("/**\n * Generated by " + getClass().getSimpleName() + ". Do not edit.\n */\n");
+            w.write("public final class " + codecName + " extends MessageCodec<" + messageName
+                    + "> {\n");
+
+            for (VariableElement field : fields) {
+                if (!isInline(field.asType())) {
+                    String fieldType = boxed(field.asType());
+                    w.write("    private final TypeAdapter<" + fieldType + "> "
+                            + field.getSimpleName() + "Adapter;\n");
+                }
+            }
+            w.write("\n    public " + codecName + "(Gson gson) {\n");
+            for (VariableElement field : fields) {
+                if (!isInline(field.asType())) {
+                    String fieldType = boxed(field.asType());
+                    w.write("        " + field.getSimpleName() + "Adapter = gson.getAdapter("
+                            + "new TypeToken<" + fieldType + ">() {});\n");
+                }
+            }
+            w.write("    }\n\n");
+
+            // write
+            w.write("    @Override\n");
+            w.write("    public void write(JsonWriter out, " + messageName + " value)"
+                    + " throws IOException {\n");
+            w.write("        if (value == null) {\n");
+            w.write("            out.nullValue();\n");
+            w.write("            return;\n");
+            w.write("        }\n\n");
+            w.write("        out.beginObject();\n");
+            for (VariableElement field : fields) {
+                w.write("        out.name(\"" + field.getSimpleName() + "\");\n");
+                w.write("        " + writeStatement(field) + "\n");
+            }
+            w.write("        out.name(\"type\");\n");
+            w.write("        out.value(value.getType() == null ? null : value.getType().name());\n");
+            w.write("        out.endObject();\n");
+            w.write("    }\n\n");
+
+            // read
+            w.write("    @Override\n");
+            w.write("    public " + messageName + " readFields(JsonReader in)"
+                    + " throws IOException {\n");
+            for (VariableElement field : fields) {
+                w.write("        " + field.asType() + " " + localName(field) + " = "
+                        + defaultValue(field.asType()) + ";\n");
+            }
+            w.write("\n        while (in.hasNext()) {\n");
+            w.write("            String name = in.nextName();\n");
+            w.write("            if (in.peek() == JsonToken.NULL && "
+                    + "!\"type\".equals(name)) {\n");
+            w.write("                in.nextNull();\n");
+            w.write("                continue;\n");
+            w.write("            }\n");
+            w.write("            switch (name) {\n");
+            for (VariableElement field : fields) {
+                w.write("                case \"" + field.getSimpleName() + "\":\n");
+                w.write("                    " + localName(field) + " = "
+                        + readExpression(field) + ";\n");
+                w.write("                    break;\n");
+            }
+            w.write("                default:\n");
+            w.write("                    // the type is implied by the codec\n");
+            w.write("                    in.skipValue();\n");
+            w.write("                    break;\n");
+            w.write("            }\n");
+            w.write("        }\n");
+            w.write("        in.endObject();\n\n");
+
+            if (constructor != null) {
+                StringBuilder args = new StringBuilder();
+                for (VariableElement parameter : constructor.getParameters()) {
+                    if (args.length() > 0) {
+                        args.append(", ");
+                    }
+                    args.append(localName(
+                            fieldNamed(fields, parameter.getSimpleName().toString())));
+                }
+                w.write("        return new " + messageName + "(" + args + ");\n");
+            } else {
+                w.write("        " + messageName + " value = new " + messageName + "();\n");
+                for (VariableElement field : fields) {
+                    w.write("        value." + field.getSimpleName() + " = "
+                            + localName(field) + ";\n");
+                }
+                w.write("        return value;\n");
+            }
+            w.write("    }\n");
+            w.write("}\n");
+        }
+
+        codecs.add(packageName + "." + codecName);
+        messages.add(type.getQualifiedName().toString());
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils()
+                    .boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private void generateRegistry() throws IOException {
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                REGISTRY_PACKAGE + "." + REGISTRY_NAME);
+        try (Writer w = file.openWriter()) {
+            w.write("package " + REGISTRY_PACKAGE + ";\n\n");
+            w.write("import com.google.gson.Gson;\n");
+            w.write("import com.google.gson.TypeAdapter;\n");
+            w.write("import com.google.gson.TypeAdapterFactory;\n");
+            w.write("import com.google.gson.reflect.TypeToken;\n\n");
+            w.write("/**\n * Registers the generated message codecs. Generated by "
+                    + getClass().getSimpleName() + ". Do not edit.\n */\n");
+            w.write("public final class " + REGISTRY_NAME + " implements TypeAdapterFactory {\n");
+            w.write("    @SuppressWarnings(\"unchecked\")\n");
+            w.write("    @Override\n");
+            w.write("    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {\n");
+            w.write("        Class<? super T> rawType = type.getRawType();\n");
+            for (int i = 0; i < codecs.size(); i++) {
+                w.write("        if (rawType == " + messages.get(i) + ".class) {\n");
+                w.write("            return (TypeAdapter<T>) new " + codecs.get(i) + "(gson);\n");
+                w.write("        }\n");
+            }
+            w.write("        return null;\n");
+            w.write("    }\n");
+            w.write("}\n");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.message.ImageFrame;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class CameraPipelineTests {
+    private static final CameraPipeline.Encoder<String> ENCODER =
+            (image, out) -> out.write(image.getBytes(StandardCharsets.US_ASCII));
+
+    private static String jpeg(ImageFrame frame) {
+        return new String(frame.getJpeg(), StandardCharsets.US_ASCII);
+    }
+
+    private static ImageFrame next(BlockingQueue<byte[]> frames) throws InterruptedException {
+        byte[] frame = frames.poll(5, TimeUnit.SECONDS);
+        assertTrue(frame != null, "no frame was sent");
+        return ImageFrame.decode(frame);
+    }
+
+    @Test
+    void imagesAreEncodedIntoFrames() throws InterruptedException {
+        BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+        CameraPipeline<String> pipeline = new CameraPipeline<>(ENCODER, frames::add);
+        pipeline.start();
+        try {
+            pipeline.offer("first", 640, 480, 3);
+            ImageFrame frame = next(frames);
+            assertEquals("first", jpeg(frame));
+            assertEquals(640, frame.getWidth());
+            assertEquals(480, frame.getHeight());
+            assertEquals(3, frame.getStreamId());
+
+            // the encoder buffer is reused, so frames mustn't share it
+            pipeline.offer("second, longer", 640, 480, 3);
+            assertEquals("second, longer", jpeg(next(frames)));
+            assertEquals("first", jpeg(frame));
+
+            CameraStreamStats stats = pipeline.getStats();
+            assertEquals(2, stats.getCapturedFrames());
+            assertEquals(2, stats.getSentFrames());
+            assertEquals(0, stats.getDroppedFrames());
+            assertTrue(stats.getFrameAgeMaxMs() >= 0);
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void slowSenderSkipsToLatestFrame() throws InterruptedException {
+        BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CameraPipeline<String> pipeline = new CameraPipeline<>(ENCODER, frame -> {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(frame);
+        });
+        pipeline.start();
+        try {
+            pipeline.offer("0", 1, 1, 0);
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+            // offering never waits for the blocked sender
+            for (int i = 1; i <= 5; i++) {
+                pipeline.offer(Integer.toString(i), 1, 1, 0);
+            }
+            release.countDown();
+
+            assertEquals("0", jpeg(next(frames)));
+            ImageFrame frame = next(frames);
+            while (!jpeg(frame).equals("5")) {
+                frame = next(frames);
+            }
+
+            CameraStreamStats stats = pipeline.getStats();
+            assertEquals(6, stats.getCapturedFrames());
+            assertTrue(stats.getSentFrames() < 6);
+            assertEquals(6, stats.getSentFrames() + stats.getDroppedFrames());
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void failedFramesAreCounted() throws InterruptedException {
+        BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+        CameraPipeline<String> pipeline = new CameraPipeline<>((image, out) -> {
+            if (image.equals("recycled")) {
+                throw new IllegalStateException("Can't compress a recycled bitmap");
+            }
+            ENCODER.encode(image, out);
+        }, frames::add);
+        pipeline.start();
+        try {
+            pipeline.offer("recycled", 1, 1, 0);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pipeline.getStats().getFailedFrames() == 0) {
+                assertTrue(System.currentTimeMillis() < deadline, "no frame failed");
+                Thread.sleep(10);
+            }
+
+            // the pipeline keeps going
+            pipeline.offer("fine", 1, 1, 0);
+            assertEquals("fine", jpeg(next(frames)));
+
+            CameraStreamStats stats = pipeline.getStats();
+            assertEquals(2, stats.getCapturedFrames());
+            assertEquals(1, stats.getSentFrames());
+            assertEquals(1, stats.getFailedFrames());
+        } finally {
+            pipeline.stop();
+        }
+    }
+}
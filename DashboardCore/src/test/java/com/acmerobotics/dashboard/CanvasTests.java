@@ -0,0 +1,147 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.acmerobotics.dashboard.canvas.BufferedCanvas;
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.canvas.CanvasOp;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+public class CanvasTests {
+    private static JsonArray xPoints(Canvas canvas, int opIndex) {
+        JsonObject op = DashboardCore.GSON.toJsonTree(canvas.getOperations().get(opIndex))
+                .getAsJsonObject();
+        return op.getAsJsonArray("xPoints");
+    }
+
+    @Test
+    void simplifyCollinearPolyline() {
+        double[] xs = new double[1000];
+        double[] ys = new double[1000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = i;
+            ys[i] = 2 * i;
+        }
+
+        Canvas canvas = new Canvas()
+                .setPolylineTolerance(0.5)
+                .strokePolyline(xs, ys);
+        canvas.simplifyPolylines();
+
+        JsonArray simplified = xPoints(canvas, 0);
+        assertEquals(2, simplified.size());
+        assertEquals(0, simplified.get(0).getAsDouble());
+        assertEquals(999, simplified.get(1).getAsDouble());
+        // the caller's arrays are left alone
+        assertEquals(1000, xs.length);
+    }
+
+    @Test
+    void simplifyKeepsCorners() {
+        Canvas canvas = new Canvas()
+                .setPolylineTolerance(0.1)
+                .strokePolyline(new double[] {0, 1, 2, 2, 2}, new double[] {0, 0, 0, 1, 2});
+        canvas.simplifyPolylines();
+
+        assertEquals(3, xPoints(canvas, 0).size());
+    }
+
+    @Test
+    void simplifyRespectsScale() {
+        Canvas canvas = new Canvas()
+                .setPolylineTolerance(1)
+                .setScale(10, 10)
+                .strokePolyline(new double[] {0, 1, 2}, new double[] {0, 0.5, 0});
+        canvas.simplifyPolylines();
+
+        // the middle point is 5 field units off the line
+        assertEquals(3, xPoints(canvas, 1).size());
+    }
+
+    @Test
+    void simplifyDisabledByDefault() {
+        Canvas canvas = new Canvas()
+                .strokePolyline(new double[] {0, 1, 2}, new double[] {0, 0, 0});
+        canvas.simplifyPolylines();
+
+        assertEquals(3, xPoints(canvas, 0).size());
+    }
+
+    private static void drawEverything(Canvas canvas) {
+        canvas.setAlpha(0.25)
+                .drawImage("/dash/ftc.jpg", 24, 24, 48, 48, 0.5, 1, 2, false)
+                .drawGrid(0, 0, 144, 144, 7, 7)
+                .setRotation(Math.PI)
+                .setTranslation(1, -2)
+                .setScale(1.5, 2)
+                .setStrokeWidth(1)
+                .setStroke("green")
+                .setFill(null)
+                .strokeLine(0, 0, 0, 24)
+                .strokeText("Y axis", 0, 24, "8px serif", -1.5, false)
+                .fillText("X axis", 0, 0, "8px Arial", 0)
+                .strokeCircle(0, 0, 50)
+                .fillPolygon(new double[] {0, 1, 2}, new double[] {3, 4, 5})
+                .strokePolygon(null, new double[] {1})
+                .strokeRect(1, 2, 3, 4)
+                .fillRect(5, 6, 7, 8)
+                .strokePolyline(new double[] {0, 1, 2, 3}, new double[] {0, 0, 0, 1});
+    }
+
+    @Test
+    void bufferedCanvasMatchesCanvas() {
+        Canvas canvas = new Canvas();
+        drawEverything(canvas);
+
+        BufferedCanvas bufferedCanvas = new BufferedCanvas();
+        // reuse must not leave anything behind
+        drawEverything(bufferedCanvas);
+        bufferedCanvas.reset();
+        drawEverything(bufferedCanvas);
+
+        assertEquals(DashboardCore.GSON.toJson(canvas), DashboardCore.GSON.toJson(bufferedCanvas));
+        assertEquals(DashboardCore.GSON.toJson(canvas.getOperations()),
+                DashboardCore.GSON.toJson(bufferedCanvas.getOperations()));
+
+        canvas.setPolylineTolerance(0.1).simplifyPolylines();
+        bufferedCanvas.setPolylineTolerance(0.1).simplifyPolylines();
+        assertEquals(DashboardCore.GSON.toJson(canvas), DashboardCore.GSON.toJson(bufferedCanvas));
+    }
+
+    @Test
+    void bufferedCanvasRoundTrips() {
+        BufferedCanvas canvas = new BufferedCanvas();
+        drawEverything(canvas);
+        String json = DashboardCore.GSON.toJson(canvas);
+
+        BufferedCanvas read = DashboardCore.GSON.fromJson(json, BufferedCanvas.class);
+        assertEquals(json, DashboardCore.GSON.toJson(read));
+    }
+
+    private static class CustomOp extends CanvasOp {
+        private final int custom = 3;
+
+        CustomOp() {
+            super(Type.CIRCLE);
+        }
+    }
+
+    @Test
+    void streamingAdaptersMatchReflection() {
+        Gson reflectiveGson = new GsonBuilder().serializeNulls().create();
+
+        TelemetryPacket packet = new TelemetryPacket();
+        drawEverything(packet.fieldOverlay());
+        packet.fieldOverlay()
+                .strokeSpline(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12)
+                .getOperations().add(new CustomOp());
+
+        assertEquals(reflectiveGson.toJson(packet), DashboardCore.GSON.toJson(packet));
+    }
+}
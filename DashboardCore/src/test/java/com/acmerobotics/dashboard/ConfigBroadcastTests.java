@@ -0,0 +1,108 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.ConstantProvider;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.redux.GetConfig;
+import com.acmerobotics.dashboard.message.redux.GetConfigSubtree;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDiff;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigBroadcastTests {
+    public static class Gains {
+        public double kP = 1.0;
+    }
+
+    public static class Drive {
+        public static Gains gains = new Gains();
+    }
+
+    @Test
+    void slowClientDoesNotBlockConfigChanges() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.setConfigWatchInterval(0);
+
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Message> received = new CopyOnWriteArrayList<>();
+        core.newSocket(message -> {
+            received.add(message);
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }).onOpen();
+
+        Thread first = new Thread(() -> core.addConfigVariable("Drive", "kP",
+                new ConstantProvider<>(1.0)));
+        first.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        // returns while the first broadcast is still being sent
+        core.addConfigVariable("Drive", "kI", new ConstantProvider<>(0.0));
+        core.removeConfigVariable("Drive", "kI");
+        assertEquals(1, received.size());
+
+        release.countDown();
+        first.join(5000);
+
+        assertEquals(3, received.size());
+        assertInstanceOf(ReceiveConfig.class, received.get(0));
+        for (int i = 1; i < received.size(); i++) {
+            assertInstanceOf(ReceiveConfigDiff.class, received.get(i));
+            assertEquals(i, DashboardCore.GSON.toJsonTree(received.get(i)).getAsJsonObject()
+                    .get("baseRevision").getAsLong());
+        }
+    }
+
+    @Test
+    void subtreeRequestsAreAlwaysAnswered() {
+        DashboardCore core = new DashboardCore();
+        core.setConfigWatchInterval(0);
+        core.withConfigRoot(root -> root.putVariable("Drive",
+                ReflectionConfig.createVariableFromClass(Drive.class)));
+
+        List<Message> received = new CopyOnWriteArrayList<>();
+        SocketHandler socket = core.newSocket(received::add);
+        socket.onOpen();
+        socket.onMessage(new GetConfig());
+        JsonObject config = JsonParser.parseString(
+                DashboardCore.GSON.toJson(received.get(received.size() - 1))).getAsJsonObject();
+        long epoch = config.get("epoch").getAsLong();
+        long revision = config.get("revision").getAsLong();
+
+        // expanding sends the children to every client
+        int sent = received.size();
+        socket.onMessage(new GetConfigSubtree(Arrays.asList("Drive", "gains"), epoch, revision));
+        assertEquals(sent + 1, received.size());
+        assertInstanceOf(ReceiveConfigDiff.class, received.get(sent));
+
+        // already expanded and missing paths are answered with what changed since the revision
+        socket.onMessage(new GetConfigSubtree(Arrays.asList("Drive", "gains"), epoch, revision));
+        assertEquals(sent + 2, received.size());
+        assertEquals(DashboardCore.GSON.toJson(received.get(sent)),
+                DashboardCore.GSON.toJson(received.get(sent + 1)));
+
+        socket.onMessage(new GetConfigSubtree(Arrays.asList("Arm", "gains"), epoch,
+                revision + 1));
+        assertEquals(sent + 3, received.size());
+        assertInstanceOf(ReceiveConfigDiff.class, received.get(sent + 2));
+    }
+}
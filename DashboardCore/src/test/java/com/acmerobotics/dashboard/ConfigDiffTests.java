@@ -0,0 +1,173 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.ConfigDiff;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ConfigDiffTests {
+    public static class Pid {
+        public double kP = 1.0;
+        public double kI = 0.0;
+    }
+
+    public static class Drive {
+        public static Pid pid = new Pid();
+        public static int maxSpeed = 10;
+    }
+
+    public static class Lookup {
+        public static double[] table = {0.0, 1.0, 2.0, 3.0};
+    }
+
+    private static JsonElement tree(CustomVariable root) {
+        return DashboardCore.GSON.toJsonTree(root);
+    }
+
+    private static CustomVariable root() {
+        CustomVariable drive = ReflectionConfig.createVariableFromClass(Drive.class);
+        ((LazyCustomVariable) drive.getVariable("pid")).materialize();
+
+        CustomVariable root = new CustomVariable();
+        root.putVariable("Drive", drive);
+        return root;
+    }
+
+    @Test
+    void unchangedTreeIsEmpty() {
+        ConfigDiff diff = ConfigDiff.between(tree(root()), tree(root()));
+        assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    void changedLeafKeepsOnlyItsPath() {
+        JsonElement before = tree(root());
+        Drive.pid.kP = 2.0;
+        try {
+            JsonObject changed = ConfigDiff.between(before, tree(root())).getChanged()
+                    .getAsJsonObject();
+
+            JsonObject drive = changed.getAsJsonObject("__value").getAsJsonObject("Drive")
+                    .getAsJsonObject("__value");
+            assertEquals(Collections.singleton("pid"), drive.keySet());
+
+            JsonObject pid = drive.getAsJsonObject("pid").getAsJsonObject("__value");
+            assertEquals(Collections.singleton("kP"), pid.keySet());
+            assertEquals(2.0, pid.getAsJsonObject("kP").get("__value").getAsDouble(), 0.0);
+        } finally {
+            Drive.pid.kP = 1.0;
+        }
+    }
+
+    @Test
+    void removedVariableIsListedByPath() {
+        CustomVariable after = root();
+        ((CustomVariable) after.getVariable("Drive")).removeVariable("maxSpeed");
+
+        ConfigDiff diff = ConfigDiff.between(tree(root()), tree(after));
+        assertEquals(Collections.singletonList(Arrays.asList("Drive", "maxSpeed")),
+                diff.getRemoved());
+        assertEquals(0, diff.getChanged().getAsJsonObject().getAsJsonObject("__value").size());
+    }
+
+    @Test
+    void expandedSubtreeIsSentWhole() {
+        CustomVariable root = new CustomVariable();
+        root.putVariable("Drive", ReflectionConfig.createVariableFromClass(Drive.class));
+        JsonElement before = tree(root);
+
+        CustomVariable drive = (CustomVariable) root.getVariable("Drive");
+        ((LazyCustomVariable) drive.getVariable("pid")).materialize();
+
+        JsonObject pid = ConfigDiff.between(before, tree(root)).getChanged().getAsJsonObject()
+                .getAsJsonObject("__value").getAsJsonObject("Drive")
+                .getAsJsonObject("__value").getAsJsonObject("pid");
+        assertEquals(2, pid.getAsJsonObject("__value").size());
+        assertFalse(pid.has("__collapsed"));
+    }
+
+    private static JsonElement lookupTree() {
+        CustomVariable root = new CustomVariable();
+        root.putVariable("Lookup", ReflectionConfig.createVariableFromClass(Lookup.class));
+        return tree(root);
+    }
+
+    private static JsonObject lookupTable(JsonElement tree) {
+        return tree.getAsJsonObject().getAsJsonObject("__value").getAsJsonObject("Lookup")
+                .getAsJsonObject("__value").getAsJsonObject("table");
+    }
+
+    @Test
+    void changedArrayElementIsSentAsUpdate() {
+        JsonElement before = lookupTree();
+        Lookup.table[2] = 5.0;
+        try {
+            JsonObject table = lookupTable(ConfigDiff.between(before, lookupTree()).getChanged());
+            assertFalse(table.has("__value"));
+            assertEquals(4, table.get("__length").getAsInt());
+            assertEquals(Collections.singleton("2"), table.getAsJsonObject("__updates").keySet());
+            assertEquals(5.0, table.getAsJsonObject("__updates").get("2").getAsDouble(), 0.0);
+        } finally {
+            Lookup.table[2] = 2.0;
+        }
+    }
+
+    @Test
+    void mostlyChangedArrayIsSentWhole() {
+        JsonElement before = lookupTree();
+        double[] table = Lookup.table;
+        Lookup.table = new double[] {4.0, 5.0, 6.0, 3.0};
+        try {
+            JsonObject changed = lookupTable(ConfigDiff.between(before, lookupTree()).getChanged());
+            assertEquals(4, changed.getAsJsonArray("__value").size());
+            assertFalse(changed.has("__updates"));
+        } finally {
+            Lookup.table = table;
+        }
+    }
+
+    @Test
+    void arrayUpdatesConflictOnlyOnSharedIndices() {
+        JsonElement before = lookupTree();
+        Lookup.table[0] = 5.0;
+        try {
+            ConfigDiff diff = ConfigDiff.between(before, lookupTree());
+            Lookup.table[0] = 0.0;
+
+            Lookup.table[3] = 6.0;
+            assertFalse(diff.conflictsWith(ConfigDiff.between(before, lookupTree()).getChanged()));
+            Lookup.table[0] = 6.0;
+            assertTrue(diff.conflictsWith(ConfigDiff.between(before, lookupTree()).getChanged()));
+        } finally {
+            Lookup.table = new double[] {0.0, 1.0, 2.0, 3.0};
+        }
+    }
+
+    @Test
+    void conflictOnlyForTouchedVariables() {
+        JsonElement before = tree(root());
+        Drive.pid.kP = 2.0;
+        try {
+            ConfigDiff diff = ConfigDiff.between(before, tree(root()));
+
+            CustomVariable maxSpeedUpdate = root();
+            ((CustomVariable) maxSpeedUpdate.getVariable("Drive")).removeVariable("pid");
+            assertFalse(diff.conflictsWith(tree(maxSpeedUpdate)));
+
+            assertTrue(diff.conflictsWith(tree(root())));
+        } finally {
+            Drive.pid.kP = 1.0;
+        }
+    }
+}
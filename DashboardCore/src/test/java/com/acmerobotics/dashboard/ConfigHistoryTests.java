@@ -0,0 +1,49 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.acmerobotics.dashboard.config.ConfigHistory;
+import com.acmerobotics.dashboard.config.SerializedConfig;
+import com.google.gson.JsonPrimitive;
+
+import org.junit.jupiter.api.Test;
+
+public class ConfigHistoryTests {
+    private static SerializedConfig config(int value) {
+        return new SerializedConfig(new JsonPrimitive(value));
+    }
+
+    @Test
+    void emptyHistoryHasNoRevisions() {
+        ConfigHistory history = ConfigHistory.empty(2);
+        assertEquals(0, history.getRevision());
+        assertNull(history.getLatest());
+        assertNull(history.get(0));
+    }
+
+    @Test
+    void oldRevisionsAreDropped() {
+        SerializedConfig first = config(1);
+        SerializedConfig second = config(2);
+        SerializedConfig third = config(3);
+
+        ConfigHistory history = ConfigHistory.empty(2).add(first).add(second).add(third);
+        assertEquals(3, history.getRevision());
+        assertSame(third, history.getLatest());
+        assertSame(second, history.get(2));
+        assertNull(history.get(1));
+        assertNull(history.get(4));
+    }
+
+    @Test
+    void addingLeavesThePublishedHistoryUnchanged() {
+        SerializedConfig first = config(1);
+        ConfigHistory published = ConfigHistory.empty(2).add(first);
+
+        published.add(config(2));
+        assertEquals(1, published.getRevision());
+        assertSame(first, published.getLatest());
+    }
+}
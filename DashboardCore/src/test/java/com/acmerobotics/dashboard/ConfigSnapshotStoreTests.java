@@ -0,0 +1,297 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.acmerobotics.dashboard.config.ConfigSnapshotStore;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.redux.LoadConfigSnapshot;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigSnapshots;
+import com.acmerobotics.dashboard.message.redux.SaveConfigSnapshot;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigSnapshotStoreTests {
+    public static class Lift {
+        public static int height = 3;
+        public static double kP = 0.5;
+    }
+
+    public static class Claw {
+        public static double open = 0.2;
+    }
+
+    public static class Gains {
+        public double kP = 1.0;
+        public double kD = 0.0;
+    }
+
+    public static class Drive {
+        public static Gains gains = new Gains();
+    }
+
+    private static void reset() {
+        Lift.height = 3;
+        Lift.kP = 0.5;
+        Claw.open = 0.2;
+        Drive.gains = new Gains();
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static CustomVariable root(Class<?>... classes) {
+        CustomVariable root = new CustomVariable();
+        for (Class<?> klass : classes) {
+            root.putVariable(klass.getSimpleName(),
+                    ReflectionConfig.createVariableFromClass(klass));
+        }
+        return root;
+    }
+
+    // serialized save of a new Lift.kP
+    private static JsonElement liftSave() {
+        CustomVariable lift = root(Lift.class);
+        ((CustomVariable) lift.getVariable("Lift")).removeVariable("height");
+        Lift.kP = 0.8;
+        JsonElement save = DashboardCore.GSON.toJsonTree(lift);
+        Lift.kP = 0.5;
+        return save;
+    }
+
+    @Test
+    void savedValuesAreRestoredAfterRestart() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            ConfigSnapshotStore first = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            first.recordSave(liftSave());
+            first.flush();
+
+            ConfigSnapshotStore second = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            second.restore(root(Lift.class));
+            assertEquals(0.8, Lift.kP, 0.0);
+            assertEquals(3, Lift.height);
+            assertFalse(new File(directory, "config.json.tmp").exists());
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+
+    @Test
+    void savedValuesWaitForTheirVariables() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            CustomVariable saved = root(Lift.class, Claw.class);
+            Claw.open = 0.6;
+            ConfigSnapshotStore first = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            first.recordSave(DashboardCore.GSON.toJsonTree(saved));
+            first.flush();
+            Claw.open = 0.2;
+
+            ConfigSnapshotStore second = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            CustomVariable root = root(Lift.class);
+            second.restore(root);
+            assertEquals(0.2, Claw.open, 0.0);
+
+            root.putVariable("Claw", ReflectionConfig.createVariableFromClass(Claw.class));
+            second.restore(root);
+            assertEquals(0.6, Claw.open, 0.0);
+
+            // values are only restored once, so later changes from code stay
+            Claw.open = 0.4;
+            second.restore(root);
+            assertEquals(0.4, Claw.open, 0.0);
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+
+    @Test
+    void namedSnapshotsReplaceTheValues() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            ConfigSnapshotStore store = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            CustomVariable root = root(Lift.class);
+
+            Lift.height = 7;
+            store.saveSnapshot("high", DashboardCore.GSON.toJsonTree(root));
+            Lift.height = 1;
+            store.saveSnapshot("low", DashboardCore.GSON.toJsonTree(root));
+            assertEquals(Arrays.asList("high", "low"), store.getSnapshotNames());
+
+            store.restoreSnapshot(store.readSnapshot("high"), root);
+            assertEquals(7, Lift.height);
+
+            // the loaded values are persisted like saved ones
+            store.flush();
+            Lift.height = 3;
+            new ConfigSnapshotStore(directory, DashboardCore.GSON).restore(root(Lift.class));
+            assertEquals(7, Lift.height);
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+
+    @Test
+    void snapshotsHoldCollapsedObjects() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            DashboardCore core = new DashboardCore();
+            core.setConfigWatchInterval(0);
+            core.withConfigRoot(root -> root.putVariable("Drive",
+                    ReflectionConfig.createVariableFromClass(Drive.class)));
+            core.setConfigSnapshotDirectory(directory);
+
+            // no client expanded the gains
+            Drive.gains.kP = 2.5;
+            core.saveConfigSnapshot("tuned");
+            Drive.gains.kP = 1.0;
+            core.loadConfigSnapshot("tuned");
+            assertEquals(2.5, Drive.gains.kP, 0.0);
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+
+    @Test
+    void loadingSnapshotsKeepsOtherSavedValues() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            ConfigSnapshotStore store = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            CustomVariable root = root(Drive.class, Lift.class);
+
+            // a snapshot taken while the gains were collapsed lacks their values
+            Lift.height = 7;
+            JsonObject snapshot = DashboardCore.GSON.toJsonTree(root).getAsJsonObject();
+            Lift.height = 3;
+
+            Drive.gains.kP = 2.5;
+            store.recordSave(ConfigSnapshotStore.serializeAll(root(Drive.class),
+                    DashboardCore.GSON));
+            store.restoreSnapshot(snapshot, root);
+            assertEquals(7, Lift.height);
+            assertEquals(2.5, Drive.gains.kP, 0.0);
+
+            store.flush();
+            reset();
+            new ConfigSnapshotStore(directory, DashboardCore.GSON)
+                    .restore(root(Drive.class, Lift.class));
+            assertEquals(7, Lift.height);
+            assertEquals(2.5, Drive.gains.kP, 0.0);
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+
+    @Test
+    void failedRequestsAreReported() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            DashboardCore core = new DashboardCore();
+            core.enabled = true;
+            core.setConfigWatchInterval(0);
+            core.setConfigSnapshotDirectory(directory);
+
+            List<Message> received = new ArrayList<>();
+            SocketHandler socket = core.newSocket(received::add);
+            socket.onMessage(new LoadConfigSnapshot("missing"));
+            socket.onMessage(new SaveConfigSnapshot("../config"));
+
+            assertEquals(2, received.size());
+            for (Message message : received) {
+                assertNotNull(((ReceiveConfigSnapshots) message).getError());
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    void malformedFilesAreIgnored() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            try (FileOutputStream out = new FileOutputStream(new File(directory, "config.json"))) {
+                out.write("{\"version\": 1, \"config\": [".getBytes(StandardCharsets.UTF_8));
+            }
+
+            ConfigSnapshotStore store = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            assertNotNull(store.getLastError());
+            store.restore(root(Lift.class));
+            assertEquals(0.5, Lift.kP, 0.0);
+            assertEquals(Collections.emptyList(), store.getSnapshotNames());
+            assertThrows(IOException.class, () -> store.readSnapshot("missing"));
+            assertThrows(IllegalArgumentException.class, () -> store.readSnapshot("../config"));
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+
+    @Test
+    void writeFailuresAreReported() throws IOException, InterruptedException {
+        File file = Files.createTempFile("config-snapshots", null).toFile();
+        try {
+            // the directory can't be created below a file
+            BlockingQueue<IOException> errors = new LinkedBlockingQueue<>();
+            ConfigSnapshotStore store = new ConfigSnapshotStore(new File(file, "dash"),
+                    DashboardCore.GSON, errors::add);
+            store.recordSave(liftSave());
+
+            IOException error = errors.poll(5, TimeUnit.SECONDS);
+            assertNotNull(error);
+            assertEquals(error, store.getLastError());
+            assertThrows(IOException.class, store::flush);
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    void closingWritesPendingValues() throws IOException {
+        File directory = Files.createTempDirectory("config-snapshots").toFile();
+        try {
+            ConfigSnapshotStore first = new ConfigSnapshotStore(directory, DashboardCore.GSON);
+            first.recordSave(liftSave());
+            first.close();
+            // later saves are only kept in memory
+            first.recordSave(liftSave());
+
+            new ConfigSnapshotStore(directory, DashboardCore.GSON).restore(root(Lift.class));
+            assertEquals(0.8, Lift.kP, 0.0);
+        } finally {
+            delete(directory);
+            reset();
+        }
+    }
+}
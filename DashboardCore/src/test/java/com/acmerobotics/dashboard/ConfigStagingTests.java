@@ -0,0 +1,171 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.ConstantProvider;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.redux.GetConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigConflict;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDiff;
+import com.acmerobotics.dashboard.message.redux.SaveConfig;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigStagingTests {
+    public static class Pid {
+        public static double kP = 1.0;
+        public static double kI = 0.0;
+        public static double kD = 0.0;
+    }
+
+    private static SaveConfig save(double kP, double kI, double kD) {
+        return save(kP, kI, kD, 0, 0);
+    }
+
+    private static SaveConfig save(double kP, double kI, double kD, long epoch,
+                                   long baseRevision) {
+        CustomVariable pid = new CustomVariable();
+        pid.putVariable("kP", new BasicVariable<>(new ConstantProvider<>(kP)));
+        pid.putVariable("kI", new BasicVariable<>(new ConstantProvider<>(kI)));
+        pid.putVariable("kD", new BasicVariable<>(new ConstantProvider<>(kD)));
+
+        CustomVariable root = new CustomVariable();
+        root.putVariable("Pid", pid);
+        return new SaveConfig(root, epoch, baseRevision);
+    }
+
+    private static DashboardCore core() {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        core.setConfigWatchInterval(0);
+        core.withConfigRoot(root -> root.putVariable("Pid",
+                ReflectionConfig.createVariableFromClass(Pid.class)));
+        return core;
+    }
+
+    @Test
+    void stagedSavesWaitForApply() {
+        DashboardCore core = core();
+        core.setConfigStaging(true);
+        SocketHandler socket = core.newSocket(message -> { });
+        socket.onOpen();
+
+        try {
+            socket.onMessage(save(2.0, 0.1, 0.01));
+            socket.onMessage(save(3.0, 0.2, 0.02));
+            assertEquals(1.0, Pid.kP, 0.0);
+            assertEquals(0.0, Pid.kI, 0.0);
+
+            assertTrue(core.applyPendingConfig());
+            assertEquals(3.0, Pid.kP, 0.0);
+            assertEquals(0.2, Pid.kI, 0.0);
+            assertEquals(0.02, Pid.kD, 0.0);
+
+            assertFalse(core.applyPendingConfig());
+        } finally {
+            Pid.kP = 1.0;
+            Pid.kI = 0.0;
+            Pid.kD = 0.0;
+        }
+    }
+
+    @Test
+    void appliedSavesAreSentFromAnotherThread() throws InterruptedException {
+        DashboardCore core = core();
+        core.setConfigStaging(true);
+        BlockingQueue<Thread> senders = new LinkedBlockingQueue<>();
+        SocketHandler socket = core.newSocket(message -> {
+            if (message instanceof ReceiveConfigDiff) {
+                senders.add(Thread.currentThread());
+            }
+        });
+        socket.onOpen();
+
+        try {
+            socket.onMessage(save(2.0, 0.1, 0.01));
+            assertTrue(core.applyPendingConfig());
+            assertEquals(2.0, Pid.kP, 0.0);
+
+            Thread sender = senders.poll(5, TimeUnit.SECONDS);
+            assertNotNull(sender);
+            assertNotSame(Thread.currentThread(), sender);
+        } finally {
+            Pid.kP = 1.0;
+            Pid.kI = 0.0;
+            Pid.kD = 0.0;
+        }
+    }
+
+    @Test
+    void stagedSavesOfOtherClientsConflict() {
+        DashboardCore core = core();
+        core.setConfigStaging(true);
+        List<Message> first = new CopyOnWriteArrayList<>();
+        List<Message> second = new CopyOnWriteArrayList<>();
+        SocketHandler firstSocket = core.newSocket(first::add);
+        SocketHandler secondSocket = core.newSocket(second::add);
+        firstSocket.onOpen();
+        secondSocket.onOpen();
+
+        try {
+            firstSocket.onMessage(new GetConfig());
+            JsonObject config = JsonParser.parseString(
+                    DashboardCore.GSON.toJson(first.get(first.size() - 1))).getAsJsonObject();
+            long epoch = config.get("epoch").getAsLong();
+            long revision = config.get("revision").getAsLong();
+
+            // a client's own staged saves don't conflict with each other
+            firstSocket.onMessage(save(2.0, 0.1, 0.01, epoch, revision));
+            firstSocket.onMessage(save(2.5, 0.1, 0.01, epoch, revision));
+            secondSocket.onMessage(save(3.0, 0.2, 0.02, epoch, revision));
+            assertFalse(first.stream().anyMatch(m -> m instanceof ReceiveConfigConflict));
+            assertTrue(second.stream().anyMatch(m -> m instanceof ReceiveConfigConflict));
+
+            assertTrue(core.applyPendingConfig());
+            assertEquals(2.5, Pid.kP, 0.0);
+            assertEquals(0.1, Pid.kI, 0.0);
+        } finally {
+            Pid.kP = 1.0;
+            Pid.kI = 0.0;
+            Pid.kD = 0.0;
+        }
+    }
+
+    @Test
+    void disablingStagingAppliesPendingSaves() {
+        DashboardCore core = core();
+        core.setConfigStaging(true);
+        SocketHandler socket = core.newSocket(message -> { });
+        socket.onOpen();
+
+        try {
+            socket.onMessage(save(2.0, 0.1, 0.01));
+            assertEquals(1.0, Pid.kP, 0.0);
+
+            core.setConfigStaging(false);
+            assertEquals(2.0, Pid.kP, 0.0);
+
+            socket.onMessage(save(4.0, 0.1, 0.01));
+            assertEquals(4.0, Pid.kP, 0.0);
+        } finally {
+            Pid.kP = 1.0;
+            Pid.kI = 0.0;
+            Pid.kD = 0.0;
+        }
+    }
+}
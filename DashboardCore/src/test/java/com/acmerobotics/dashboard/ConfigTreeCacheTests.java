@@ -0,0 +1,125 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.ConfigTreeCache;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+public class ConfigTreeCacheTests {
+    public static class Pid {
+        public double kP = 1.0;
+    }
+
+    public static class Arm {
+        public static Pid pid = new Pid();
+        public static double offset = Double.NaN;
+    }
+
+    public static class Lift {
+        public static int height = 3;
+        public static int[] presets = {0, 10, 20};
+    }
+
+    private static CustomVariable root() {
+        CustomVariable arm = ReflectionConfig.createVariableFromClass(Arm.class);
+        ((LazyCustomVariable) arm.getVariable("pid")).materialize();
+
+        CustomVariable root = new CustomVariable();
+        root.putVariable("Arm", arm);
+        root.putVariable("Lift", ReflectionConfig.createVariableFromClass(Lift.class));
+        return root;
+    }
+
+    private static JsonElement child(JsonElement tree, String name) {
+        return tree.getAsJsonObject().getAsJsonObject("__value").get(name);
+    }
+
+    @Test
+    void matchesFullSerialization() {
+        CustomVariable root = root();
+        assertEquals(DashboardCore.GSON.toJsonTree(root),
+                new ConfigTreeCache(DashboardCore.GSON).serialize(root));
+    }
+
+    @Test
+    void unchangedTreeIsReused() {
+        CustomVariable root = root();
+        ConfigTreeCache cache = new ConfigTreeCache(DashboardCore.GSON);
+        assertSame(cache.serialize(root), cache.serialize(root));
+    }
+
+    @Test
+    void onlyChangedSubtreesAreReplaced() {
+        CustomVariable root = root();
+        ConfigTreeCache cache = new ConfigTreeCache(DashboardCore.GSON);
+        JsonElement before = cache.serialize(root);
+
+        Arm.pid.kP = 2.0;
+        try {
+            JsonElement after = cache.serialize(root);
+            assertNotSame(before, after);
+            assertSame(child(before, "Lift"), child(after, "Lift"));
+            assertSame(child(child(before, "Arm"), "offset"), child(child(after, "Arm"), "offset"));
+            assertEquals(DashboardCore.GSON.toJsonTree(root), after);
+        } finally {
+            Arm.pid.kP = 1.0;
+        }
+    }
+
+    @Test
+    void arrayElementChangeIsDetected() {
+        CustomVariable root = root();
+        ConfigTreeCache cache = new ConfigTreeCache(DashboardCore.GSON);
+        JsonElement before = cache.serialize(root);
+
+        Lift.presets[1] = 15;
+        try {
+            JsonElement after = cache.serialize(root);
+            assertNotSame(child(child(before, "Lift"), "presets"),
+                    child(child(after, "Lift"), "presets"));
+            assertSame(child(before, "Arm"), child(after, "Arm"));
+            assertEquals(DashboardCore.GSON.toJsonTree(root), after);
+        } finally {
+            Lift.presets[1] = 10;
+        }
+    }
+
+    @Test
+    void collapsedSubtreeIsReplacedOnceMaterialized() {
+        CustomVariable arm = ReflectionConfig.createVariableFromClass(Arm.class);
+        LazyCustomVariable pid = (LazyCustomVariable) arm.getVariable("pid");
+        ConfigTreeCache cache = new ConfigTreeCache(DashboardCore.GSON);
+
+        JsonElement collapsed = child(cache.serialize(arm), "pid");
+        assertFalse(pid.isMaterialized());
+        assertTrue(collapsed.getAsJsonObject().get("__collapsed").getAsBoolean());
+        assertSame(collapsed, child(cache.serialize(arm), "pid"));
+
+        pid.materialize();
+        JsonElement expanded = cache.serialize(arm);
+        assertEquals(DashboardCore.GSON.toJsonTree(arm), expanded);
+        assertEquals(1.0, child(child(expanded, "pid"), "kP").getAsJsonObject().get("__value")
+                .getAsDouble(), 0.0);
+    }
+
+    @Test
+    void removedVariablesAreDropped() {
+        CustomVariable root = root();
+        ConfigTreeCache cache = new ConfigTreeCache(DashboardCore.GSON);
+        cache.serialize(root);
+
+        root.removeVariable("Lift");
+        JsonObject value = cache.serialize(root).getAsJsonObject().getAsJsonObject("__value");
+        assertEquals(1, value.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDiff;
+import com.google.gson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigWatchTests {
+    public static class Tuning {
+        public static double kP = 1.0;
+    }
+
+    @Test
+    void codeChangesArePushed() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        core.setConfigWatchInterval(10);
+        core.withConfigRoot(root -> root.putVariable("Tuning",
+                ReflectionConfig.createVariableFromClass(Tuning.class)));
+
+        BlockingQueue<Message> messages = new LinkedBlockingQueue<>();
+        core.newSocket(messages::add).onOpen();
+
+        Tuning.kP = 2.0;
+        try {
+            Message message = messages.poll(5, TimeUnit.SECONDS);
+            assertInstanceOf(ReceiveConfigDiff.class, message);
+
+            JsonObject changed = DashboardCore.GSON.toJsonTree(message).getAsJsonObject()
+                    .getAsJsonObject("configDiff");
+            JsonObject kP = changed.getAsJsonObject("__value").getAsJsonObject("Tuning")
+                    .getAsJsonObject("__value").getAsJsonObject("kP");
+            assertEquals(2.0, kP.get("__value").getAsDouble(), 0.0);
+        } finally {
+            Tuning.kP = 1.0;
+            core.setConfigWatchInterval(0);
+        }
+    }
+}
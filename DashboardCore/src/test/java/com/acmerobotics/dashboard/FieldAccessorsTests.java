@@ -0,0 +1,98 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.reflection.FieldAccessor;
+import com.acmerobotics.dashboard.config.reflection.FieldAccessors;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.processor.ConfigAccessorProcessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.tools.JavaFileObject;
+
+public class FieldAccessorsTests {
+    public static class Gains {
+        public static double kP = 0.5;
+        public static Pid pid = new Pid();
+    }
+
+    public static class Pid {
+        public int period = 10;
+    }
+
+    // compiled with ConfigAccessorProcessor, which doesn't run over the tests themselves; the
+    // annotation lives in FtcDashboard
+    private static final JavaFileObject CONFIG = ProcessorCompiler.source(
+            "com.acmerobotics.dashboard.config.Config",
+            "package com.acmerobotics.dashboard.config;\n"
+            + "public @interface Config {\n"
+            + "    String value() default \"\";\n"
+            + "}\n");
+
+    private static final JavaFileObject ARM = ProcessorCompiler.source("fixture.Arm",
+            "package fixture;\n"
+            + "import com.acmerobotics.dashboard.config.Config;\n"
+            + "@Config\n"
+            + "public class Arm {\n"
+            + "    public static double kP = 0.5;\n"
+            + "    public static Pid pid = new Pid();\n"
+            + "    public static class Pid {\n"
+            + "        public int period = 10;\n"
+            + "    }\n"
+            + "}\n");
+
+    @Test
+    void generatedAccessorsArePreferred() throws IOException, ReflectiveOperationException {
+        try (ProcessorCompiler compilation = ProcessorCompiler.compile(
+                new ConfigAccessorProcessor(), Collections.<String>emptyList(), CONFIG, ARM)) {
+            assertTrue(compilation.isSuccess(), compilation.getDiagnostics());
+            Class<?> arm = compilation.loadClass("fixture.Arm");
+
+            FieldAccessor accessor = FieldAccessors.forField(arm.getField("kP"));
+            assertTrue(accessor.getClass().getName().startsWith("fixture.Arm_ConfigAccessors"),
+                    accessor.getClass().getName());
+            assertSame(accessor, FieldAccessors.forField(arm.getField("kP")));
+            accessor.set(null, 1.5);
+            assertEquals(1.5, accessor.get(null));
+
+            // accessors are also generated for the classes of nested objects
+            Object pid = FieldAccessors.forField(arm.getField("pid")).get(null);
+            FieldAccessor period = FieldAccessors.forField(pid.getClass().getField("period"));
+            assertTrue(period.getClass().getName().startsWith("fixture.Arm_Pid_ConfigAccessors"),
+                    period.getClass().getName());
+            period.set(pid, 20);
+            assertEquals(20, period.get(pid));
+        }
+    }
+
+    @Test
+    void reflectionIsTheFallback() throws NoSuchFieldException {
+        Pid pid = new Pid();
+        FieldAccessor accessor = FieldAccessors.forField(Pid.class.getField("period"));
+        accessor.set(pid, 20);
+        assertEquals(20, accessor.get(pid));
+    }
+
+    @Test
+    void configTreeUsesAccessors() {
+        CustomVariable gains = ReflectionConfig.createVariableFromClass(Gains.class);
+        try {
+            gains.update(DashboardCore.GSON.fromJson("{\"__type\":\"custom\",\"__value\":"
+                    + "{\"kP\":{\"__type\":\"double\",\"__value\":1.5},\"pid\":{\"__type\":"
+                    + "\"custom\",\"__value\":{\"period\":{\"__type\":\"int\",\"__value\":5}}}}}",
+                    CustomVariable.class));
+            assertEquals(1.5, Gains.kP, 0.0);
+            assertEquals(5, Gains.pid.period);
+        } finally {
+            Gains.kP = 0.5;
+            Gains.pid.period = 10;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class GamepadEventQueueTests {
+    private static ReceiveGamepadState state(boolean a, boolean dpadUp) {
+        ReceiveGamepadState.Gamepad gamepad1 = new ReceiveGamepadState.Gamepad();
+        gamepad1.a = a;
+        ReceiveGamepadState.Gamepad gamepad2 = new ReceiveGamepadState.Gamepad();
+        gamepad2.dpad_up = dpadUp;
+        return new ReceiveGamepadState(gamepad1, gamepad2, 0, 0);
+    }
+
+    @Test
+    void tapBetweenLoopsIsKept() {
+        GamepadEventQueue queue = new GamepadEventQueue(16);
+        queue.addEdges(state(true, false), 1);
+        queue.addEdges(state(false, true), 2);
+        queue.addEdges(state(false, true), 3);
+
+        List<GamepadEvent> events = queue.drain();
+        assertEquals(3, events.size());
+
+        assertEquals(1, events.get(0).getGamepad());
+        assertEquals(GamepadEvent.Button.A, events.get(0).getButton());
+        assertTrue(events.get(0).isPressed());
+
+        assertEquals(GamepadEvent.Button.A, events.get(1).getButton());
+        assertFalse(events.get(1).isPressed());
+        assertEquals(2.0, events.get(1).getTimestamp());
+
+        assertEquals(2, events.get(2).getGamepad());
+        assertEquals(GamepadEvent.Button.DPAD_UP, events.get(2).getButton());
+        assertTrue(events.get(2).isPressed());
+
+        assertTrue(queue.drain().isEmpty());
+
+        queue.releaseAll(4);
+        assertFalse(queue.poll().isPressed());
+    }
+
+    @Test
+    void dropsOldestWhenFull() {
+        GamepadEventQueue queue = new GamepadEventQueue(2);
+        for (int i = 0; i < 4; i++) {
+            queue.addEdges(state(i % 2 == 0, false), i);
+        }
+
+        List<GamepadEvent> events = queue.drain();
+        assertEquals(2, events.size());
+        assertEquals(2.0, events.get(0).getTimestamp());
+        assertEquals(2, queue.getDroppedEvents());
+    }
+}
@@ -0,0 +1,57 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class GamepadLatencyTrackerTests {
+    @Test
+    void gapsInSequenceNumbersAreLost() {
+        GamepadLatencyTracker tracker = new GamepadLatencyTracker();
+        Object client = new Object();
+
+        tracker.receive(client, 1);
+        tracker.receive(client, 2);
+        tracker.receive(client, 5);
+        assertEquals(2, tracker.getStats().getLostFrames());
+
+        // a reconnecting client starts over
+        tracker.receive(client, 1);
+        assertEquals(2, tracker.getStats().getLostFrames());
+    }
+
+    @Test
+    void ignoredMessagesAreNotLost() {
+        GamepadLatencyTracker tracker = new GamepadLatencyTracker();
+        Object client = new Object();
+
+        // messages received while no op mode is running are tracked but not applied
+        for (long i = 1; i <= 100; i++) {
+            tracker.receive(client, i);
+        }
+        tracker.receive(client, 101);
+        tracker.record(0, System.nanoTime());
+
+        GamepadLatencyStats stats = tracker.getStats();
+        assertEquals(1, stats.getReceivedFrames());
+        assertEquals(0, stats.getLostFrames());
+    }
+
+    @Test
+    void clientsAreTrackedSeparately() {
+        GamepadLatencyTracker tracker = new GamepadLatencyTracker();
+        Object first = new Object();
+        Object second = new Object();
+
+        tracker.receive(first, 10);
+        tracker.receive(second, 1);
+        tracker.receive(first, 11);
+        tracker.receive(second, 2);
+        tracker.receive(first, 12);
+        assertEquals(0, tracker.getStats().getLostFrames());
+
+        tracker.removeClient(first);
+        tracker.receive(first, 50);
+        assertEquals(0, tracker.getStats().getLostFrames());
+    }
+}
@@ -0,0 +1,93 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.processor.MessageCodecProcessor;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaFileObject;
+
+public class MessageCodecProcessorTests {
+    private static final List<String> ENABLED =
+            Collections.singletonList("-Adashboard.messageCodecs=true");
+
+    private static final JavaFileObject SWAPPED = ProcessorCompiler.source("fixture.Swapped",
+            "package fixture;\n"
+            + "import com.acmerobotics.dashboard.message.Message;\n"
+            + "import com.acmerobotics.dashboard.message.MessageType;\n"
+            + "public class Swapped extends Message {\n"
+            + "    int first;\n"
+            + "    int second;\n"
+            + "    public Swapped(int second, int first) {\n"
+            + "        super(MessageType.GET_ROBOT_STATUS);\n"
+            + "        this.first = first;\n"
+            + "        this.second = second;\n"
+            + "    }\n"
+            + "}\n");
+
+    private static int intField(Object object, String name) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.getInt(object);
+    }
+
+    @Test
+    void constructorParametersMatchFieldsByName() throws IOException,
+            ReflectiveOperationException {
+        try (ProcessorCompiler compilation = ProcessorCompiler.compile(
+                new MessageCodecProcessor(), ENABLED, SWAPPED)) {
+            assertTrue(compilation.isSuccess(), compilation.getDiagnostics());
+
+            TypeAdapter<?> codec = (TypeAdapter<?>) compilation.loadClass("fixture.SwappedCodec")
+                    .getConstructor(Gson.class).newInstance(new Gson());
+            Object message = codec.fromJson("{\"first\":1,\"second\":2}");
+            assertEquals(1, intField(message, "first"));
+            assertEquals(2, intField(message, "second"));
+        }
+    }
+
+    @Test
+    void ambiguousConstructorsFailTheBuild() throws IOException {
+        JavaFileObject ambiguous = ProcessorCompiler.source("fixture.Ambiguous",
+                "package fixture;\n"
+                + "import com.acmerobotics.dashboard.message.Message;\n"
+                + "import com.acmerobotics.dashboard.message.MessageType;\n"
+                + "public class Ambiguous extends Message {\n"
+                + "    int count;\n"
+                + "    String name;\n"
+                + "    public Ambiguous(int count, String name) {\n"
+                + "        super(MessageType.GET_ROBOT_STATUS);\n"
+                + "    }\n"
+                + "    public Ambiguous(String name, int count) {\n"
+                + "        super(MessageType.GET_ROBOT_STATUS);\n"
+                + "    }\n"
+                + "}\n");
+        try (ProcessorCompiler compilation = ProcessorCompiler.compile(
+                new MessageCodecProcessor(), ENABLED, ambiguous)) {
+            assertFalse(compilation.isSuccess());
+            assertTrue(compilation.getDiagnostics().contains("More than one constructor"),
+                    compilation.getDiagnostics());
+        }
+    }
+
+    @Test
+    void codecsAreOnlyGeneratedWhenEnabled() throws IOException {
+        // user code compiled with the processor jar must not get its own MessageCodecs
+        try (ProcessorCompiler compilation = ProcessorCompiler.compile(
+                new MessageCodecProcessor(), Collections.<String>emptyList(), SWAPPED)) {
+            assertTrue(compilation.isSuccess(), compilation.getDiagnostics());
+            assertFalse(compilation.produced("fixture.SwappedCodec"));
+            assertFalse(compilation.produced("com.acmerobotics.dashboard.message.MessageCodecs"));
+        }
+    }
+}
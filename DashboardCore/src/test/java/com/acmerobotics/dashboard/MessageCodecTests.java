@@ -0,0 +1,196 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.canvas.BufferedCanvas;
+import com.acmerobotics.dashboard.canvas.BufferedCanvasAdapter;
+import com.acmerobotics.dashboard.canvas.CanvasTypeAdapterFactory;
+import com.acmerobotics.dashboard.config.ConstantProvider;
+import com.acmerobotics.dashboard.config.SerializedConfig;
+import com.acmerobotics.dashboard.config.SerializedConfigAdapter;
+import com.acmerobotics.dashboard.config.variable.ArrayVariable;
+import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariableDeserializer;
+import com.acmerobotics.dashboard.config.variable.ConfigVariableSerializer;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.GamepadFrame;
+import com.acmerobotics.dashboard.message.ImageFrame;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageDeserializer;
+import com.acmerobotics.dashboard.message.redux.GetConfig;
+import com.acmerobotics.dashboard.message.redux.GetConfigSnapshots;
+import com.acmerobotics.dashboard.message.redux.GetConfigSubtree;
+import com.acmerobotics.dashboard.message.redux.GetRobotStatus;
+import com.acmerobotics.dashboard.message.redux.InitOpMode;
+import com.acmerobotics.dashboard.message.redux.LoadConfigSnapshot;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDiff;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigSnapshots;
+import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
+import com.acmerobotics.dashboard.message.redux.ReceiveOpModeList;
+import com.acmerobotics.dashboard.message.redux.ReceiveRobotStatus;
+import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
+import com.acmerobotics.dashboard.message.redux.SaveConfig;
+import com.acmerobotics.dashboard.message.redux.SaveConfigSnapshot;
+import com.acmerobotics.dashboard.message.redux.SetImageFrames;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class MessageCodecTests {
+    // DashboardCore.GSON without the generated codecs
+    private static final Gson REFLECTIVE_GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new MessageDeserializer())
+            .registerTypeAdapter(BasicVariable.class, new ConfigVariableSerializer())
+            .registerTypeAdapter(BasicVariable.class, new ConfigVariableDeserializer())
+            .registerTypeHierarchyAdapter(CustomVariable.class, new ConfigVariableSerializer())
+            .registerTypeAdapter(CustomVariable.class, new ConfigVariableDeserializer())
+            .registerTypeAdapter(ArrayVariable.class, new ConfigVariableSerializer())
+            .registerTypeAdapter(ArrayVariable.class, new ConfigVariableDeserializer())
+            .registerTypeAdapterFactory(new CanvasTypeAdapterFactory())
+            .registerTypeAdapter(BufferedCanvas.class, new BufferedCanvasAdapter())
+            .registerTypeAdapter(SerializedConfig.class, new SerializedConfigAdapter())
+            .serializeNulls()
+            .create();
+
+    private static void assertMatchesReflection(Message message) {
+        assertEquals(REFLECTIVE_GSON.toJson(message), DashboardCore.GSON.toJson(message));
+    }
+
+    @Test
+    void generatedCodecsMatchReflection() {
+        TelemetryPacket packet = new TelemetryPacket();
+        packet.put("x", 3.5);
+        packet.addLine("hello");
+        packet.fieldOverlay().strokeCircle(1, 2, 3);
+
+        CustomVariable config = new CustomVariable();
+        config.putVariable("gain", new BasicVariable<>(new ConstantProvider<>(0.25)));
+
+        assertMatchesReflection(new GetRobotStatus());
+        assertMatchesReflection(new InitOpMode("Auto"));
+        assertMatchesReflection(new InitOpMode(null));
+        assertMatchesReflection(new GetConfig(1700000000000L, 3));
+        assertMatchesReflection(new GetConfigSubtree(Arrays.asList("Drive", "pid"), 7, 3));
+        SerializedConfig serialized = new SerializedConfig(DashboardCore.GSON.toJsonTree(config));
+        assertMatchesReflection(new ReceiveConfig(serialized, serialized.getEnumValues(),
+                1700000000000L, 3));
+        assertMatchesReflection(new ReceiveConfigDiff(serialized.getTree(),
+                Collections.singletonList(Arrays.asList("Drive", "kP")),
+                Collections.singletonMap("Mode", Arrays.asList("A", "B")), 1700000000000L, 3, 4));
+        assertMatchesReflection(new ReceiveOpModeList(Arrays.asList("A", "B")));
+        assertMatchesReflection(new ReceiveRobotStatus(new RobotStatus(
+                true, true, "Auto", RobotStatus.OpModeStatus.RUNNING, "", "")));
+        assertMatchesReflection(new ReceiveTelemetry(Collections.singletonList(packet)));
+        assertMatchesReflection(new ReceiveTelemetry(Collections.emptyList()));
+        assertMatchesReflection(new SaveConfig(config));
+        assertMatchesReflection(new SetImageFrames(false));
+        assertMatchesReflection(new SaveConfig(config, 1700000000000L, 2));
+        assertMatchesReflection(new GetConfigSnapshots());
+        assertMatchesReflection(new SaveConfigSnapshot("tuned"));
+        assertMatchesReflection(new LoadConfigSnapshot("tuned"));
+        assertMatchesReflection(new ReceiveConfigSnapshots(Arrays.asList("a", "b"), null));
+        assertMatchesReflection(new ReceiveConfigSnapshots(Collections.<String>emptyList(),
+                "Unable to load snapshot"));
+    }
+
+    @Test
+    void deserializeGamepadState() {
+        String json = "{\"type\":\"RECEIVE_GAMEPAD_STATE\",\"gamepad1\":{\"left_stick_x\":0.1,"
+                + "\"a\":true},\"gamepad2\":null,\"extra\":[1,2]}";
+
+        Message message = DashboardCore.GSON.fromJson(json, Message.class);
+        assertInstanceOf(ReceiveGamepadState.class, message);
+
+        ReceiveGamepadState state = (ReceiveGamepadState) message;
+        assertEquals(0.1f, state.getGamepad1().left_stick_x);
+        assertTrue(state.getGamepad1().a);
+        assertNull(state.getGamepad2());
+
+        String reflective = REFLECTIVE_GSON.toJson(state);
+        assertEquals(reflective, DashboardCore.GSON.toJson(state));
+    }
+
+    @Test
+    void deserializeOpModeName() {
+        Message message = DashboardCore.GSON.fromJson(
+                "{\"opModeName\":\"Auto\",\"type\":\"INIT_OP_MODE\"}", Message.class);
+        assertEquals("Auto", ((InitOpMode) message).getOpModeName());
+    }
+
+    @Test
+    void deserializeTypeAfterFields() {
+        Message message = DashboardCore.GSON.fromJson(
+                "{\"gamepad1\":{\"b\":true},\"type\":\"RECEIVE_GAMEPAD_STATE\"}",
+                Message.class);
+        assertTrue(((ReceiveGamepadState) message).getGamepad1().b);
+    }
+
+    @Test
+    void skipUnknownType() {
+        assertNull(DashboardCore.GSON.fromJson(
+                "{\"type\":\"NOT_A_MESSAGE\",\"payload\":{\"a\":[1,2,3]}}", Message.class));
+        assertNull(DashboardCore.GSON.fromJson("{\"payload\":1}", Message.class));
+
+        Message[] messages = DashboardCore.GSON.fromJson(
+                "[{\"type\":\"NOT_A_MESSAGE\",\"x\":{}},{\"type\":\"GET_CONFIG\"}]",
+                Message[].class);
+        assertNull(messages[0]);
+        assertInstanceOf(GetConfig.class, messages[1]);
+    }
+
+    @Test
+    void gamepadFrameRoundTrip() {
+        ReceiveGamepadState.Gamepad gamepad1 = new ReceiveGamepadState.Gamepad();
+        gamepad1.left_stick_x = -1;
+        gamepad1.right_stick_y = 0.5f;
+        gamepad1.right_trigger = 1;
+        gamepad1.a = true;
+        gamepad1.touchpad = true;
+
+        ReceiveGamepadState.Gamepad gamepad2 = new ReceiveGamepadState.Gamepad();
+        gamepad2.dpad_up = true;
+        gamepad2.left_trigger = 0.25f;
+
+        byte[] frame = GamepadFrame.encode(gamepad1, gamepad2, 4000000000L, 1700000000123.5);
+        assertEquals(GamepadFrame.SIZE, frame.length);
+
+        ReceiveGamepadState state = GamepadFrame.decode(frame);
+        assertEquals(4000000000L, state.getSequenceNumber());
+        assertEquals(1700000000123.5, state.getTimestamp());
+        assertEquals(-1f, state.getGamepad1().left_stick_x);
+        assertEquals(0.5f, state.getGamepad1().right_stick_y, 1e-4);
+        assertEquals(1f, state.getGamepad1().right_trigger);
+        assertTrue(state.getGamepad1().a);
+        assertTrue(state.getGamepad1().touchpad);
+        assertFalse(state.getGamepad1().b);
+        assertTrue(state.getGamepad2().dpad_up);
+        assertEquals(0.25f, state.getGamepad2().left_trigger, 1e-4);
+    }
+
+    @Test
+    void imageFrameRoundTrip() {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3, (byte) 0xFF, (byte) 0xD9, 42};
+        byte[] frame = ImageFrame.encode(200, 1700000000123.5, 1280, 40000, jpeg, 7);
+        assertEquals(ImageFrame.HEADER_SIZE + 7, frame.length);
+        assertTrue(ImageFrame.isImageFrame(frame));
+        assertFalse(GamepadFrame.isGamepadFrame(frame));
+
+        ImageFrame decoded = ImageFrame.decode(frame);
+        assertEquals(200, decoded.getStreamId());
+        assertEquals(1700000000123.5, decoded.getTimestamp());
+        assertEquals(1280, decoded.getWidth());
+        assertEquals(40000, decoded.getHeight());
+        assertArrayEquals(Arrays.copyOf(jpeg, 7), decoded.getJpeg());
+    }
+}
@@ -0,0 +1,119 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.redux.SetImageFrames;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class MjpegStreamTests {
+    private static String part(String jpeg) {
+        return "--" + MjpegStream.BOUNDARY + "\r\n"
+                + "Content-Type: image/jpeg\r\n"
+                + "Content-Length: " + jpeg.length() + "\r\n\r\n"
+                + jpeg + "\r\n";
+    }
+
+    private static String read(InputStream in, int length) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        while (out.size() < length) {
+            int count = in.read(buffer, 0, Math.min(buffer.length, length - out.size()));
+            if (count == -1) {
+                break;
+            }
+            out.write(buffer, 0, count);
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static void send(MjpegStream stream, String jpeg) {
+        byte[] data = ("xx" + jpeg).getBytes(StandardCharsets.US_ASCII);
+        stream.send(data, 2, jpeg.length());
+    }
+
+    @Test
+    void clientReceivesParts() throws IOException {
+        MjpegStream stream = new MjpegStream(60000);
+        InputStream client = stream.newClient();
+
+        send(stream, "first");
+        assertEquals(part("first"), read(client, part("first").length()));
+        send(stream, "second");
+        assertEquals(part("second"), read(client, part("second").length()));
+    }
+
+    @Test
+    void slowClientSkipsToLatestFrame() throws IOException {
+        MjpegStream stream = new MjpegStream(60000);
+        InputStream slow = stream.newClient();
+        InputStream fast = stream.newClient();
+
+        send(stream, "a");
+        assertEquals(part("a"), read(fast, part("a").length()));
+        // the slow client is in the middle of writing a
+        assertEquals(part("a").substring(0, 5), read(slow, 5));
+
+        send(stream, "b");
+        send(stream, "c");
+        assertEquals(part("a").substring(5) + part("c"),
+                read(slow, part("a").length() - 5 + part("c").length()));
+    }
+
+    @Test
+    void idleClientRepeatsLastFrame() throws IOException {
+        MjpegStream stream = new MjpegStream(10);
+        InputStream client = stream.newClient();
+
+        send(stream, "a");
+        assertEquals(part("a") + part("a"), read(client, 2 * part("a").length()));
+    }
+
+    @Test
+    void closeEndsStream() throws IOException {
+        MjpegStream stream = new MjpegStream(60000);
+        InputStream client = stream.newClient();
+        assertEquals(1, stream.clientCount());
+
+        stream.close();
+        assertEquals(-1, client.read());
+        assertEquals(0, stream.clientCount());
+    }
+
+    @Test
+    void imageFramesCanBeTurnedOffPerClient() {
+        DashboardCore core = new DashboardCore();
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        SocketHandler socket = core.newSocket(new SendFun() {
+            @Override
+            public void send(Message message) {
+            }
+
+            @Override
+            public void sendBinary(byte[] frame) {
+                received.add(frame);
+            }
+        });
+        socket.onOpen();
+
+        byte[] frame = {1, 2, 3};
+        core.sendImageFrame(frame);
+        socket.onMessage(new SetImageFrames(false));
+        core.sendImageFrame(frame);
+        assertEquals(0, core.imageClientCount());
+
+        socket.onMessage(new SetImageFrames(true));
+        core.sendImageFrame(frame);
+        assertEquals(2, received.size());
+        assertArrayEquals(frame, received.get(1));
+    }
+}
@@ -0,0 +1,117 @@
+package com.acmerobotics.dashboard;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles test fixtures with one of the annotation processors, so tests run against what the
+ * processor actually generates. The fixtures see the test classpath.
+ */
+final class ProcessorCompiler implements AutoCloseable {
+    private final File directory;
+    private final boolean success;
+    private final String diagnostics;
+    private final URLClassLoader classLoader;
+
+    private ProcessorCompiler(File directory, boolean success, String diagnostics)
+            throws IOException {
+        this.directory = directory;
+        this.success = success;
+        this.diagnostics = diagnostics;
+        this.classLoader = new URLClassLoader(new URL[] {directory.toURI().toURL()},
+                ProcessorCompiler.class.getClassLoader());
+    }
+
+    /**
+     * Returns a fixture source file.
+     */
+    static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///"
+                + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    /**
+     * Compiles {@code sources} with {@code processor} and the processor options in
+     * {@code options}, e.g., {@code "-Akey=value"}.
+     */
+    static ProcessorCompiler compile(Processor processor, List<String> options,
+                                     JavaFileObject... sources) throws IOException {
+        File directory = Files.createTempDirectory("processor").toFile();
+
+        List<String> arguments = new ArrayList<>(options);
+        arguments.addAll(Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", directory.getPath(),
+                "-s", directory.getPath()));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, arguments,
+                null, Arrays.asList(sources));
+        task.setProcessors(Collections.singletonList(processor));
+        boolean success = task.call();
+
+        StringBuilder messages = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            messages.append(diagnostic.getMessage(null)).append('\n');
+        }
+        return new ProcessorCompiler(directory, success, messages.toString());
+    }
+
+    boolean isSuccess() {
+        return success;
+    }
+
+    String getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Returns true if the compilation produced {@code className}, compiled or generated.
+     */
+    boolean produced(String className) {
+        return new File(directory, className.replace('.', '/') + ".class").exists();
+    }
+
+    Class<?> loadClass(String className) throws ClassNotFoundException {
+        return classLoader.loadClass(className);
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -1,16 +1,29 @@
 package com.acmerobotics.dashboard;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.acmerobotics.dashboard.DashboardCore;
 import com.acmerobotics.dashboard.RobotStatus;
+import com.acmerobotics.dashboard.config.EnumSchemas;
+import com.acmerobotics.dashboard.config.SerializedConfig;
 import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.ArrayVariable;
 import com.acmerobotics.dashboard.config.variable.BasicVariable;
 import com.acmerobotics.dashboard.config.variable.ConfigVariable;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.config.variable.LazyCustomVariable;
+import com.google.gson.JsonObject;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class SerializationTests {
@@ -28,7 +41,11 @@ public class SerializationTests {
             return false;
         }
 
-        if (v instanceof BasicVariable) {
+        if (v instanceof ArrayVariable) {
+            List<Object> value = ((ArrayVariable) v).getValue();
+            List<Object> value2 = ((ArrayVariable) v2).getValue();
+            return value == null ? value2 == null : value.equals(value2);
+        } else if (v instanceof BasicVariable) {
             BasicVariable<?> bv = (BasicVariable<?>) v;
             BasicVariable<?> bv2 = (BasicVariable<?>) v2;
 
@@ -67,7 +84,22 @@ public class SerializationTests {
         return false;
     }
 
+    // nested variables are serialized collapsed until they're built
+    private static void materializeAll(CustomVariable cv) {
+        if (cv.getValue() == null) {
+            return;
+        }
+
+        for (Map.Entry<String, ConfigVariable> e : cv.entrySet()) {
+            if (e.getValue() instanceof CustomVariable) {
+                materializeAll((CustomVariable) e.getValue());
+            }
+        }
+    }
+
     public static void assertSerDeIdentity(CustomVariable cv) {
+        materializeAll(cv);
+
         String s = DashboardCore.GSON.toJson(cv);
         System.out.println(s);
         ConfigVariable<?> cv2 = DashboardCore.GSON.fromJson(s, CustomVariable.class);
@@ -95,5 +127,75 @@ public class SerializationTests {
         assertSerDeIdentity(ReflectionConfig.createVariableFromClass(NullVariables.class));
     }
 
+    public static class Modes {
+        public static RobotStatus.OpModeStatus left = RobotStatus.OpModeStatus.INIT;
+        public static RobotStatus.OpModeStatus right = RobotStatus.OpModeStatus.RUNNING;
+    }
+
+    @Test
+    void enumValuesAreSentOncePerClass() {
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(Modes.class);
+        assertSerDeIdentity(cv);
+
+        SerializedConfig config = new SerializedConfig(DashboardCore.GSON.toJsonTree(cv));
+        JsonObject left = config.getTree().getAsJsonObject().getAsJsonObject("__value")
+                .getAsJsonObject("left");
+        assertFalse(left.has("__enumValues"));
+
+        String enumClass = RobotStatus.OpModeStatus.class.getName();
+        assertEquals(enumClass, left.get("__enumClass").getAsString());
+        assertEquals(Collections.singletonMap(enumClass,
+                Arrays.asList("INIT", "RUNNING", "STOPPED")), config.getEnumValues());
+        assertTrue(EnumSchemas.valuesFor(config.getTree(), config.getEnumClasses()).isEmpty());
+    }
+
+    public static class Tables {
+        public static double[] gains = {1.0, Double.NaN, 3.0};
+        public static int[] empty = {};
+        public static int[] missing = null;
+        public static List<String> names = new ArrayList<>(Arrays.asList("a", null, "c"));
+        public static RobotStatus.OpModeStatus[] modes = {RobotStatus.OpModeStatus.INIT};
+    }
+
+    @Test
+    void arrays() {
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(Tables.class);
+        assertSerDeIdentity(cv);
+
+        JsonObject gains = DashboardCore.GSON.toJsonTree(cv).getAsJsonObject()
+                .getAsJsonObject("__value").getAsJsonObject("gains");
+        assertEquals("array", gains.get("__type").getAsString());
+        assertEquals("double", gains.get("__elementType").getAsString());
+        assertEquals(3, gains.getAsJsonArray("__value").size());
+    }
+
+    @Test
+    void arrayUpdateReplacesOnlyIndexedElements() {
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(Tables.class);
+        double[] gains = Tables.gains;
+        try {
+            CustomVariable update = DashboardCore.GSON.fromJson("{\"__type\":\"custom\","
+                    + "\"__value\":{\"gains\":{\"__type\":\"array\",\"__elementType\":\"double\","
+                    + "\"__length\":3,\"__updates\":{\"1\":2.0}}}}", CustomVariable.class);
+            cv.update(update);
+
+            assertSame(gains, Tables.gains);
+            assertArrayEquals(new double[] {1.0, 2.0, 3.0}, Tables.gains);
+        } finally {
+            Tables.gains = new double[] {1.0, Double.NaN, 3.0};
+        }
+    }
+
+    @Test
+    void nestedVariablesAreCollapsed() {
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(NullVariables.class);
+        JsonObject g = DashboardCore.GSON.toJsonTree(cv).getAsJsonObject()
+                .getAsJsonObject("__value").getAsJsonObject("g");
+
+        assertTrue(g.get("__collapsed").getAsBoolean());
+        assertTrue(g.get("__value").isJsonNull());
+        assertFalse(((LazyCustomVariable) cv.getVariable("g")).isMaterialized());
+    }
+
 }
 
@@ -5,6 +5,7 @@ import com.acmerobotics.dashboard.RobotStatus;
 import com.acmerobotics.dashboard.SendFun;
 import com.acmerobotics.dashboard.SocketHandler;
 import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.message.GamepadFrame;
 import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.redux.InitOpMode;
 import com.acmerobotics.dashboard.message.redux.ReceiveOpModeList;
@@ -81,8 +82,27 @@ public class TestDashboardInstance {
 
         @Override
         protected void onMessage(NanoWSD.WebSocketFrame message) {
-            String payload = message.getTextPayload();
-            Message msg = DashboardCore.GSON.fromJson(payload, Message.class);
+            Message msg;
+            if (message.getOpCode() == NanoWSD.WebSocketFrame.OpCode.Binary) {
+                byte[] payload = message.getBinaryPayload();
+                if (!GamepadFrame.isGamepadFrame(payload)) {
+                    return;
+                }
+
+                try {
+                    msg = GamepadFrame.decode(payload);
+                } catch (IllegalArgumentException e) {
+                    e.printStackTrace();
+                    return;
+                }
+            } else {
+                String payload = message.getTextPayload();
+                msg = DashboardCore.GSON.fromJson(payload, Message.class);
+            }
+
+            if (msg == null) {
+                return;
+            }
 
             if (sh.onMessage(msg)) {
                 return;
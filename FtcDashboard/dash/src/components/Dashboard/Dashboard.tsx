@@ -24,6 +24,7 @@ export default function Dashboard() {
 
   useEffect(() => {
     dispatch(getLayoutPreset());
+    dispatch({ type: 'LOAD_CACHED_CONFIG' });
 
     startSocketWatcher(dispatch);
   }, [dispatch]);
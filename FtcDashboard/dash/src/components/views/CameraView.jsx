@@ -4,6 +4,8 @@ import PropTypes from 'prop-types';
 
 import AutoFitCanvas from '@/components/Canvas/AutoFitCanvas';
 import { ReactComponent as RefreshIcon } from '@/assets/icons/refresh.svg';
+import { ReactComponent as CameraIcon } from '@/assets/icons/camera.svg';
+import { setImageFrames } from '@/store/actions/camera';
 import BaseView, {
   BaseViewHeading,
   BaseViewBody,
@@ -11,6 +13,12 @@ import BaseView, {
   BaseViewIconButton,
 } from './BaseView';
 
+// served next to the socket on a separate connection, so large frames don't
+// hold up telemetry
+const MJPEG_STREAM_URL = `http://${
+  import.meta.env['VITE_REACT_APP_HOST'] || window.location.hostname
+}:${import.meta.env['VITE_REACT_APP_PORT']}/camera`;
+
 class CameraView extends React.Component {
   constructor(props) {
     super(props);
@@ -19,25 +27,58 @@ class CameraView extends React.Component {
 
     this.renderImage = this.renderImage.bind(this);
 
-    this.image = new Image();
-    this.image.onload = this.renderImage;
+    // decoded bitmap of the latest frame
+    this.image = null;
 
     this.state = {
       rotation: 0,
     };
   }
 
-  componentDidMount() {
-    this.ctx = this.canvasRef.current.getContext('2d');
+  componentDidUpdate(prevProps, prevState) {
+    if (
+      this.state.rotation !== prevState.rotation ||
+      this.props.imageFrames !== prevProps.imageFrames
+    ) {
+      this.renderImage();
+    }
+
+    const { frame } = this.props;
+    if (frame === prevProps.frame || frame === null) {
+      return;
+    }
+
+    createImageBitmap(frame.image).then(
+      (bitmap) => {
+        // a newer frame may have arrived while this one was decoding
+        if (this.props.frame !== frame) {
+          bitmap.close();
+          return;
+        }
+
+        if (this.image !== null) {
+          this.image.close();
+        }
+        this.image = bitmap;
+        this.renderImage();
+      },
+      () => {
+        // skip frames that fail to decode
+      },
+    );
   }
 
-  componentDidUpdate() {
-    this.image.src = `data:image/jpeg;base64,${this.props.imageStr}`;
+  componentWillUnmount() {
+    if (this.image !== null) {
+      this.image.close();
+      this.image = null;
+    }
   }
 
   renderImage() {
-    if (this.ctx && this.props.imageStr.length > 0) {
-      const canvas = this.canvasRef.current;
+    const canvas = this.canvasRef.current;
+    if (canvas && this.image !== null) {
+      const ctx = canvas.getContext('2d');
 
       // eslint-disable-next-line
       canvas.width = canvas.width; // clears the canvas
@@ -53,10 +94,10 @@ class CameraView extends React.Component {
         (this.state.rotation % 2 === 0 ? viewportWidth : viewportHeight) /
           this.image.width,
       );
-      this.ctx.translate(viewportWidth / 2, viewportHeight / 2);
-      this.ctx.rotate((this.state.rotation * Math.PI) / 2);
-      this.ctx.scale(scale, scale);
-      this.ctx.drawImage(
+      ctx.translate(viewportWidth / 2, viewportHeight / 2);
+      ctx.rotate((this.state.rotation * Math.PI) / 2);
+      ctx.scale(scale, scale);
+      ctx.drawImage(
         this.image,
         -this.image.width / 2,
         -this.image.height / 2,
@@ -74,6 +115,18 @@ class CameraView extends React.Component {
             Camera
           </BaseViewHeading>
           <BaseViewIcons>
+            <BaseViewIconButton
+              title={
+                this.props.imageFrames
+                  ? 'Show the MJPEG stream'
+                  : 'Show frames from the socket'
+              }
+              onClick={() =>
+                this.props.dispatch(setImageFrames(!this.props.imageFrames))
+              }
+            >
+              <CameraIcon className="h-6 w-6" />
+            </BaseViewIconButton>
             <BaseViewIconButton>
               <RefreshIcon
                 className="h-6 w-6"
@@ -86,7 +139,21 @@ class CameraView extends React.Component {
         </div>
         <BaseViewBody>
           <div style={{ height: '100%', minHeight: '10rem' }}>
-            <AutoFitCanvas ref={this.canvasRef} onResize={this.renderImage} />
+            {this.props.imageFrames ? (
+              <AutoFitCanvas
+                ref={this.canvasRef}
+                onResize={this.renderImage}
+              />
+            ) : (
+              <img
+                // reconnects along with the socket
+                key={String(this.props.isConnected)}
+                className="h-full w-full object-contain"
+                style={{ transform: `rotate(${this.state.rotation * 90}deg)` }}
+                src={this.props.isConnected ? MJPEG_STREAM_URL : undefined}
+                alt=""
+              />
+            )}
           </div>
         </BaseViewBody>
       </BaseView>
@@ -95,14 +162,21 @@ class CameraView extends React.Component {
 }
 
 CameraView.propTypes = {
-  imageStr: PropTypes.string.isRequired,
+  frame: PropTypes.shape({
+    image: PropTypes.instanceOf(Blob).isRequired,
+  }),
+  imageFrames: PropTypes.bool.isRequired,
+  isConnected: PropTypes.bool.isRequired,
+  dispatch: PropTypes.func.isRequired,
 
   isDraggable: PropTypes.bool,
   isUnlocked: PropTypes.bool,
 };
 
-const mapStateToProps = ({ camera }) => ({
-  imageStr: camera.imageStr,
+const mapStateToProps = ({ camera, socket }) => ({
+  frame: camera.frame,
+  imageFrames: camera.imageFrames,
+  isConnected: socket.isConnected,
 });
 
 export default connect(mapStateToProps)(CameraView);
@@ -0,0 +1,152 @@
+import { Component } from 'react';
+import clsx from 'clsx';
+
+import BasicVariable from './BasicVariable';
+
+import { ReactComponent as ExpandedMoreIcon } from '@/assets/icons/expand_more.svg';
+import {
+  ArrayElement,
+  ArrayVar,
+  ArrayVarState,
+  BasicVar,
+  BasicVarState,
+} from '@/store/types/config';
+
+interface Props {
+  name: string;
+  state: ArrayVarState;
+  onChange: (state: ArrayVarState) => void;
+  onSave: (variable: ArrayVar) => void;
+}
+
+interface State {
+  expanded: boolean;
+}
+
+// the state of one element, edited like any other basic variable
+function elementState(state: ArrayVarState, i: number): BasicVarState {
+  const value = state.__value === null ? null : state.__value[i];
+  const newValue = state.__newValue === null ? null : state.__newValue[i];
+  if (state.__elementType === 'enum') {
+    return {
+      __type: 'enum',
+      __value: value,
+      __newValue: newValue,
+      __enumClass: state.__enumClass ?? '',
+      __valid: state.__valid[i],
+    };
+  }
+
+  return {
+    __type: state.__elementType,
+    __value: value,
+    __newValue: newValue,
+    __valid: state.__valid[i],
+  };
+}
+
+class ArrayVariable extends Component<Props, State> {
+  constructor(props: Props) {
+    super(props);
+
+    this.state = {
+      expanded: false,
+    };
+
+    this.toggleVisibility = this.toggleVisibility.bind(this);
+  }
+
+  toggleVisibility() {
+    this.setState({
+      expanded: !this.state.expanded,
+    });
+  }
+
+  render() {
+    const { name, state } = this.props;
+
+    const value = state.__value;
+    const newValue = state.__newValue;
+
+    let children;
+    if (value === null || newValue === null) {
+      children = (
+        <tr>
+          <td>null</td>
+        </tr>
+      );
+    } else {
+      children = newValue.map((_, i) => {
+        const onChange = (elementState: BasicVarState) => {
+          this.props.onChange({
+            ...state,
+            __newValue: newValue.map((element, j) =>
+              i === j ? (elementState.__newValue as ArrayElement) : element,
+            ),
+            __valid: state.__valid.map((valid, j) =>
+              i === j ? elementState.__valid : valid,
+            ),
+          });
+        };
+
+        // saving an element sends only that element
+        const onSave = (variable: BasicVar) => {
+          this.props.onSave({
+            __type: 'array',
+            __elementType: state.__elementType,
+            __enumClass: state.__enumClass,
+            __length: value.length,
+            __updates: {
+              [i]: variable.__value,
+            },
+          });
+        };
+
+        return (
+          <BasicVariable
+            key={i}
+            name={`[${i}]`}
+            state={elementState(state, i)}
+            onChange={onChange}
+            onSave={onSave}
+          />
+        );
+      });
+    }
+
+    return (
+      <tr className="block">
+        <td className="block">
+          <div
+            className="option-header cursor-pointer py-1"
+            onClick={this.toggleVisibility}
+          >
+            <div
+              className={clsx(
+                'flex-center mr-2 h-7 w-7 transform rounded-full border transition',
+                'border-gray-200 bg-gray-100 hover:border-gray-400 hover:bg-gray-200',
+                'dark:border-slate-500/80 dark:bg-slate-700 dark:text-slate-200',
+                !this.state.expanded && '-rotate-90',
+              )}
+            >
+              <ExpandedMoreIcon className="h-6 w-6" />
+            </div>
+            <div className="flex items-center justify-between">
+              <h3 className="select-none text-lg">{name}</h3>
+              <span className="ml-2 select-none text-sm text-gray-500">
+                {state.__elementType}[{value === null ? '' : value.length}]
+              </span>
+            </div>
+          </div>
+          {this.state.expanded && (
+            <table>
+              <tbody>{children}</tbody>
+            </table>
+          )}
+        </td>
+      </tr>
+    );
+  }
+}
+
+export default ArrayVariable;
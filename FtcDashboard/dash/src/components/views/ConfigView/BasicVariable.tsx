@@ -42,7 +42,6 @@ class BasicVariable extends React.Component<Props> {
             __type: 'enum',
             __value: state.__newValue,
             __enumClass: state.__enumClass,
-            __enumValues: state.__enumValues,
           });
         } else {
           this.props.onSave({
@@ -126,7 +125,7 @@ class BasicVariable extends React.Component<Props> {
           input = (
             <EnumInput
               value={state.__newValue as string}
-              enumValues={state.__enumValues}
+              enumClass={state.__enumClass}
               onChange={onChange}
               onSave={onSave}
             />
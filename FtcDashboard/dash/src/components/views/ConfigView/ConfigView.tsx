@@ -15,6 +15,7 @@ import { ReactComponent as RefreshIcon } from '@/assets/icons/refresh.svg';
 
 import { RootState, useAppDispatch } from '@/store/reducers';
 import {
+  ArrayElement,
   ConfigVar,
   ConfigVarState,
   CustomVarState,
@@ -47,6 +48,33 @@ function validAndModified(state: ConfigVarState): ConfigVar | null {
         __value: filteredValue,
       };
     }
+  } else if (state.__type === 'array') {
+    const { __value: value, __newValue: newValue } = state;
+    if (
+      value === null ||
+      newValue === null ||
+      state.__valid.some((valid) => !valid)
+    ) {
+      return null;
+    }
+
+    // only the modified elements are sent
+    const updates = newValue.reduce(
+      (acc, element, i) =>
+        element === value[i] ? acc : { ...acc, [i]: element },
+      {} as Record<string, ArrayElement>,
+    );
+    if (Object.keys(updates).length === 0) {
+      return null;
+    }
+
+    return {
+      __type: 'array',
+      __elementType: state.__elementType,
+      __enumClass: state.__enumClass,
+      __length: value.length,
+      __updates: updates,
+    };
   } else {
     // TODO: keep in sync with the corresponding check in BasicVariable
     if (!state.__valid || state.__value === state.__newValue) {
@@ -58,7 +86,6 @@ function validAndModified(state: ConfigVarState): ConfigVar | null {
         __type: state.__type,
         __value: state.__newValue,
         __enumClass: state.__enumClass,
-        __enumValues: state.__enumValues,
       };
     } else {
       return {
@@ -80,6 +107,13 @@ const ConfigView = ({
   const configRoot = useSelector(
     (state: RootState) => state.config.configRoot,
   ) as CustomVarState;
+  const saveConflict = useSelector(
+    (state: RootState) => state.config.saveConflict,
+  );
+  const snapshots = useSelector((state: RootState) => state.config.snapshots);
+  const snapshotError = useSelector(
+    (state: RootState) => state.config.snapshotError,
+  );
 
   const rootValue = configRoot.__value;
   if (rootValue === null) {
@@ -121,6 +155,55 @@ const ConfigView = ({
         </BaseViewIcons>
       </div>
       <BaseViewBody>
+        {saveConflict && (
+          <p className="mb-1 text-sm text-red-600">
+            Not saved: another client changed these values first. Review them
+            and save again.
+          </p>
+        )}
+        <div className="mb-2 flex items-center text-sm">
+          <select
+            className={`
+              mr-2 rounded border border-gray-300 bg-gray-100 py-0.5 pr-8
+              shadow-sm transition focus:border-primary-500 focus:ring-primary-500
+              dark:border-slate-500/80 dark:bg-slate-700 dark:text-slate-200
+            `}
+            value=""
+            disabled={snapshots.length === 0}
+            onChange={(evt) =>
+              dispatch({
+                type: 'LOAD_CONFIG_SNAPSHOT',
+                name: evt.target.value,
+              })
+            }
+          >
+            <option value="" disabled>
+              Load snapshot
+            </option>
+            {snapshots.map((name) => (
+              <option key={name} value={name}>
+                {name}
+              </option>
+            ))}
+          </select>
+          <button
+            className="rounded px-2 py-0.5 hover:bg-gray-200 dark:hover:bg-slate-700"
+            onClick={() => {
+              const name = window.prompt('Snapshot name')?.trim();
+              if (name) {
+                dispatch({
+                  type: 'SAVE_CONFIG_SNAPSHOT',
+                  name,
+                });
+              }
+            }}
+          >
+            Save snapshot
+          </button>
+        </div>
+        {snapshotError && (
+          <p className="mb-1 text-sm text-red-600">{snapshotError}</p>
+        )}
         <table className="block h-full">
           <tbody className="block">
             {sortedKeys.map((key) => (
@@ -155,6 +238,12 @@ const ConfigView = ({
                     },
                   })
                 }
+                onExpand={(path) =>
+                  dispatch({
+                    type: 'GET_CONFIG_SUBTREE',
+                    path: [key, ...path],
+                  })
+                }
               />
             ))}
           </tbody>
@@ -1,6 +1,7 @@
 import { Component, ReactNode } from 'react';
 import clsx from 'clsx';
 
+import ArrayVariable from './ArrayVariable';
 import BasicVariable from './BasicVariable';
 
 import { ReactComponent as ExpandedMoreIcon } from '@/assets/icons/expand_more.svg';
@@ -16,6 +17,8 @@ interface Props {
   state: CustomVarState;
   onChange: (state: CustomVarState) => void;
   onSave: (variable: CustomVar) => void;
+  // requests the children of a collapsed variable by path relative to this one
+  onExpand: (path: string[]) => void;
 }
 
 interface State {
@@ -33,7 +36,22 @@ class CustomVariable extends Component<Props, State> {
     this.toggleVisibility = this.toggleVisibility.bind(this);
   }
 
+  componentDidUpdate(prevProps: Props) {
+    // the server may collapse the variable again, e.g., after a restart
+    if (
+      this.state.expanded &&
+      this.props.state.__collapsed &&
+      !prevProps.state.__collapsed
+    ) {
+      this.props.onExpand([]);
+    }
+  }
+
   toggleVisibility() {
+    if (!this.state.expanded && this.props.state.__collapsed) {
+      this.props.onExpand([]);
+    }
+
     this.setState({
       expanded: !this.state.expanded,
     });
@@ -75,6 +93,15 @@ class CustomVariable extends Component<Props, State> {
     const { name, state } = this.props;
 
     const value = state.__value;
+    if (state.__collapsed) {
+      return this.renderHelper(
+        name,
+        <tr>
+          <td className="text-gray-500">Loading...</td>
+        </tr>,
+      );
+    }
+
     if (value === null) {
       return this.renderHelper(
         name,
@@ -119,6 +146,19 @@ class CustomVariable extends Component<Props, State> {
             state={child}
             onChange={onChange}
             onSave={onSave}
+            onExpand={(path) => this.props.onExpand([key, ...path])}
+          />
+        );
+      }
+
+      if (child.__type === 'array') {
+        return (
+          <ArrayVariable
+            key={key}
+            name={key}
+            state={child}
+            onChange={onChange}
+            onSave={onSave}
           />
         );
       }
@@ -191,6 +191,7 @@ class OpModeView extends Component<OpModeViewProps, OpModeViewState> {
       warningMessage,
       errorMessage,
       gamepadsSupported,
+      gamepadLatency,
     } = this.props;
 
     const { gamepad1Connected, gamepad2Connected } = this.props;
@@ -288,6 +289,18 @@ class OpModeView extends Component<OpModeViewProps, OpModeViewState> {
           {warningMessage !== '' && (
             <p className="warning mt-5 ml-1">Warning: {warningMessage}</p>
           )}
+          {(gamepad1Connected || gamepad2Connected) &&
+            gamepadLatency !== null &&
+            gamepadLatency.receivedFrames > 0 && (
+              <p className="mt-5 ml-1 text-sm text-gray-500">
+                Gamepad latency:{' '}
+                {gamepadLatency.endToEndSamples > 0
+                  ? `${gamepadLatency.endToEndMeanMs.toFixed(1)}ms avg, ` +
+                    `${gamepadLatency.endToEndP95Ms.toFixed(1)}ms p95`
+                  : `${gamepadLatency.receiveToApplyMeanMs.toFixed(1)}ms on robot`}
+                , {gamepadLatency.lostFrames} lost
+              </p>
+            )}
         </BaseViewBody>
       </BaseView>
     );
@@ -1,6 +1,17 @@
-import { ReceiveImageAction, RECEIVE_IMAGE } from '@/store/types';
+import {
+  ImageFrame,
+  ReceiveImageAction,
+  RECEIVE_IMAGE,
+  SetImageFramesAction,
+  SET_IMAGE_FRAMES,
+} from '@/store/types';
 
-export const receiveImage = (imageString: string): ReceiveImageAction => ({
+export const receiveImage = (frame: ImageFrame): ReceiveImageAction => ({
   type: RECEIVE_IMAGE,
-  imageString,
+  frame,
+});
+
+export const setImageFrames = (enabled: boolean): SetImageFramesAction => ({
+  type: SET_IMAGE_FRAMES,
+  enabled,
 });
@@ -1,4 +1,3 @@
-import { isEqual } from 'lodash';
 import { Dispatch } from 'redux';
 import {
   GamepadConnectedAction,
@@ -9,6 +8,10 @@ import {
   RECEIVE_GAMEPAD_STATE,
   GamepadState,
 } from '@/store/types';
+import {
+  encodeGamepadFrame,
+  framesEqual,
+} from '@/store/middleware/gamepadFrame';
 
 export const gamepadConnected = (user: number): GamepadConnectedAction => ({
   type: GAMEPAD_CONNECTED,
@@ -32,29 +35,29 @@ export const receiveGamepadState = (
 });
 
 /*
-To save bandwidth, new gamepad states are only sent if they differ from the previous.
-However, the dash regardless still sends gamepad messages at the rate below to feed
-the watchdog on the RC (to reset the gamepads in case the connection is cut abruptly).
+To save bandwidth, new gamepad states are only sent when their encoded frames differ from
+the previous one (so changes below the axis quantization don't count). The dash still sends
+a heartbeat at the rate below to feed the watchdog on the RC (to reset the gamepads in case
+the connection is cut abruptly); it must stay well under the RC's 500ms watchdog interval.
 */
-const MAX_GAMEPAD_MS = 150;
+const GAMEPAD_HEARTBEAT_MS = 200;
 
-let lastGamepad1: GamepadState;
-let lastGamepad2: GamepadState;
-let lastGamepadTimestamp: number;
+let lastGamepadFrame: ArrayBuffer | undefined;
+let lastGamepadTimestamp = 0;
 
 export const sendGamepadState =
   (gamepad1: GamepadState, gamepad2: GamepadState) =>
   (dispatch: Dispatch<ReceiveGamepadStateAction>) => {
     const timestamp = Date.now();
+    const frame = encodeGamepadFrame(gamepad1, gamepad2);
     if (
-      !isEqual(lastGamepad1, gamepad1) ||
-      !isEqual(lastGamepad2, gamepad2) ||
-      timestamp - lastGamepadTimestamp < MAX_GAMEPAD_MS
+      lastGamepadFrame === undefined ||
+      !framesEqual(lastGamepadFrame, frame) ||
+      timestamp - lastGamepadTimestamp >= GAMEPAD_HEARTBEAT_MS
     ) {
       dispatch(receiveGamepadState(gamepad1, gamepad2));
 
-      lastGamepad1 = gamepad1;
-      lastGamepad2 = gamepad2;
+      lastGamepadFrame = frame;
       lastGamepadTimestamp = timestamp;
     }
   };
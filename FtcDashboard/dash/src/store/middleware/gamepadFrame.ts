@@ -0,0 +1,94 @@
+import { GamepadState } from '@/store/types';
+
+/*
+ * Fixed-layout binary gamepad frame understood by the server in place of the JSON
+ * RECEIVE_GAMEPAD_STATE message: 42 bytes, a 14-byte header followed by two 14-byte
+ * gamepads. The layout is documented in GamepadFrame.java.
+ */
+export const GAMEPAD_FRAME_TYPE = 1;
+
+const HEADER_SIZE = 14;
+const GAMEPAD_SIZE = 14;
+const GAMEPAD_FRAME_SIZE = HEADER_SIZE + 2 * GAMEPAD_SIZE;
+
+const AXIS_SCALE = 32767;
+
+const BUTTONS: (keyof GamepadState)[] = [
+  'dpad_up',
+  'dpad_down',
+  'dpad_left',
+  'dpad_right',
+  'a',
+  'b',
+  'x',
+  'y',
+  'guide',
+  'start',
+  'back',
+  'left_bumper',
+  'right_bumper',
+  'left_stick_button',
+  'right_stick_button',
+  'touchpad',
+];
+
+const AXES: (keyof GamepadState)[] = [
+  'left_stick_x',
+  'left_stick_y',
+  'right_stick_x',
+  'right_stick_y',
+  'left_trigger',
+  'right_trigger',
+];
+
+const encodeAxis = (value: number) =>
+  Math.round(Math.max(-1, Math.min(1, value)) * AXIS_SCALE);
+
+const encodeGamepad = (
+  view: DataView,
+  offset: number,
+  state: GamepadState,
+) => {
+  let buttons = 0;
+  BUTTONS.forEach((button, i) => {
+    if (state[button]) {
+      buttons |= 1 << i;
+    }
+  });
+  view.setUint16(offset, buttons, true);
+
+  AXES.forEach((axis, i) => {
+    view.setInt16(offset + 2 + 2 * i, encodeAxis(state[axis] as number), true);
+  });
+};
+
+// timestamp is in robot clock milliseconds since the epoch (0 if unknown)
+export const encodeGamepadFrame = (
+  gamepad1: GamepadState,
+  gamepad2: GamepadState,
+  sequenceNumber = 0,
+  timestamp = 0,
+): ArrayBuffer => {
+  const buffer = new ArrayBuffer(GAMEPAD_FRAME_SIZE);
+  const view = new DataView(buffer);
+
+  view.setUint8(0, GAMEPAD_FRAME_TYPE);
+  view.setUint32(2, sequenceNumber >>> 0, true);
+  view.setFloat64(6, timestamp, true);
+  encodeGamepad(view, HEADER_SIZE, gamepad1);
+  encodeGamepad(view, HEADER_SIZE + GAMEPAD_SIZE, gamepad2);
+
+  return buffer;
+};
+
+export const framesEqual = (a: ArrayBuffer, b: ArrayBuffer) => {
+  if (a.byteLength !== b.byteLength) return false;
+
+  const aBytes = new Uint8Array(a);
+  const bBytes = new Uint8Array(b);
+  for (let i = 0; i < aBytes.length; i++) {
+    if (aBytes[i] !== bBytes[i]) return false;
+  }
+
+  return true;
+};
@@ -0,0 +1,27 @@
+import { ImageFrame } from '@/store/types';
+
+/*
+ * Binary camera image frame sent by the server in place of a base64 JSON message.
+ * The layout is documented in ImageFrame.java.
+ */
+export const IMAGE_FRAME_TYPE = 2;
+
+const HEADER_SIZE = 14;
+
+// returns null if the buffer doesn't hold an image frame
+export const decodeImageFrame = (buffer: ArrayBuffer): ImageFrame | null => {
+  if (buffer.byteLength < HEADER_SIZE) return null;
+
+  const view = new DataView(buffer);
+  if (view.getUint8(0) !== IMAGE_FRAME_TYPE) return null;
+
+  return {
+    streamId: view.getUint8(1),
+    width: view.getUint16(2, true),
+    height: view.getUint16(4, true),
+    timestamp: view.getFloat64(6, true),
+    image: new Blob([new Uint8Array(buffer, HEADER_SIZE)], {
+      type: 'image/jpeg',
+    }),
+  };
+};
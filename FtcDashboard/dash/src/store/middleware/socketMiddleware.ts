@@ -5,18 +5,57 @@ import {
   receiveConnectionStatus,
   receivePingTime,
 } from '@/store/actions/socket';
+import { receiveImage, setImageFrames } from '@/store/actions/camera';
 import {
   GET_ROBOT_STATUS,
   INIT_OP_MODE,
   RECEIVE_GAMEPAD_STATE,
   RECEIVE_ROBOT_STATUS,
+  SET_IMAGE_FRAMES,
   START_OP_MODE,
   STOP_OP_MODE,
 } from '@/store/types';
+import { encodeGamepadFrame } from './gamepadFrame';
+import { decodeImageFrame } from './imageFrame';
 
 let socket: WebSocket;
 let statusSentTime: number;
 
+/*
+The status round trip doubles as a clock sync: the sample with the smallest round trip
+among the recent ones gives the best estimate of the offset between the robot clock and
+ours. Gamepad frames are stamped with it so the RC can measure end-to-end input latency.
+*/
+const CLOCK_SAMPLE_COUNT = 8;
+let clockSamples: { rtt: number; offset: number }[] = [];
+let clockOffset: number | undefined;
+let gamepadSequenceNumber = 0;
+
+// set while waiting for a GET_CONFIG reply after a diff that didn't match our revision
+let configResyncPending = false;
+
+// the server sends camera images to new sockets until told otherwise
+let imageFramesEnabled = true;
+
+const addClockSample = (sentTime: number, serverTime: number) => {
+  const receivedTime = Date.now();
+  clockSamples.push({
+    rtt: receivedTime - sentTime,
+    offset: serverTime - (sentTime + receivedTime) / 2,
+  });
+  if (clockSamples.length > CLOCK_SAMPLE_COUNT) {
+    clockSamples.shift();
+  }
+
+  clockOffset = clockSamples.reduce((best, sample) =>
+    sample.rtt < best.rtt ? sample : best,
+  ).offset;
+};
+
+// current time on the robot clock, or 0 before the first status response
+const robotTime = () =>
+  clockOffset === undefined ? 0 : Date.now() + clockOffset;
+
 export function startSocketWatcher(dispatch: AppThunkDispatch) {
   setInterval(() => {
     if (socket === undefined || socket.readyState === WebSocket.CLOSED) {
@@ -26,13 +65,32 @@ export function startSocketWatcher(dispatch: AppThunkDispatch) {
         }:${import.meta.env['VITE_REACT_APP_PORT']}`,
       );
 
+      // camera images arrive as binary frames, everything else as JSON
+      socket.binaryType = 'arraybuffer';
       socket.onmessage = (evt) => {
+        if (evt.data instanceof ArrayBuffer) {
+          const frame = decodeImageFrame(evt.data);
+          if (frame !== null) {
+            dispatch(receiveImage(frame));
+          }
+          return;
+        }
+
         const msg = JSON.parse(evt.data);
         dispatch(msg);
       };
 
       socket.onopen = () => {
+        clockSamples = [];
+        clockOffset = undefined;
+        configResyncPending = false;
+        if (!imageFramesEnabled) {
+          socket.send(JSON.stringify(setImageFrames(false)));
+        }
         dispatch(receiveConnectionStatus(true));
+        // the server replies with a diff against the cached revision when it can
+        dispatch({ type: 'GET_CONFIG' });
+        dispatch({ type: 'GET_CONFIG_SNAPSHOTS' });
       };
 
       socket.onclose = () => {
@@ -54,15 +112,100 @@ const socketMiddleware: Middleware<Record<string, unknown>, RootState> =
         const pingTime = Date.now() - statusSentTime;
         store.dispatch(receivePingTime(pingTime));
 
+        if (action.status.serverTime) {
+          addClockSample(statusSentTime, action.status.serverTime);
+        }
+
+        next(action);
+
+        break;
+      }
+      case RECEIVE_GAMEPAD_STATE: {
+        if (socket !== undefined && socket.readyState === WebSocket.OPEN) {
+          socket.send(
+            encodeGamepadFrame(
+              action.gamepad1,
+              action.gamepad2,
+              gamepadSequenceNumber++,
+              robotTime(),
+            ),
+          );
+        }
+
+        next(action);
+
+        break;
+      }
+      case 'RECEIVE_CONFIG': {
+        configResyncPending = false;
+
+        next(action);
+
+        break;
+      }
+      case 'RECEIVE_CONFIG_DIFF': {
+        const { epoch, revision } = store.getState().config;
+        if (action.epoch === epoch && action.baseRevision === revision) {
+          configResyncPending = false;
+
+          next(action);
+        } else if (!configResyncPending) {
+          // missed an update; fetch what changed since our revision
+          configResyncPending = true;
+          store.dispatch({ type: 'GET_CONFIG' });
+        }
+
+        break;
+      }
+      case 'GET_CONFIG': {
+        const { epoch, revision } = store.getState().config;
+        if (socket !== undefined && socket.readyState === WebSocket.OPEN) {
+          socket.send(JSON.stringify({ ...action, epoch, revision }));
+        }
+
+        next(action);
+
+        break;
+      }
+      case 'GET_CONFIG_SUBTREE': {
+        // lets the server answer with what changed if there's nothing to expand
+        const { epoch, revision } = store.getState().config;
+        if (socket !== undefined && socket.readyState === WebSocket.OPEN) {
+          socket.send(JSON.stringify({ ...action, epoch, revision }));
+        }
+
+        next(action);
+
+        break;
+      }
+      case 'SAVE_CONFIG': {
+        // lets the server reject the save if someone else changed these variables
+        const { epoch, revision } = store.getState().config;
+        if (socket !== undefined && socket.readyState === WebSocket.OPEN) {
+          socket.send(
+            JSON.stringify({ ...action, epoch, baseRevision: revision }),
+          );
+        }
+
+        next(action);
+
+        break;
+      }
+      case SET_IMAGE_FRAMES: {
+        imageFramesEnabled = action.enabled;
+        if (socket !== undefined && socket.readyState === WebSocket.OPEN) {
+          socket.send(JSON.stringify(action));
+        }
+
         next(action);
 
         break;
       }
       // messages forwarded to the server
-      case RECEIVE_GAMEPAD_STATE:
+      case 'GET_CONFIG_SNAPSHOTS':
+      case 'SAVE_CONFIG_SNAPSHOT':
+      case 'LOAD_CONFIG_SNAPSHOT':
       case GET_ROBOT_STATUS:
-      case 'SAVE_CONFIG':
-      case 'GET_CONFIG':
       case INIT_OP_MODE:
       case START_OP_MODE:
       case STOP_OP_MODE: {
@@ -4,8 +4,42 @@ import LayoutPreset, { LayoutPresetType } from '@/enums/LayoutPreset';
 import { GET_LAYOUT_PRESET, SAVE_LAYOUT_PRESET } from '@/store/types';
 import { receiveLayoutPreset } from '@/store/actions/settings';
 import { RootState } from '@/store/reducers';
+import { ConfigVar, ConfigVarState } from '@/store/types/config';
 
 const LAYOUT_PRESET_KEY = 'layoutPreset';
+const CONFIG_CACHE_KEY = 'configCache';
+
+// strips the local edits, leaving the tree as the server sent it
+function deflate(state: ConfigVarState): ConfigVar {
+  if (state.__type === 'custom') {
+    const value = state.__value;
+    return {
+      __type: 'custom',
+      __collapsed: state.__collapsed,
+      __value:
+        value === null
+          ? null
+          : Object.keys(value).reduce(
+              (acc, key) => ({
+                ...acc,
+                [key]: deflate(value[key]),
+              }),
+              {},
+            ),
+    };
+  } else if (state.__type === 'array') {
+    return {
+      __type: 'array',
+      __elementType: state.__elementType,
+      __enumClass: state.__enumClass,
+      __value: state.__value,
+    };
+  } else {
+    // eslint-disable-next-line @typescript-eslint/no-unused-vars
+    const { __newValue, __valid, ...v } = state;
+    return v;
+  }
+}
 
 const storageMiddleware: Middleware<Record<string, unknown>, RootState> =
   (store) => (next) => (action) => {
@@ -25,6 +59,47 @@ const storageMiddleware: Middleware<Record<string, unknown>, RootState> =
 
         break;
       }
+      case 'LOAD_CACHED_CONFIG': {
+        const cached = localStorage.getItem(CONFIG_CACHE_KEY);
+        if (cached !== null) {
+          try {
+            const { configRoot, enumValues, epoch, revision } =
+              JSON.parse(cached);
+            // caches from older versions have no enum values
+            if (enumValues !== undefined) {
+              store.dispatch({
+                type: 'RECEIVE_CONFIG',
+                configRoot,
+                enumValues,
+                epoch,
+                revision,
+              });
+            }
+          } catch (e) {
+            localStorage.removeItem(CONFIG_CACHE_KEY);
+          }
+        }
+
+        break;
+      }
+      case 'RECEIVE_CONFIG':
+      case 'RECEIVE_CONFIG_DIFF': {
+        next(action);
+
+        const { configRoot, enumValues, epoch, revision } =
+          store.getState().config;
+        localStorage.setItem(
+          CONFIG_CACHE_KEY,
+          JSON.stringify({
+            configRoot: deflate(configRoot),
+            enumValues,
+            epoch,
+            revision,
+          }),
+        );
+
+        break;
+      }
       default:
         next(action);
 
@@ -1,18 +1,30 @@
-import { CameraState, ReceiveImageAction, RECEIVE_IMAGE } from '@/store/types';
+import {
+  CameraState,
+  ReceiveImageAction,
+  RECEIVE_IMAGE,
+  SetImageFramesAction,
+  SET_IMAGE_FRAMES,
+} from '@/store/types';
 
 const initialState: CameraState = {
-  imageStr: '',
+  frame: null,
+  imageFrames: true,
 };
 
 const cameraReducer = (
   state: CameraState = initialState,
-  action: ReceiveImageAction,
+  action: ReceiveImageAction | SetImageFramesAction,
 ): CameraState => {
   switch (action.type) {
     case RECEIVE_IMAGE:
       return {
         ...state,
-        imageStr: action.imageString,
+        frame: action.frame,
+      };
+    case SET_IMAGE_FRAMES:
+      return {
+        ...state,
+        imageFrames: action.enabled,
       };
     default:
       return state;
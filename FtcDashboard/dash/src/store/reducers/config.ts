@@ -1,20 +1,89 @@
 import {
+  ArrayElement,
+  ArrayVar,
+  ArrayVarState,
   ConfigState,
   ConfigVar,
   ConfigVarState,
   ReceiveConfigAction,
+  ReceiveConfigConflictAction,
+  ReceiveConfigDiffAction,
+  ReceiveConfigSnapshotsAction,
   RefreshConfigAction,
   SaveConfigAction,
   UpdateConfigAction,
 } from '@/store/types/config';
 
+// elements of v, applying its updates to base if it only carries updates
+function arrayElements(
+  v: ArrayVar,
+  base: ArrayElement[] | null,
+): ArrayElement[] | null {
+  if (!('__updates' in v)) {
+    return v.__value;
+  }
+
+  if (base === null || base.length !== v.__length) {
+    return null;
+  }
+
+  const updates = v.__updates;
+  return base.map((element, i) => (i in updates ? updates[i] : element));
+}
+
+function inflateArray(
+  v: ArrayVar,
+  base: ArrayElement[] | null,
+): ArrayVarState {
+  const value = arrayElements(v, base);
+  return {
+    __type: 'array',
+    __elementType: v.__elementType,
+    __enumClass: v.__enumClass,
+    __value: value,
+    __newValue: value,
+    __valid: value === null ? [] : value.map(() => true),
+  };
+}
+
+// keeps the modified elements of base that still exist in latest
+function mergeModifiedArray(
+  base: ArrayVarState,
+  latest: ArrayVar,
+): ArrayVarState {
+  const inflated = inflateArray(latest, base.__value);
+  const { __value: value, __newValue: newValue } = base;
+  const latestValue = inflated.__value;
+  if (
+    value === null ||
+    newValue === null ||
+    latestValue === null ||
+    value === newValue ||
+    latestValue.length !== newValue.length
+  ) {
+    return inflated;
+  }
+
+  const modified = (i: number) => newValue[i] !== value[i];
+  return {
+    ...inflated,
+    __newValue: latestValue.map((element, i) =>
+      modified(i) ? newValue[i] : element,
+    ),
+    __valid: latestValue.map((_, i) => !modified(i) || base.__valid[i]),
+  };
+}
+
 function inflate(v: ConfigVar): ConfigVarState {
-  if (v.__type === 'custom') {
+  if (v.__type === 'array') {
+    return inflateArray(v, null);
+  } else if (v.__type === 'custom') {
     const value = v.__value;
     if (value === null) {
       return {
         __type: 'custom',
         __value: null,
+        __collapsed: v.__collapsed,
       };
     } else {
       return {
@@ -48,6 +117,7 @@ function mergeModified(
       return {
         __type: 'custom',
         __value: null,
+        __collapsed: latest.__collapsed,
       };
     } else {
       return {
@@ -67,6 +137,13 @@ function mergeModified(
         ),
       };
     }
+  } else if (
+    base.__type === 'array' &&
+    latest.__type === 'array' &&
+    base.__elementType === latest.__elementType &&
+    base.__enumClass === latest.__enumClass
+  ) {
+    return mergeModifiedArray(base, latest);
   } else if (
     base.__type === 'enum' &&
     latest.__type === 'enum' &&
@@ -80,7 +157,9 @@ function mergeModified(
   } else if (
     base.__type === latest.__type &&
     /* type checker reminder */ base.__type !== 'custom' &&
+    base.__type !== 'array' &&
     latest.__type !== 'custom' &&
+    latest.__type !== 'array' &&
     base.__value !== base.__newValue
   ) {
     return {
@@ -92,6 +171,61 @@ function mergeModified(
   }
 }
 
+// apply a tree of changed variables to base, keeping unchanged members as-is
+function applyDiff(base: ConfigVarState, diff: ConfigVar): ConfigVarState {
+  if (
+    base.__type === 'custom' &&
+    diff.__type === 'custom' &&
+    base.__value !== null &&
+    diff.__value !== null
+  ) {
+    const baseValue = base.__value;
+    const diffValue = diff.__value;
+    return {
+      __type: 'custom',
+      __value: Object.keys(diffValue).reduce(
+        (acc, key) => ({
+          ...acc,
+          [key]:
+            key in baseValue
+              ? applyDiff(baseValue[key], diffValue[key])
+              : inflate(diffValue[key]),
+        }),
+        baseValue,
+      ),
+    };
+  } else {
+    return mergeModified(base, diff);
+  }
+}
+
+function removePath(state: ConfigVarState, path: string[]): ConfigVarState {
+  if (
+    path.length === 0 ||
+    state.__type !== 'custom' ||
+    state.__value === null
+  ) {
+    return state;
+  }
+
+  const [key, ...rest] = path;
+  if (!(key in state.__value)) {
+    return state;
+  }
+
+  const value = { ...state.__value };
+  if (rest.length === 0) {
+    delete value[key];
+  } else {
+    value[key] = removePath(value[key], rest);
+  }
+
+  return {
+    __type: 'custom',
+    __value: value,
+  };
+}
+
 function revertModified(state: ConfigVarState): ConfigVarState {
   if (state.__type === 'custom') {
     const value = state.__value;
@@ -99,6 +233,7 @@ function revertModified(state: ConfigVarState): ConfigVarState {
       return {
         __type: 'custom',
         __value: null,
+        __collapsed: state.__collapsed,
       };
     } else {
       return {
@@ -112,6 +247,12 @@ function revertModified(state: ConfigVarState): ConfigVarState {
         ),
       };
     }
+  } else if (state.__type === 'array') {
+    return {
+      ...state,
+      __newValue: state.__value,
+      __valid: state.__valid.map(() => true),
+    };
   } else {
     return {
       ...state,
@@ -125,12 +266,21 @@ const initialState: ConfigState = {
     __type: 'custom',
     __value: {},
   },
+  epoch: 0,
+  revision: 0,
+  saveConflict: false,
+  snapshots: [],
+  snapshotError: null,
+  enumValues: {},
 };
 
 const configReducer = (
   state: ConfigState = initialState,
   action:
     | ReceiveConfigAction
+    | ReceiveConfigDiffAction
+    | ReceiveConfigConflictAction
+    | ReceiveConfigSnapshotsAction
     | UpdateConfigAction
     | SaveConfigAction
     | RefreshConfigAction,
@@ -140,6 +290,36 @@ const configReducer = (
       return {
         ...state,
         configRoot: mergeModified(state.configRoot, action.configRoot),
+        enumValues: action.enumValues,
+        epoch: action.epoch,
+        revision: action.revision,
+      };
+    case 'RECEIVE_CONFIG_DIFF':
+      // the socket middleware only passes diffs against the current revision
+      return {
+        ...state,
+        configRoot: applyDiff(
+          action.removed.reduce(removePath, state.configRoot),
+          action.configDiff,
+        ),
+        enumValues: { ...state.enumValues, ...action.enumValues },
+        revision: action.revision,
+      };
+    case 'RECEIVE_CONFIG_CONFLICT':
+      return {
+        ...state,
+        saveConflict: true,
+      };
+    case 'RECEIVE_CONFIG_SNAPSHOTS':
+      return {
+        ...state,
+        snapshots: action.names,
+        snapshotError: action.error,
+      };
+    case 'SAVE_CONFIG':
+      return {
+        ...state,
+        saveConflict: false,
       };
     case 'UPDATE_CONFIG':
       return {
@@ -16,6 +16,8 @@ const initialState: StatusState = {
   activeOpModeStatus: OpModeStatus.STOPPED,
   warningMessage: '',
   errorMessage: '',
+  serverTime: 0,
+  gamepadLatency: null,
   opModeList: [],
   gamepadsSupported: true,
 };
@@ -1,10 +1,29 @@
 export const RECEIVE_IMAGE = 'RECEIVE_IMAGE';
+export const SET_IMAGE_FRAMES = 'SET_IMAGE_FRAMES';
+
+export type ImageFrame = {
+  // changes whenever a different source starts sending images
+  streamId: number;
+  // robot clock milliseconds since the epoch
+  timestamp: number;
+  width: number;
+  height: number;
+  // JPEG data
+  image: Blob;
+};
 
 export type CameraState = {
-  imageStr: string;
+  frame: ImageFrame | null;
+  // false while the camera view shows the MJPEG stream instead
+  imageFrames: boolean;
 };
 
 export type ReceiveImageAction = {
   type: typeof RECEIVE_IMAGE;
-  imageString: string;
+  frame: ImageFrame;
+};
+
+export type SetImageFramesAction = {
+  type: typeof SET_IMAGE_FRAMES;
+  enabled: boolean;
 };
@@ -1,14 +1,18 @@
-export type ConfigVar = CustomVar | BasicVar;
-export type ConfigVarState = CustomVarState | BasicVarState;
+export type ConfigVar = CustomVar | BasicVar | ArrayVar;
+export type ConfigVarState = CustomVarState | BasicVarState | ArrayVarState;
 
+// collapsed variables are nested objects sent without their children (__value is
+// null) until they are requested with GET_CONFIG_SUBTREE
 export type CustomVar = {
   __type: 'custom';
   __value: Record<string, ConfigVar> | null;
+  __collapsed?: boolean;
 };
 
 export type CustomVarState = {
   __type: 'custom';
   __value: Record<string, ConfigVarState> | null;
+  __collapsed?: boolean;
 };
 
 export type BasicVar =
@@ -17,7 +21,6 @@ export type BasicVar =
       // only string is actualy present, but this helps treat vars uniformly
       __value: boolean | number | string | null;
       __enumClass: string;
-      __enumValues: string[];
     }
   | {
       __type: 'boolean' | 'int' | 'double' | 'string';
@@ -30,7 +33,6 @@ export type BasicVarState = (
       __value: boolean | number | string | null;
       __newValue: boolean | number | string | null;
       __enumClass: string;
-      __enumValues: string[];
     }
   | {
       __type: 'boolean' | 'int' | 'double' | 'string';
@@ -41,19 +43,105 @@ export type BasicVarState = (
   __valid: boolean;
 };
 
+export type ArrayElementType = 'boolean' | 'int' | 'double' | 'string' | 'enum';
+export type ArrayElement = boolean | number | string | null;
+
+// arrays and lists of basic values; diffs and saves may instead carry
+// __updates, the replaced elements of an array of __length elements by index
+export type ArrayVar = {
+  __type: 'array';
+  __elementType: ArrayElementType;
+  __enumClass?: string;
+} & (
+  | {
+      __value: ArrayElement[] | null;
+    }
+  | {
+      __length: number;
+      __updates: Record<string, ArrayElement>;
+    }
+);
+
+export type ArrayVarState = {
+  __type: 'array';
+  __elementType: ArrayElementType;
+  __enumClass?: string;
+  __value: ArrayElement[] | null;
+  __newValue: ArrayElement[] | null;
+  // validity of each new element
+  __valid: boolean[];
+};
+
 export type ConfigState = {
   configRoot: ConfigVarState;
+  // server run and revision of configRoot; zero before the first config
+  epoch: number;
+  revision: number;
+  saveConflict: boolean;
+  // names of the snapshots saved on the robot
+  snapshots: string[];
+  // why the last snapshot request failed
+  snapshotError: string | null;
+  // values of the enum classes in configRoot by class name
+  enumValues: Record<string, string[]>;
 };
 
 export type ReceiveConfigAction = {
   type: 'RECEIVE_CONFIG';
   configRoot: ConfigVar;
+  enumValues: Record<string, string[]>;
+  epoch: number;
+  revision: number;
+};
+
+export type ReceiveConfigDiffAction = {
+  type: 'RECEIVE_CONFIG_DIFF';
+  configDiff: ConfigVar;
+  removed: string[][];
+  // only the enum classes that aren't in the base tree
+  enumValues: Record<string, string[]>;
+  epoch: number;
+  baseRevision: number;
+  revision: number;
+};
+
+export type ReceiveConfigConflictAction = {
+  type: 'RECEIVE_CONFIG_CONFLICT';
 };
 
 export type GetConfigAction = {
   type: 'GET_CONFIG';
 };
 
+export type GetConfigSubtreeAction = {
+  type: 'GET_CONFIG_SUBTREE';
+  path: string[];
+};
+
+export type GetConfigSnapshotsAction = {
+  type: 'GET_CONFIG_SNAPSHOTS';
+};
+
+export type SaveConfigSnapshotAction = {
+  type: 'SAVE_CONFIG_SNAPSHOT';
+  name: string;
+};
+
+export type LoadConfigSnapshotAction = {
+  type: 'LOAD_CONFIG_SNAPSHOT';
+  name: string;
+};
+
+export type ReceiveConfigSnapshotsAction = {
+  type: 'RECEIVE_CONFIG_SNAPSHOTS';
+  names: string[];
+  error: string | null;
+};
+
+export type LoadCachedConfigAction = {
+  type: 'LOAD_CACHED_CONFIG';
+};
+
 export type UpdateConfigAction = {
   type: 'UPDATE_CONFIG';
   configRoot: ConfigVarState;
@@ -1,10 +1,20 @@
-export { RECEIVE_IMAGE } from './camera';
-export type { CameraState, ReceiveImageAction } from './camera';
+export { RECEIVE_IMAGE, SET_IMAGE_FRAMES } from './camera';
+export type {
+  CameraState,
+  ImageFrame,
+  ReceiveImageAction,
+  SetImageFramesAction,
+} from './camera';
 
 export type {
   ConfigState,
   ReceiveConfigAction,
   GetConfigAction,
+  GetConfigSubtreeAction,
+  GetConfigSnapshotsAction,
+  SaveConfigSnapshotAction,
+  LoadConfigSnapshotAction,
+  ReceiveConfigSnapshotsAction,
   UpdateConfigAction,
   SaveConfigAction,
   RefreshConfigAction,
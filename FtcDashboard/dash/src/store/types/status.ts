@@ -6,6 +6,18 @@ export const RECEIVE_ROBOT_STATUS = 'RECEIVE_ROBOT_STATUS';
 export const RECEIVE_OP_MODE_LIST = 'RECEIVE_OP_MODE_LIST';
 export const GAMEPAD_SUPPORTED_STATUS = 'GAMEPAD_SUPPORTED_STATUS';
 
+export type GamepadLatencyStats = {
+  receivedFrames: number;
+  lostFrames: number;
+  receiveToApplyMeanMs: number;
+  receiveToApplyP95Ms: number;
+  receiveToApplyMaxMs: number;
+  endToEndSamples: number;
+  endToEndMeanMs: number;
+  endToEndP95Ms: number;
+  endToEndMaxMs: number;
+};
+
 export type RobotStatus = {
   enabled: boolean;
   available: boolean;
@@ -13,6 +25,8 @@ export type RobotStatus = {
   activeOpModeStatus: Values<typeof OpModeStatus>;
   warningMessage: string;
   errorMessage: string;
+  serverTime: number;
+  gamepadLatency: GamepadLatencyStats | null;
 };
 
 export type StatusState = {
@@ -22,6 +36,8 @@ export type StatusState = {
   activeOpModeStatus: Values<typeof OpModeStatus>;
   warningMessage: string;
   errorMessage: string;
+  serverTime: number;
+  gamepadLatency: GamepadLatencyStats | null;
   opModeList: string[];
   gamepadsSupported: boolean;
 };
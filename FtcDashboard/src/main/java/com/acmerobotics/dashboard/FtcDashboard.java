@@ -7,7 +7,6 @@ import android.content.SharedPreferences;
 import android.content.res.AssetManager;
 import android.graphics.Bitmap;
 import android.graphics.Typeface;
-import android.util.Base64;
 import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -17,12 +16,14 @@ import android.widget.TextView;
 import com.acmerobotics.dashboard.canvas.Canvas;
 import com.acmerobotics.dashboard.config.Config;
 import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.config.reflection.ConfigClassIndex;
 import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.GamepadFrame;
+import com.acmerobotics.dashboard.message.ImageFrame;
 import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.redux.InitOpMode;
 import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
-import com.acmerobotics.dashboard.message.redux.ReceiveImage;
 import com.acmerobotics.dashboard.message.redux.ReceiveOpModeList;
 import com.acmerobotics.dashboard.message.redux.ReceiveRobotStatus;
 import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
@@ -57,7 +58,7 @@ import org.firstinspires.ftc.robotcore.internal.system.Misc;
 import org.firstinspires.ftc.robotcore.internal.webserver.WebHandler;
 import org.firstinspires.ftc.robotserver.internal.webserver.MimeTypesUtil;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -65,8 +66,16 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import dalvik.system.DexFile;
 import fi.iki.elonen.NanoHTTPD;
@@ -79,7 +88,10 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     private static final String TAG = "FtcDashboard";
 
     private static final int DEFAULT_IMAGE_QUALITY = 50; // 0-100
+    // MJPEG camera stream on the socket server's port
+    private static final String CAMERA_STREAM_PATH = "/camera";
     private static final int GAMEPAD_WATCHDOG_INTERVAL = 500; // ms
+    private static final int GAMEPAD_EVENT_CAPACITY = 256;
 
     private static boolean suppressOpMode = false;
 
@@ -169,11 +181,28 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
     private DashboardCore core = new DashboardCore();
 
+    // camera images for clients that show the MJPEG stream instead of socket frames
+    private final MjpegStream mjpegStream = new MjpegStream();
+
     private NanoWSD server = new NanoWSD(8000) {
         @Override
         protected NanoWSD.WebSocket openWebSocket (NanoHTTPD.IHTTPSession handshake){
             return new DashWebSocket(handshake);
         }
+
+        @Override
+        protected NanoHTTPD.Response serveHttp(NanoHTTPD.IHTTPSession session) {
+            if (session.getMethod() == NanoHTTPD.Method.GET
+                    && CAMERA_STREAM_PATH.equals(session.getUri())) {
+                // each connection has its own thread, which writes frames as they arrive
+                NanoHTTPD.Response response = NanoHTTPD.newChunkedResponse(
+                        NanoHTTPD.Response.Status.OK, MjpegStream.MIME_TYPE,
+                        mjpegStream.newClient());
+                response.addHeader("Cache-Control", "no-cache, no-store");
+                return response;
+            }
+            return super.serveHttp(session);
+        }
     };
 
     private SharedPreferences prefs;
@@ -182,19 +211,37 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     private Telemetry telemetry = new TelemetryAdapter();
 
     private ExecutorService cameraStreamExecutor;
-    private int imageQuality = DEFAULT_IMAGE_QUALITY;
+    private volatile int imageQuality = DEFAULT_IMAGE_QUALITY;
+    // changes whenever a different source starts sending images; see ImageFrame
+    // changed by sendImage() and startCameraStream(), which may run on different threads
+    private volatile int imageStreamId;
+
+    // encodes and sends camera images off the capturing thread
+    private final CameraPipeline<Bitmap> cameraPipeline = new CameraPipeline<>(
+            (bitmap, out) -> bitmap.compress(Bitmap.CompressFormat.JPEG, imageQuality, out),
+            this::sendImageFrame);
 
     private final List<String[]> varsToRemove = new ArrayList<>(); // only modified inside withConfigRoot
 
     private FtcEventLoop eventLoop;
     private OpModeManagerImpl opModeManager;
 
-    private final Mutex<OpModeAndStatus> activeOpMode = new Mutex<>(new OpModeAndStatus());
+    // replaced wholesale by the op mode callbacks and read without locking elsewhere so gamepad
+    // updates never hold up the op mode lifecycle
+    private volatile OpModeAndStatus activeOpMode =
+            new OpModeAndStatus(null, RobotStatus.OpModeStatus.STOPPED);
 
     private final Mutex<List<String>> opModeList = new Mutex<>(new ArrayList<>());
 
-    private ExecutorService gamepadWatchdogExecutor;
-    private long lastGamepadTimestamp;
+    private volatile ScheduledExecutorService gamepadWatchdogExecutor;
+    // guards writes to the op mode gamepads and the deadline; only the socket threads and the
+    // watchdog take it
+    private final Object gamepadLock = new Object();
+    // System.nanoTime() after which the dashboard gamepads are considered stale
+    private volatile long gamepadDeadline;
+    private final AtomicBoolean gamepadTimeoutScheduled = new AtomicBoolean();
+    private final GamepadLatencyTracker gamepadLatency = new GamepadLatencyTracker();
+    private final GamepadEventQueue gamepadEvents = new GamepadEventQueue(GAMEPAD_EVENT_CAPACITY);
 
     private boolean webServerAttached;
 
@@ -202,35 +249,68 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     private LinearLayout parentLayout;
 
     private static class OpModeAndStatus {
-        public OpMode opMode;
-        public RobotStatus.OpModeStatus status = RobotStatus.OpModeStatus.STOPPED;
+        public final OpMode opMode;
+        public final RobotStatus.OpModeStatus status;
+
+        OpModeAndStatus(OpMode opMode, RobotStatus.OpModeStatus status) {
+            this.opMode = opMode;
+            this.status = status;
+        }
     }
 
+    /**
+     * Single pending timeout that resets the gamepads once updates stop arriving. Updates only
+     * push the deadline back; the timeout reschedules itself for the remainder when it fires
+     * early.
+     */
     private class GamepadWatchdogRunnable implements Runnable {
         @Override
         public void run() {
-            while (!Thread.currentThread().isInterrupted()) {
-                long timestamp = System.currentTimeMillis();
-                try {
-                    if (lastGamepadTimestamp == 0) {
-                        Thread.sleep(GAMEPAD_WATCHDOG_INTERVAL);
-                    } else if ((timestamp - lastGamepadTimestamp) > GAMEPAD_WATCHDOG_INTERVAL) {
-                        activeOpMode.with(o -> {
-                            o.opMode.gamepad1.copy(new Gamepad());
-                            o.opMode.gamepad2.copy(new Gamepad());
-                        });
-                        lastGamepadTimestamp = 0;
-                    } else {
-                        Thread.sleep(GAMEPAD_WATCHDOG_INTERVAL -
-                                (timestamp - lastGamepadTimestamp));
-                    }
-                } catch (InterruptedException e) {
-                    break;
+            long remaining = gamepadDeadline - System.nanoTime();
+            if (remaining > 0) {
+                scheduleGamepadTimeout(remaining);
+                return;
+            }
+
+            gamepadTimeoutScheduled.set(false);
+
+            synchronized (gamepadLock) {
+                // an update may have landed since the check above
+                if (gamepadDeadline - System.nanoTime() > 0) {
+                    armGamepadWatchdog();
+                    return;
+                }
+
+                OpMode opMode = activeOpMode.opMode;
+                if (opMode != null) {
+                    opMode.gamepad1.copy(new Gamepad());
+                    opMode.gamepad2.copy(new Gamepad());
                 }
+                gamepadEvents.releaseAll(System.currentTimeMillis());
             }
         }
     }
 
+    private void scheduleGamepadTimeout(long delayNanos) {
+        ScheduledExecutorService executor = gamepadWatchdogExecutor;
+        if (executor == null || executor.isShutdown()) {
+            gamepadTimeoutScheduled.set(false);
+            return;
+        }
+
+        try {
+            executor.schedule(new GamepadWatchdogRunnable(), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            gamepadTimeoutScheduled.set(false);
+        }
+    }
+
+    private void armGamepadWatchdog() {
+        if (gamepadTimeoutScheduled.compareAndSet(false, true)) {
+            scheduleGamepadTimeout(gamepadDeadline - System.nanoTime());
+        }
+    }
+
     private class ListOpModesRunnable implements Runnable {
         @Override
         public void run() {
@@ -441,19 +521,20 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         }
     }
 
-    private static String bitmapToJpegString(Bitmap bitmap, int quality) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, quality, outputStream);
-        return Base64.encodeToString(outputStream.toByteArray(), Base64.DEFAULT);
+    private void sendImageFrame(byte[] frame) {
+        core.sendImageFrame(frame);
+        mjpegStream.send(frame, ImageFrame.HEADER_SIZE, frame.length - ImageFrame.HEADER_SIZE);
     }
 
     private class CameraStreamRunnable implements Runnable {
         private CameraStreamSource source;
         private double maxFps;
+        private int streamId;
 
-        private CameraStreamRunnable(CameraStreamSource source, double maxFps) {
+        private CameraStreamRunnable(CameraStreamSource source, double maxFps, int streamId) {
             this.source = source;
             this.maxFps = maxFps;
+            this.streamId = streamId;
         }
 
         @Override
@@ -462,7 +543,7 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                 try {
                     long timestamp = System.currentTimeMillis();
 
-                    if (core.clientCount() == 0) {
+                    if (core.imageClientCount() == 0 && mjpegStream.clientCount() == 0) {
                         Thread.sleep(250);
                         continue;
                     }
@@ -471,7 +552,10 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                     source.getFrameBitmap(Continuation.createTrivial(new Consumer<Bitmap>() {
                         @Override
                         public void accept(Bitmap value) {
-                            sendAll(new ReceiveImage(bitmapToJpegString(value, imageQuality)));
+                            // encoding happens on the pipeline's thread; the next frame can be
+                            // captured meanwhile
+                            cameraPipeline.offer(value, value.getWidth(), value.getHeight(),
+                                    streamId);
                             latch.countDown();
                         }
                     }));
@@ -501,16 +585,50 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
             "kotlin"
     ));
 
-    private static void addConfigClasses(CustomVariable customVariable) {
-        ClassLoader classLoader = FtcDashboard.class.getClassLoader();
+    private static final File CONFIG_SNAPSHOT_DIR = new File(AppUtil.FIRST_FOLDER, "dashboard");
+
+    /*
+     * Number of class names each scan task checks. Config classes found by a task are sent to
+     * clients together.
+     */
+    private static final int CONFIG_SCAN_CHUNK_SIZE = 512;
+
+    // Finds @Config classes and adds them to the config tree as they're found, so clients can
+    // connect and see the first classes before the scan is over.
+    private class ConfigDiscoveryRunnable implements Runnable {
+        @Override
+        public void run() {
+            ClassLoader classLoader = FtcDashboard.class.getClassLoader();
+
+            // the index generated at build time spares scanning every class in the app
+            ConfigClassIndex index = loadConfigClassIndex(classLoader);
+            if (index != null) {
+                List<Class<?>> configClasses = new ArrayList<>();
+                for (String className : index.getClassNames()) {
+                    try {
+                        configClasses.add(Class.forName(className, false, classLoader));
+                    } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                        RobotLog.logStackTrace(e);
+                    }
+                }
+                addConfigClasses(configClasses);
+                return;
+            }
+
+            scanConfigClasses(classLoader);
+        }
+    }
 
+    // Class lookups and annotation checks run in parallel. Classes are initialized when their
+    // variables are created and serialized, which stays on the calling thread: running
+    // static initializers concurrently can deadlock on initialization cycles.
+    private void scanConfigClasses(ClassLoader classLoader) {
+        List<String> classNames = new ArrayList<>();
         Context context = AppUtil.getInstance().getApplication();
         try {
             DexFile dexFile = new DexFile(context.getPackageCodePath());
 
-            List<String> classNames = Collections.list(dexFile.entries());
-
-            for (String className : classNames) {
+            for (String className : Collections.list(dexFile.entries())) {
                 boolean skip = false;
                 for (String prefix : IGNORED_PACKAGES) {
                     if (className.startsWith(prefix)) {
@@ -519,35 +637,101 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                     }
                 }
 
-                if (skip) {
-                    continue;
+                if (!skip) {
+                    classNames.add(className);
                 }
+            }
+        } catch (IOException e) {
+            RobotLog.logStackTrace(e);
+            return;
+        }
 
-                try {
-                    Class<?> configClass = Class.forName(className, false, classLoader);
-
-                    if (!configClass.isAnnotationPresent(Config.class)
-                            || configClass.isAnnotationPresent(Disabled.class)) {
-                        continue;
-                    }
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService scanExecutor = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "dash config scan"));
+        CompletionService<List<Class<?>>> scans = new ExecutorCompletionService<>(scanExecutor);
+        try {
+            int chunks = 0;
+            for (int i = 0; i < classNames.size(); i += CONFIG_SCAN_CHUNK_SIZE) {
+                List<String> chunk = classNames.subList(i,
+                        Math.min(i + CONFIG_SCAN_CHUNK_SIZE, classNames.size()));
+                scans.submit(() -> findConfigClasses(chunk, classLoader));
+                chunks++;
+            }
 
-                    String name = configClass.getSimpleName();
-                    String altName = configClass.getAnnotation(Config.class).value();
-                    if (!altName.isEmpty()) {
-                        name = altName;
-                    }
+            for (int i = 0; i < chunks; i++) {
+                addConfigClasses(scans.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            RobotLog.logStackTrace(e);
+        } finally {
+            scanExecutor.shutdownNow();
+        }
+    }
 
-                    customVariable.putVariable(name, ReflectionConfig.createVariableFromClass(configClass));
-                } catch (ClassNotFoundException | NoClassDefFoundError ignored) {
-                    // dash is unable to access many classes and reporting every instance
-                    // only clutters the logs
+    private static List<Class<?>> findConfigClasses(List<String> classNames,
+                                                    ClassLoader classLoader) {
+        List<Class<?>> configClasses = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                Class<?> klass = Class.forName(className, false, classLoader);
+                if (klass.isAnnotationPresent(Config.class)) {
+                    configClasses.add(klass);
                 }
+            } catch (ClassNotFoundException | NoClassDefFoundError ignored) {
+                // dash is unable to access many classes and reporting every instance
+                // only clutters the logs
             }
-        } catch (IOException e) {
+        }
+        return configClasses;
+    }
+
+    private static ConfigClassIndex loadConfigClassIndex(ClassLoader classLoader) {
+        try {
+            return (ConfigClassIndex) Class.forName(ConfigClassIndex.GENERATED_NAME, true,
+                    classLoader).newInstance();
+        } catch (ClassNotFoundException e) {
+            // the annotation processor isn't set up
+            return null;
+        } catch (InstantiationException | IllegalAccessException e) {
             RobotLog.logStackTrace(e);
+            return null;
         }
     }
 
+    // Adds the classes to the config tree and sends them to clients.
+    private void addConfigClasses(List<Class<?>> configClasses) {
+        if (configClasses.isEmpty()) {
+            return;
+        }
+
+        core.withConfigRoot(new CustomVariableConsumer() {
+            @Override
+            public void accept(CustomVariable configRoot) {
+                for (Class<?> configClass : configClasses) {
+                    addConfigClass(configRoot, configClass);
+                }
+            }
+        });
+    }
+
+    private static void addConfigClass(CustomVariable customVariable, Class<?> configClass) {
+        if (!configClass.isAnnotationPresent(Config.class)
+                || configClass.isAnnotationPresent(Disabled.class)) {
+            return;
+        }
+
+        String name = configClass.getSimpleName();
+        String altName = configClass.getAnnotation(Config.class).value();
+        if (!altName.isEmpty()) {
+            name = altName;
+        }
+
+        customVariable.putVariable(name, ReflectionConfig.createVariableFromClass(configClass));
+    }
+
     private class DashWebSocket extends NanoWSD.WebSocket implements SendFun {
         final SocketHandler sh = core.newSocket(this);
 
@@ -567,6 +751,15 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
             }
         }
 
+        @Override
+        public void sendBinary(byte[] frame) {
+            try {
+                send(frame);
+            } catch (IOException e) {
+                RobotLog.logStackTrace(e);
+            }
+        }
+
         @Override
         protected void onOpen() {
             sh.onOpen();
@@ -583,14 +776,36 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         @Override
         protected void onClose(NanoWSD.WebSocketFrame.CloseCode code, String reason, boolean initiatedByRemote) {
             sh.onClose();
+            gamepadLatency.removeClient(this);
 
             updateStatusView();
         }
 
         @Override
         protected void onMessage(NanoWSD.WebSocketFrame message) {
-            String payload = message.getTextPayload();
-            Message msg = DashboardCore.GSON.fromJson(payload, Message.class);
+            long receiveNanos = System.nanoTime();
+
+            Message msg;
+            if (message.getOpCode() == NanoWSD.WebSocketFrame.OpCode.Binary) {
+                byte[] payload = message.getBinaryPayload();
+                if (!GamepadFrame.isGamepadFrame(payload)) {
+                    return;
+                }
+
+                try {
+                    msg = GamepadFrame.decode(payload);
+                } catch (IllegalArgumentException e) {
+                    RobotLog.logStackTrace(e);
+                    return;
+                }
+            } else {
+                String payload = message.getTextPayload();
+                msg = DashboardCore.GSON.fromJson(payload, Message.class);
+            }
+
+            if (msg == null) {
+                return;
+            }
 
             if (sh.onMessage(msg)) {
                 return;
@@ -616,7 +831,10 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                 }
                 case RECEIVE_GAMEPAD_STATE: {
                     ReceiveGamepadState castMsg = (ReceiveGamepadState) msg;
-                    updateGamepads(castMsg.getGamepad1(), castMsg.getGamepad2());
+                    // track every message, including ignored ones, so idle periods and other
+                    // clients don't show up as loss
+                    gamepadLatency.receive(this, castMsg.getSequenceNumber());
+                    updateGamepads(castMsg, receiveNanos);
                     break;
                 }
                 default: {
@@ -639,12 +857,11 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     }
 
     private FtcDashboard() {
-        core.withConfigRoot(new CustomVariableConsumer() {
-            @Override
-            public void accept(CustomVariable configRoot) {
-                addConfigClasses(configRoot);
-            }
-        });
+        // saved values are applied to config classes as they're found
+        core.setConfigSnapshotDirectory(CONFIG_SNAPSHOT_DIR);
+
+        // clients get config classes as they're found
+        new Thread(new ConfigDiscoveryRunnable(), "dash config discovery").start();
 
         try {
             server.start();
@@ -679,8 +896,9 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
         setAutoEnable(true);
 
-        gamepadWatchdogExecutor = ThreadPool.newSingleThreadExecutor("gamepad watchdog");
-        gamepadWatchdogExecutor.submit(new GamepadWatchdogRunnable());
+        gamepadWatchdogExecutor = ThreadPool.newScheduledExecutor(1, "gamepad watchdog");
+
+        cameraPipeline.start();
 
         core.enabled = true;
 
@@ -693,8 +911,10 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         setAutoEnable(false);
 
         gamepadWatchdogExecutor.shutdownNow();
+        gamepadTimeoutScheduled.set(false);
 
         stopCameraStream();
+        cameraPipeline.stop();
 
         core.enabled = false;
 
@@ -989,6 +1209,23 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         core.setTelemetryTransmissionInterval(newTransmissionInterval);
     }
 
+    /**
+     * Returns the interval in milliseconds at which config values are checked for changes made by
+     * code.
+     */
+    public int getConfigWatchInterval() {
+        return core.getConfigWatchInterval();
+    }
+
+    /**
+     * Sets the interval at which config values are checked for changes made by code. Changed
+     * values are sent to clients without an explicit {@link #updateConfig()}.
+     * @param newWatchInterval watch interval in milliseconds; zero or less disables watching
+     */
+    public void setConfigWatchInterval(int newWatchInterval) {
+        core.setConfigWatchInterval(newWatchInterval);
+    }
+
     /**
      * Sends updated configuration data to all instance clients.
      */
@@ -996,6 +1233,52 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         core.updateConfig();
     }
 
+    /**
+     * Returns true if saved config updates are staged until {@link #applyPendingConfig()}.
+     */
+    public boolean isConfigStaging() {
+        return core.isConfigStaging();
+    }
+
+    /**
+     * Sets whether saved config updates are staged instead of applied as they arrive. With staging
+     * enabled, call {@link #applyPendingConfig()} at the top of the op mode loop so a save that
+     * changes several values never takes effect halfway through an iteration. Updates still
+     * pending when an op mode stops are applied then.
+     */
+    public void setConfigStaging(boolean staging) {
+        core.setConfigStaging(staging);
+    }
+
+    /**
+     * Applies the staged config updates. Cheap enough to call every loop.
+     * @return true if any updates were applied
+     */
+    public boolean applyPendingConfig() {
+        return core.applyPendingConfig();
+    }
+
+    /**
+     * Saves the current config values as a named snapshot.
+     */
+    public void saveConfigSnapshot(String name) throws IOException {
+        core.saveConfigSnapshot(name);
+    }
+
+    /**
+     * Replaces the config values with those of a named snapshot.
+     */
+    public void loadConfigSnapshot(String name) throws IOException {
+        core.loadConfigSnapshot(name);
+    }
+
+    /**
+     * Returns the names of the config snapshots.
+     */
+    public List<String> getConfigSnapshotNames() {
+        return core.getConfigSnapshotNames();
+    }
+
     /**
      * Executes {@param function} in an exclusive context for thread-safe config tree modification
      * and calls {@link #updateConfig()} to keep clients up to date.
@@ -1051,8 +1334,10 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     }
 
     /**
-     * Sends an image to the dashboard for display (MJPEG style). Note that the encoding process is
-     * synchronous. Stops the active stream if running.
+     * Sends an image to the dashboard for display (MJPEG style). The image is copied and then
+     * encoded and sent on a background thread, so this returns without waiting for the encoding;
+     * if images arrive faster than they can be sent, the older ones are dropped. The bitmap may be
+     * reused or recycled once this returns. Stops the active stream if running.
      * @param bitmap bitmap to send
      */
     public void sendImage(Bitmap bitmap) {
@@ -1060,9 +1345,20 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
             return;
         }
 
+        if (cameraStreamExecutor != null) {
+            imageStreamId++;
+        }
         stopCameraStream();
 
-        sendAll(new ReceiveImage(bitmapToJpegString(bitmap, imageQuality)));
+        // callers commonly draw every frame into the same bitmap
+        Bitmap.Config config = bitmap.getConfig();
+        Bitmap copy = bitmap.copy(config == null ? Bitmap.Config.ARGB_8888 : config, false);
+        if (copy == null) {
+            Log.w(TAG, "Unable to copy image for sending");
+            return;
+        }
+
+        cameraPipeline.offer(copy, copy.getWidth(), copy.getHeight(), imageStreamId);
     }
 
     /**
@@ -1078,7 +1374,7 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         stopCameraStream();
 
         cameraStreamExecutor = ThreadPool.newSingleThreadExecutor("camera stream");
-        cameraStreamExecutor.submit(new CameraStreamRunnable(source, maxFps));
+        cameraStreamExecutor.submit(new CameraStreamRunnable(source, maxFps, ++imageStreamId));
     }
 
     /**
@@ -1139,36 +1435,92 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         dst.touchpad = src.touchpad;
     }
 
-    private void updateGamepads(ReceiveGamepadState.Gamepad gamepad1, ReceiveGamepadState.Gamepad gamepad2) {
-        activeOpMode.with(o -> {
-            // for now, the dashboard only overrides synthetic gamepads
-            if (o.status == RobotStatus.OpModeStatus.STOPPED) {
-                return;
-            }
+    private void updateGamepads(ReceiveGamepadState state, long receiveNanos) {
+        OpModeAndStatus o = activeOpMode;
 
-            if (o.opMode.gamepad1.getGamepadId() != Gamepad.ID_UNASSOCIATED ||
-                    o.opMode.gamepad2.getGamepadId() != Gamepad.ID_UNASSOCIATED) {
-                return;
-            }
+        // for now, the dashboard only overrides synthetic gamepads
+        if (o.status == RobotStatus.OpModeStatus.STOPPED) {
+            return;
+        }
 
-            copyIntoSdkGamepad(gamepad1, o.opMode.gamepad1);
-            copyIntoSdkGamepad(gamepad2, o.opMode.gamepad2);
-            lastGamepadTimestamp = System.currentTimeMillis();
-        });
+        if (o.opMode.gamepad1.getGamepadId() != Gamepad.ID_UNASSOCIATED ||
+                o.opMode.gamepad2.getGamepadId() != Gamepad.ID_UNASSOCIATED) {
+            return;
+        }
+
+        synchronized (gamepadLock) {
+            copyIntoSdkGamepad(state.getGamepad1(), o.opMode.gamepad1);
+            copyIntoSdkGamepad(state.getGamepad2(), o.opMode.gamepad2);
+            gamepadDeadline = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(GAMEPAD_WATCHDOG_INTERVAL);
+
+            double timestamp = state.getTimestamp() > 0
+                    ? state.getTimestamp() : System.currentTimeMillis();
+            gamepadEvents.addEdges(state, timestamp);
+        }
+        armGamepadWatchdog();
+
+        gamepadLatency.record(state.getTimestamp(), receiveNanos);
+    }
+
+    /**
+     * Removes and returns the dashboard gamepad button presses and releases received since the
+     * last call, oldest first. Unlike sampling {@code gamepad1} and {@code gamepad2}, this never
+     * misses a tap that starts and ends between two loop iterations. The queue holds the most
+     * recent 256 events and is cleared when an op mode is initialized.
+     */
+    public List<GamepadEvent> drainGamepadEvents() {
+        return gamepadEvents.drain();
+    }
+
+    /**
+     * Removes and returns the oldest queued gamepad event or null if there are none.
+     * @see #drainGamepadEvents()
+     */
+    public GamepadEvent pollGamepadEvent() {
+        return gamepadEvents.poll();
+    }
+
+    /**
+     * Returns latency and loss statistics for gamepad input sent from the dashboard. These are
+     * also shown in the op mode view.
+     */
+    public GamepadLatencyStats getGamepadLatencyStats() {
+        return gamepadLatency.getStats();
+    }
+
+    /**
+     * Clears the statistics returned by {@link #getGamepadLatencyStats()}.
+     */
+    public void resetGamepadLatencyStats() {
+        gamepadLatency.reset();
+    }
+
+    /**
+     * Returns throughput and frame age statistics for camera images sent with
+     * {@link #sendImage(Bitmap)} or {@link #startCameraStream(CameraStreamSource, double)}.
+     */
+    public CameraStreamStats getCameraStreamStats() {
+        return cameraPipeline.getStats();
+    }
+
+    /**
+     * Clears the statistics returned by {@link #getCameraStreamStats()}.
+     */
+    public void resetCameraStreamStats() {
+        cameraPipeline.resetStats();
     }
 
     private RobotStatus getRobotStatus() {
         if (opModeManager == null) {
             return new RobotStatus(core.enabled, false, "", RobotStatus.OpModeStatus.STOPPED, "", "");
         } else {
-            return activeOpMode.with(o -> {
-                return new RobotStatus(
-                        core.enabled, true, opModeManager.getActiveOpModeName(),
-                        // status is an enum so it's okay to return a copy here.
-                        o.status,
-                        RobotLog.getGlobalWarningMessage().message, RobotLog.getGlobalErrorMsg()
-                );
-            });
+            return new RobotStatus(
+                    core.enabled, true, opModeManager.getActiveOpModeName(),
+                    activeOpMode.status,
+                    RobotLog.getGlobalWarningMessage().message, RobotLog.getGlobalErrorMsg(),
+                    gamepadLatency.getStats()
+            );
         }
     }
 
@@ -1178,6 +1530,7 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
     private void close() {
         server.stop();
+        mjpegStream.close();
 
         if (opModeManager != null) {
             opModeManager.unregisterListener(this);
@@ -1189,10 +1542,8 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
     @Override
     public void onOpModePreInit(OpMode opMode) {
-        activeOpMode.with(o -> {
-            o.opMode = opMode;
-            o.status = RobotStatus.OpModeStatus.INIT;
-        });
+        activeOpMode = new OpModeAndStatus(opMode, RobotStatus.OpModeStatus.INIT);
+        gamepadEvents.clear();
 
         if (!(opMode instanceof OpModeManagerImpl.DefaultOpMode)) {
             clearTelemetry();
@@ -1201,23 +1552,20 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
     @Override
     public void onOpModePreStart(OpMode opMode) {
-        activeOpMode.with(o -> {
-            o.opMode = opMode;
-            o.status = RobotStatus.OpModeStatus.RUNNING;
-        });
+        activeOpMode = new OpModeAndStatus(opMode, RobotStatus.OpModeStatus.RUNNING);
     }
 
     @Override
     public void onOpModePostStop(OpMode opMode) {
-        activeOpMode.with(o -> {
-            o.opMode = opMode;
-            o.status = RobotStatus.OpModeStatus.STOPPED;
-        });
+        activeOpMode = new OpModeAndStatus(opMode, RobotStatus.OpModeStatus.STOPPED);
 
         // this callback is sometimes called from the UI thread
         (new Thread() {
             @Override
             public void run() {
+                // no op mode code is running to observe the staged values change
+                core.applyPendingConfig();
+
                 withConfigRoot(new CustomVariableConsumer() {
                     @Override
                     public void accept(CustomVariable configRoot) {